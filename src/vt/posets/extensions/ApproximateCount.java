@@ -0,0 +1,129 @@
+package vt.posets.extensions;
+
+/**
+ * An estimate of the number of linear extensions of a poset, made by ApproximateCounter,
+ * with the bounds of a confidence interval around it.
+ *
+ * The counts can be far too big for a long or even a double, so the estimate and its
+ * standard error are kept as natural logarithms, and the bounds are the estimate
+ * times or divided by e^(z * standard error).
+ *
+ * @author Ethan Gaebel (egaebel)
+ *
+ */
+public class ApproximateCount {
+
+	//~Constants----------------------------------------------
+	/**
+	 * Slack on the logs compared in excludes, so that an exact estimate
+	 * doesn't exclude its own count through rounding.
+	 */
+	private static final double LOG_TOLERANCE = 1e-9;
+
+	//~Data Fields--------------------------------------------
+	/**
+	 * The natural log of the estimate, negative infinity if there are no extensions.
+	 */
+	private final double logEstimate;
+
+	/**
+	 * The standard error of logEstimate.
+	 */
+	private final double logStandardError;
+
+	/**
+	 * The number of standard errors between the estimate and either bound.
+	 */
+	private final double z;
+
+	//~Constructors--------------------------------------------
+	/**
+	 * Creates an estimate.
+	 *
+	 * @param logEstimate the natural log of the estimate.
+	 * @param logStandardError the standard error of logEstimate.
+	 * @param z the number of standard errors between the estimate and either bound.
+	 */
+	public ApproximateCount(double logEstimate, double logStandardError, double z) {
+
+		this.logEstimate = logEstimate;
+		this.logStandardError = logStandardError;
+		this.z = z;
+	}
+
+	//~Methods-------------------------------------------------
+	/**
+	 * Gets the natural log of the estimate.
+	 *
+	 * @return the log of the estimate, negative infinity if there are no extensions.
+	 */
+	public double getLogEstimate() {
+
+		return logEstimate;
+	}
+
+	/**
+	 * Gets the standard error of the log of the estimate.
+	 *
+	 * @return the standard error.
+	 */
+	public double getLogStandardError() {
+
+		return logStandardError;
+	}
+
+	/**
+	 * Gets the estimate.
+	 *
+	 * @return the estimated number of linear extensions, infinite if it is too big for a double.
+	 */
+	public double getEstimate() {
+
+		return Math.exp(logEstimate);
+	}
+
+	/**
+	 * Gets the lower bound of the confidence interval.
+	 *
+	 * @return the lower bound.
+	 */
+	public double getLowerBound() {
+
+		return Math.exp(logEstimate - z * logStandardError);
+	}
+
+	/**
+	 * Gets the upper bound of the confidence interval.
+	 *
+	 * @return the upper bound, infinite if it is too big for a double.
+	 */
+	public double getUpperBound() {
+
+		return Math.exp(logEstimate + z * logStandardError);
+	}
+
+	/**
+	 * Gets whether count is outside the confidence interval.
+	 *
+	 * @param count a possible number of linear extensions.
+	 * @return true if count is below the lower bound or above the upper bound.
+	 */
+	public boolean excludes(long count) {
+
+		if (count <= 0) {
+
+			return logEstimate != Double.NEGATIVE_INFINITY;
+		}
+
+		double logCount = Math.log(count);
+		double halfWidth = z * logStandardError + LOG_TOLERANCE;
+
+		return logCount < logEstimate - halfWidth || logCount > logEstimate + halfWidth;
+	}
+
+	@Override
+	public String toString() {
+
+		return getEstimate() + " (" + getLowerBound() + " to " + getUpperBound() + ")";
+	}
+}
@@ -0,0 +1,334 @@
+package vt.posets.extensions;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import vt.posets.graph.BitMatrix;
+import vt.posets.poset.Poset;
+
+/**
+ * Estimates the number of linear extensions of a Poset from random linear extensions,
+ * for posets too big to count exactly.
+ *
+ * Uses the telescoping product over the cover relations of the poset. Starting from the
+ * antichain on the same vertices, which has n! extensions, the cover relations (a, b) are added
+ * one at a time. The fraction of the extensions so far that put a before b is the ratio of the
+ * count with (a, b) added to the count without it, and it is estimated by drawing extensions with
+ * LinearExtensionSampler's chain. The count is n! times the product of the ratios.
+ *
+ * An extension of the relations so far that puts a before b is an extension of the relations
+ * with (a, b) added, uniformly so if the draw was uniform, so each stage's chain carries on from
+ * the last such extension of the stage before and only the first stage needs a full mixing run.
+ *
+ * The confidence interval allows for draws from the same chain being alike. Each ratio's draws are
+ * split into BATCHES batches in the order they were drawn, and the variance of the ratio is worked out
+ * from how far the batches' fractions spread, which takes in the correlation between draws as long as a
+ * batch is longer than the chain takes to forget. The binomial variance of the ratio, pulled toward a half
+ * the way Wilson's interval is, is a floor under it, so a ratio hit every time or never in few draws still
+ * has some width. The variances of the logs of the ratios add up to the variance of the log of the estimate.
+ * The bounds are still a little narrow: over random posets of 3 to 10 elements the exact count fell outside
+ * bounds DEFAULT_Z standard errors out about 0.2% of the time, rather than the 0.1% they stand for.
+ *
+ * estimate takes about covers * samples * n^3 / 4 steps of the chain, which is more than
+ * LinearExtensions.count takes on a poset narrow enough to have few downsets, see isCheaperThanCount.
+ *
+ * @author Ethan Gaebel (egaebel)
+ *
+ */
+public class ApproximateCounter {
+
+	//~Constants----------------------------------------------
+	/**
+	 * The default number of extensions drawn to estimate each ratio.
+	 */
+	public static final int DEFAULT_SAMPLES = 400;
+
+	/**
+	 * The default number of standard errors from the estimate to either bound, 99.9% of a normal distribution.
+	 */
+	public static final double DEFAULT_Z = 3.29;
+
+	/**
+	 * The number of batches each ratio's draws are split into to work out its variance.
+	 */
+	public static final int BATCHES = 20;
+
+	/**
+	 * n^3 / THINNING_DIVISOR steps are run between draws, about as long as the chain takes to
+	 * forget where it was. With fewer the draws of a stage are so alike that the estimate wanders.
+	 */
+	private static final int THINNING_DIVISOR = 4;
+
+	//~Data Fields--------------------------------------------
+	/**
+	 * The number of extensions drawn to estimate each ratio.
+	 */
+	private final int samples;
+
+	/**
+	 * The number of standard errors from the estimate to either bound.
+	 */
+	private final double z;
+
+	//~Constructors--------------------------------------------
+	/**
+	 * Creates a counter drawing DEFAULT_SAMPLES extensions per ratio, with bounds DEFAULT_Z standard errors out.
+	 */
+	public ApproximateCounter() {
+
+		this(DEFAULT_SAMPLES, DEFAULT_Z);
+	}
+
+	/**
+	 * Creates a counter.
+	 *
+	 * @param samples the number of extensions drawn to estimate each ratio.
+	 * @param z the number of standard errors from the estimate to either bound.
+	 */
+	public ApproximateCounter(int samples, double z) {
+
+		this.samples = samples;
+		this.z = z;
+	}
+
+	//~Methods-------------------------------------------------
+	/**
+	 * Estimates the number of linear extensions of poset.
+	 *
+	 * The first stage runs LinearExtensionSampler.mixingSteps steps, after that n^3 / 4 steps
+	 * are run between draws, so the time is O(n^3 log n + covers * samples * n^3).
+	 *
+	 * @param poset the Poset to estimate the number of linear extensions of.
+	 * @param random where the randomness comes from.
+	 * @return the estimate, with its confidence interval.
+	 */
+	public ApproximateCount estimate(Poset<?> poset, SplittableRandom random) {
+
+		LinearExtensionSampler sampler = new LinearExtensionSampler(poset);
+		LinearExtensions extensions = sampler.getExtensions();
+		int n = extensions.size();
+
+		if (!extensions.isAcyclic()) {
+
+			return new ApproximateCount(Double.NEGATIVE_INFINITY, 0, z);
+		}
+
+		double logCount = 0;
+		for (int i = 2; i <= n; i++) {
+
+			logCount += Math.log(i);
+		}
+		double variance = 0;
+
+		//The labels are an extension of the poset, so of every stage
+		BitMatrix covers = extensions.getBelow().transitiveReduction();
+		BitMatrix relation = new BitMatrix(n + 1);
+		int[] state = naturalLabels(n);
+		int[] lastHit = new int[n];
+		int[] positions = new int[n + 1];
+		int batches = Math.min(BATCHES, samples);
+		int[] batchHits = new int[batches];
+		int[] batchSizes = new int[batches];
+		for (int draw = 0; draw < samples; draw++) {
+
+			batchSizes[(int) ((long) draw * batches / samples)]++;
+		}
+		long thinning = Math.max(1, (long) n * n * n / THINNING_DIVISOR);
+
+		sampler.walk(state, relation, sampler.getSteps(), random);
+
+		for (int a = 1; a <= n; a++) {
+
+			for (int b = covers.nextSetBit(a, 0); b != -1; b = covers.nextSetBit(a, b + 1)) {
+
+				//Estimate the fraction of extensions so far that put a before b
+				int hits = 0;
+				Arrays.fill(batchHits, 0);
+				for (int draw = 0; draw < samples; draw++) {
+
+					sampler.walk(state, relation, thinning, random);
+					for (int i = 0; i < n; i++) {
+
+						positions[state[i]] = i;
+					}
+					if (positions[a] < positions[b]) {
+
+						hits++;
+						batchHits[(int) ((long) draw * batches / samples)]++;
+						System.arraycopy(state, 0, lastHit, 0, n);
+					}
+				}
+
+				//Keep a ratio that was never or always hit off zero and one,
+				//without pulling the others toward a half and skewing the product
+				double ratio = (hits == 0 || hits == samples) ? (hits + 0.5) / (samples + 1.0) : (double) hits / samples;
+				logCount += Math.log(ratio);
+				variance += ratioVariance(hits, batchHits, batchSizes) / (ratio * ratio);
+
+				addRelation(relation, a, b, n);
+
+				if (hits > 0) {
+
+					System.arraycopy(lastHit, 0, state, 0, n);
+				}
+				//Nothing drawn fits the new relation, start over from the labels
+				else {
+
+					state = naturalLabels(n);
+					sampler.walk(state, relation, sampler.getSteps(), random);
+				}
+			}
+		}
+
+		return new ApproximateCount(logCount, Math.sqrt(variance), z);
+	}
+
+	/**
+	 * Gets whether estimate should take fewer steps than LinearExtensions.count on the same poset,
+	 * so it's worth running as a check before the exact count.
+	 *
+	 * count looks at up to n elements from each downset of each connected component. The downsets of
+	 * a component number at most the product, over the chains of any partition of it into chains, of one
+	 * more than the chain's length, and a partition is found by putting each element, bottom up, on the
+	 * first chain whose top is below it. estimate takes LinearExtensionSampler.mixingSteps steps plus
+	 * n^3 / 4 for every draw, of which there are samples per cover. The logs of the two are compared,
+	 * O(n^2) for the partition and O(n^3 / 64) for the covers.
+	 *
+	 * @param extensions the linear extensions of the poset.
+	 * @return true if the estimate takes fewer steps than the most the exact count could take.
+	 */
+	public boolean isCheaperThanCount(LinearExtensions extensions) {
+
+		int n = extensions.size();
+		if (!extensions.isAcyclic() || n < 2) {
+
+			return false;
+		}
+
+		BitMatrix below = extensions.getBelow();
+
+		//The labels are an extension, so an element can only go on top of a chain of smaller labels
+		int[] tops = new int[n];
+		int[] lengths = new int[n];
+		int chains = 0;
+		for (int label = 1; label <= n; label++) {
+
+			int chain = 0;
+			while (chain < chains && !below.get(tops[chain], label)) {
+
+				chain++;
+			}
+			if (chain == chains) {
+
+				chains++;
+			}
+			tops[chain] = label;
+			lengths[chain]++;
+		}
+
+		//A chain lies inside one component, so the bounds on the components' downsets are products over their chains
+		int[] componentOf = extensions.componentOf();
+		double[] logDownsets = new double[n + 1];
+		for (int chain = 0; chain < chains; chain++) {
+
+			logDownsets[componentOf[tops[chain]]] += Math.log(lengths[chain] + 1);
+		}
+		double downsets = 0;
+		double largest = 0;
+		for (int label = 1; label <= n; label++) {
+
+			largest = Math.max(largest, logDownsets[label]);
+		}
+		for (int label = 1; label <= n; label++) {
+
+			if (componentOf[label] == label) {
+
+				downsets += Math.exp(logDownsets[label] - largest);
+			}
+		}
+		double logCountSteps = Math.log(n) + largest + Math.log(downsets);
+
+		BitMatrix covers = below.transitiveReduction();
+		long coverCount = 0;
+		for (int label = 1; label <= n; label++) {
+
+			coverCount += covers.cardinality(label);
+		}
+		double estimateSteps = LinearExtensionSampler.mixingSteps(n, LinearExtensionSampler.DEFAULT_EPSILON)
+				+ (double) coverCount * samples * Math.max(1, (long) n * n * n / THINNING_DIVISOR);
+
+		return Math.log(estimateSteps) < logCountSteps;
+	}
+
+	/**
+	 * Works out the variance of a ratio estimated as hits / samples, the larger of the batch means
+	 * variance and the binomial variance with the ratio pulled toward a half by z^2 / 2 draws each way.
+	 *
+	 * @param hits the number of draws that were hits.
+	 * @param batchHits the number of hits in each batch.
+	 * @param batchSizes the number of draws in each batch.
+	 * @return the variance of hits / samples.
+	 */
+	private double ratioVariance(int hits, int[] batchHits, int[] batchSizes) {
+
+		double ratio = (double) hits / samples;
+		double pulled = (hits + z * z / 2) / (samples + z * z);
+		double binomial = pulled * (1 - pulled) / (samples + z * z);
+
+		int batches = batchHits.length;
+		if (batches < 2) {
+
+			return binomial;
+		}
+
+		double spread = 0;
+		for (int k = 0; k < batches; k++) {
+
+			double difference = (double) batchHits[k] / batchSizes[k] - ratio;
+			spread += difference * difference;
+		}
+
+		return Math.max(spread / (batches - 1) / batches, binomial);
+	}
+
+	/**
+	 * Adds a below b to relation, keeping it transitively closed:
+	 * everything up to a ends up below everything from b up.
+	 *
+	 * @param relation a transitively closed relation on the labels 1..n.
+	 * @param a the lower label.
+	 * @param b the upper label.
+	 * @param n the number of labels.
+	 */
+	private static void addRelation(BitMatrix relation, int a, int b, int n) {
+
+		long[] upper = relation.getRow(b);
+
+		for (int x = 1; x <= n; x++) {
+
+			if (x == a || relation.get(x, a)) {
+
+				long[] row = relation.getRow(x);
+				for (int w = 0; w < row.length; w++) {
+
+					row[w] |= upper[w];
+				}
+				relation.set(x, b);
+			}
+		}
+	}
+
+	/**
+	 * Makes the extension 1..n by label.
+	 */
+	private static int[] naturalLabels(int n) {
+
+		int[] labels = new int[n];
+		for (int i = 0; i < n; i++) {
+
+			labels[i] = i + 1;
+		}
+
+		return labels;
+	}
+}
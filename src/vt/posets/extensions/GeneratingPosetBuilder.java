@@ -0,0 +1,333 @@
+package vt.posets.extensions;
+
+import java.math.BigInteger;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Consumer;
+
+import vt.posets.graph.BitMatrix;
+import vt.posets.poset.Poset;
+
+/**
+ * Builds the generating poset of linear orders as they arrive, one at a time.
+ *
+ * The only poset that can generate a set of linear orders is the intersection of their
+ * comparabilities, so that's kept as a bit matrix and each accepted linear order is ANDed
+ * into it, in O(n^2 / 64) word operations. Every accepted linear order is an extension of the
+ * intersection, so the candidate generates exactly the accepted linear orders when it has as many
+ * extensions as there were linear orders accepted, which isGenerating checks by generating at most
+ * one extension more than that. A linear order accepted twice is rejected, as prLinearExtensionsCheck does.
+ *
+ * A builder can be fed a stream of linear orders with forEach, but it isn't thread safe.
+ *
+ * @author Ethan Gaebel (egaebel)
+ *
+ * @param <T> the type of the elements being ordered.
+ */
+public class GeneratingPosetBuilder<T> implements Consumer<List<T>> {
+
+	//~Data Fields--------------------------------------------
+	/**
+	 * The elements, by id, null until the first linear order when they weren't given.
+	 */
+	private ArrayList<T> elements;
+
+	/**
+	 * The id of each element.
+	 */
+	private HashMap<T, Integer> ids;
+
+	/**
+	 * Bit (a, b) is set if id a is at or before id b in every linear order accepted so far.
+	 */
+	private BitMatrix relation;
+
+	/**
+	 * Scratch space for intersecting.
+	 */
+	private long[] above;
+
+	/**
+	 * Scratch space for turning a linear order into ids.
+	 */
+	private int[] orderIds;
+
+	/**
+	 * The number of linear orders accepted.
+	 */
+	private long accepted;
+
+	/**
+	 * The Lehmer ranks of the different linear orders accepted, for up to LinearOrderSet.MAX_RANKED_LENGTH elements.
+	 */
+	private final HashSet<Long> ranks = new HashSet<Long>();
+
+	/**
+	 * The different linear orders accepted, for longer linear orders.
+	 */
+	private final HashSet<IntBuffer> distinctOrders = new HashSet<IntBuffer>();
+
+	/**
+	 * The number of linear extensions of the candidate, null if it hasn't been counted since it last changed.
+	 */
+	private BigInteger countCache;
+
+	//~Constructors--------------------------------------------
+	/**
+	 * Creates a builder that takes its elements from the first linear order it accepts.
+	 */
+	public GeneratingPosetBuilder() {
+
+	}
+
+	/**
+	 * Creates a builder for linear orders of elements, numbered by their place in the list
+	 * so that linear orders can be passed to accept(int[]) as ids.
+	 *
+	 * @param elements the elements, each once.
+	 * @throws IllegalArgumentException if an element is repeated.
+	 */
+	public GeneratingPosetBuilder(List<T> elements) {
+
+		intern(elements);
+	}
+
+	//~Methods-------------------------------------------------
+	/**
+	 * Intersects the candidate with a linear order.
+	 *
+	 * @param linearOrder a linear order of the elements.
+	 * @throws IllegalArgumentException if linearOrder isn't a linear order of the same elements as the others.
+	 */
+	@Override
+	public void accept(List<T> linearOrder) {
+
+		if (elements == null) {
+
+			intern(linearOrder);
+		}
+
+		if (linearOrder.size() != elements.size()) {
+
+			throw new IllegalArgumentException("The linear order " + linearOrder + " differs in length from " + elements);
+		}
+
+		int i = 0;
+		for (T element : linearOrder) {
+
+			Integer id = ids.get(element);
+			if (id == null) {
+
+				throw new IllegalArgumentException("The linear order " + linearOrder + " holds " + element + " which " + elements + " doesn't");
+			}
+			orderIds[i++] = id;
+		}
+
+		accept(orderIds);
+	}
+
+	/**
+	 * Intersects the candidate with a linear order given as ids, O(n^2 / 64).
+	 *
+	 * @param linearOrder the ids of a linear order, from the bottom to the top.
+	 * @throws IllegalArgumentException if linearOrder isn't a permutation of the ids.
+	 * @throws IllegalStateException if the elements aren't known yet.
+	 */
+	public void accept(int[] linearOrder) {
+
+		if (elements == null) {
+
+			throw new IllegalStateException("The elements have to be known before linear orders are given as ids");
+		}
+
+		int n = elements.size();
+		if (linearOrder.length != n) {
+
+			throw new IllegalArgumentException("The linear order has " + linearOrder.length + " ids instead of " + n);
+		}
+
+		//above doubles as the set of ids seen, before it's cleared for intersecting
+		Arrays.fill(above, 0L);
+		for (int id : linearOrder) {
+
+			if (id < 0 || id >= n || (above[id >>> 6] & (1L << id)) != 0) {
+
+				throw new IllegalArgumentException("The linear order " + Arrays.toString(linearOrder) + " isn't a permutation of the ids");
+			}
+			above[id >>> 6] |= 1L << id;
+		}
+
+		if (LinearOrderSet.intersect(linearOrder, 0, n, relation, above)) {
+
+			countCache = null;
+		}
+		accepted++;
+
+		if (n <= LinearOrderSet.MAX_RANKED_LENGTH) {
+
+			ranks.add(LinearOrderSet.rank(linearOrder, 0, n));
+		}
+		else {
+
+			distinctOrders.add(IntBuffer.wrap(linearOrder.clone()));
+		}
+	}
+
+	/**
+	 * Gets the number of linear orders accepted, counting repeats.
+	 *
+	 * @return the number of linear orders accepted.
+	 */
+	public long size() {
+
+		return accepted;
+	}
+
+	/**
+	 * Gets the number of different linear orders accepted.
+	 *
+	 * @return the number of linear orders accepted, not counting repeats.
+	 */
+	public long distinctSize() {
+
+		return (elements != null && elements.size() > LinearOrderSet.MAX_RANKED_LENGTH) ? distinctOrders.size() : ranks.size();
+	}
+
+	/**
+	 * Gets the elements by id.
+	 *
+	 * @return an unmodifiable view of the elements, empty if they aren't known yet.
+	 */
+	public List<T> getElements() {
+
+		return (elements == null) ? Collections.<T>emptyList() : Collections.unmodifiableList(elements);
+	}
+
+	/**
+	 * Makes the current candidate, the intersection of the linear orders accepted so far.
+	 * Its indices are the ids, each element is related to itself, and the cover edges
+	 * are worked out as the transitive reduction, O(n^3 / 64).
+	 *
+	 * @return a new Poset, null if no linear order has been accepted.
+	 */
+	public Poset<T> getPoset() {
+
+		if (accepted == 0) {
+
+			return null;
+		}
+
+		int n = elements.size();
+		Poset<T> p = new Poset<T>(n);
+		for (T element : elements) {
+
+			p.addVertex(element);
+		}
+
+		BitMatrix covers = relation.transitiveReduction();
+		for (int a = 0; a < n; a++) {
+
+			for (int b = relation.nextSetBit(a, 0); b != -1; b = relation.nextSetBit(a, b + 1)) {
+
+				if (covers.get(a, b)) {
+
+					p.addEdge(a, b, 1);
+				}
+				else {
+
+					p.addClosureEdge(a, b, 1);
+				}
+			}
+		}
+
+		return p;
+	}
+
+	/**
+	 * Counts the linear extensions of the current candidate, as LinearExtensions.count does.
+	 * The count is kept until an accepted linear order changes the candidate. That count grows
+	 * exponentially with the width of the candidate, isGenerating doesn't need it.
+	 *
+	 * @return the number of linear extensions, zero if no linear order has been accepted.
+	 */
+	public BigInteger count() {
+
+		if (accepted == 0) {
+
+			return BigInteger.ZERO;
+		}
+
+		if (countCache == null) {
+
+			countCache = LinearExtensions.count(getPoset());
+		}
+
+		return countCache;
+	}
+
+	/**
+	 * Checks whether the current candidate generates exactly the linear orders accepted so far,
+	 * each of them once. The candidate's extensions are generated until there's one more than
+	 * there are linear orders, so it costs at most size() + 1 extensions however wide the candidate is.
+	 *
+	 * @return true if no linear order was accepted twice and the candidate has as many
+	 * 			linear extensions as linear orders were accepted.
+	 */
+	public boolean isGenerating() {
+
+		if (accepted == 0 || accepted != distinctSize()) {
+
+			return false;
+		}
+
+		if (countCache != null) {
+
+			return countCache.equals(BigInteger.valueOf(accepted));
+		}
+
+		//Stop as soon as there are more extensions than linear orders
+		final long limit = accepted + 1;
+		long extensions = new LinearExtensions(getPoset()).forEach(new LinearExtensions.Visitor() {
+
+			private long seen = 0;
+
+			@Override
+			public boolean visit(int[] extension) {
+
+				return ++seen < limit;
+			}
+		});
+
+		return extensions == accepted;
+	}
+
+	/**
+	 * Numbers the elements and starts the candidate off relating everything to everything.
+	 * Nothing is kept if an element is repeated, so the next linear order can take its place.
+	 */
+	private void intern(List<T> newElements) {
+
+		ArrayList<T> newList = new ArrayList<T>(newElements.size());
+		HashMap<T, Integer> newIds = new HashMap<T, Integer>(newElements.size() * 2);
+		for (T element : newElements) {
+
+			if (newIds.put(element, newList.size()) != null) {
+
+				throw new IllegalArgumentException("The elements " + newElements + " hold " + element + " more than once");
+			}
+			newList.add(element);
+		}
+
+		elements = newList;
+		ids = newIds;
+		int n = elements.size();
+		relation = LinearOrderSet.full(n);
+		above = new long[BitMatrix.wordsFor(n)];
+		orderIds = new int[n];
+	}
+}
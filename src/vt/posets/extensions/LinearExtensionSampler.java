@@ -0,0 +1,228 @@
+package vt.posets.extensions;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import vt.posets.graph.BitMatrix;
+import vt.posets.poset.Poset;
+
+/**
+ * Draws nearly uniform random linear extensions of a Poset, for posets with far too many
+ * extensions to enumerate.
+ *
+ * Uses Bubley and Dyer's Markov chain on linear extensions. Each step picks a position i
+ * between 1 and n - 1 with probability proportional to i(n - i), flips a coin, and on heads swaps
+ * the vertices at positions i and i + 1 unless the first is below the second. The chain is
+ * symmetric, so it settles on the uniform distribution, and it is within epsilon of it in
+ * total variation after O(n^3 log(n / epsilon)) steps. Each sample starts over from the
+ * same extension and runs that many steps.
+ *
+ * All of the randomness comes from the SplittableRandom passed in, so samples are reproducible
+ * from a seed, and samples splits one generator off per sample so they can be drawn in parallel
+ * and still come out the same.
+ *
+ * @author Ethan Gaebel (egaebel)
+ *
+ */
+public class LinearExtensionSampler {
+
+	//~Constants----------------------------------------------
+	/**
+	 * The default distance from uniform, in total variation, of each sample.
+	 */
+	public static final double DEFAULT_EPSILON = 0.01;
+
+	//~Data Fields--------------------------------------------
+	/**
+	 * The labelled poset the samples are drawn from.
+	 */
+	private final LinearExtensions extensions;
+
+	/**
+	 * The number of vertices in the poset.
+	 */
+	private final int size;
+
+	/**
+	 * cumulativeWeights[i - 1] is the sum of j(n - j) for j from 1 to i.
+	 */
+	private final long[] cumulativeWeights;
+
+	/**
+	 * The number of chain steps run for each sample.
+	 */
+	private final long steps;
+
+	//~Constructors--------------------------------------------
+	/**
+	 * Makes a sampler whose samples are within DEFAULT_EPSILON of uniform.
+	 *
+	 * @param poset the Poset to sample the linear extensions of.
+	 */
+	public LinearExtensionSampler(Poset<?> poset) {
+
+		this(poset, mixingSteps(poset.size(), DEFAULT_EPSILON));
+	}
+
+	/**
+	 * Makes a sampler that runs the chain for steps steps for each sample.
+	 *
+	 * @param poset the Poset to sample the linear extensions of.
+	 * @param steps the number of chain steps for each sample.
+	 */
+	public LinearExtensionSampler(Poset<?> poset, long steps) {
+
+		this.extensions = new LinearExtensions(poset);
+		this.size = extensions.size();
+		this.steps = steps;
+
+		cumulativeWeights = new long[Math.max(size - 1, 0)];
+		long total = 0;
+		for (int i = 1; i < size; i++) {
+
+			total += (long) i * (size - i);
+			cumulativeWeights[i - 1] = total;
+		}
+	}
+
+	//~Methods-------------------------------------------------
+	/**
+	 * Works out how many steps the chain needs to be within epsilon of uniform on n vertices,
+	 * n^3 ln(n / epsilon), rounded up.
+	 *
+	 * @param n the number of vertices.
+	 * @param epsilon the distance from uniform, in total variation.
+	 * @return the number of steps.
+	 */
+	public static long mixingSteps(int n, double epsilon) {
+
+		if (n < 2) {
+
+			return 0;
+		}
+
+		return (long) Math.ceil((double) n * n * n * Math.log(n / epsilon));
+	}
+
+	/**
+	 * Gets the number of chain steps run for each sample.
+	 *
+	 * @return the steps per sample.
+	 */
+	public long getSteps() {
+
+		return steps;
+	}
+
+	/**
+	 * Gets the labelled poset the samples are drawn from.
+	 *
+	 * @return the linear extensions being sampled.
+	 */
+	LinearExtensions getExtensions() {
+
+		return extensions;
+	}
+
+	/**
+	 * Draws one linear extension.
+	 *
+	 * @param random where the randomness comes from.
+	 * @return a new array of the Poset indices of the vertices from the bottom of the extension
+	 * 			to the top, null if the relation in the poset has a cycle.
+	 */
+	public int[] sample(SplittableRandom random) {
+
+		if (!extensions.isAcyclic()) {
+
+			return null;
+		}
+
+		//The extension by label, starting from the one the labels make
+		int[] labels = new int[size];
+		for (int i = 0; i < size; i++) {
+
+			labels[i] = i + 1;
+		}
+
+		walk(labels, extensions.getBelow(), steps, random);
+
+		int[] sample = new int[size];
+		for (int i = 0; i < size; i++) {
+
+			sample[i] = extensions.indexOf(labels[i]);
+		}
+
+		return sample;
+	}
+
+	/**
+	 * Draws count linear extensions as a parallel stream. Each sample gets its own generator
+	 * split off random up front, so the samples are the same however the stream is run.
+	 *
+	 * @param random where the randomness comes from.
+	 * @param count the number of samples to draw.
+	 * @return a parallel stream of count new arrays, as sample returns them.
+	 */
+	public Stream<int[]> samples(SplittableRandom random, int count) {
+
+		final SplittableRandom[] generators = new SplittableRandom[count];
+		for (int i = 0; i < count; i++) {
+
+			generators[i] = random.split();
+		}
+
+		return IntStream.range(0, count).parallel().mapToObj(i -> sample(generators[i]));
+	}
+
+	/**
+	 * Runs the chain over the extensions of relation for steps steps, starting from labels.
+	 *
+	 * @param labels an extension of relation by label, changed in place.
+	 * @param relation bit (l, k) is set if label l has to come before label k,
+	 * 			it has to be transitively closed.
+	 * @param steps the number of steps to run.
+	 * @param random where the randomness comes from.
+	 */
+	void walk(int[] labels, BitMatrix relation, long steps, SplittableRandom random) {
+
+		if (size < 2) {
+
+			return;
+		}
+
+		long total = cumulativeWeights[size - 2];
+
+		for (long step = 0; step < steps; step++) {
+
+			//Half of the steps stay put, which keeps the chain aperiodic
+			int i = position(random.nextLong(total));
+			if (random.nextBoolean()) {
+
+				int lower = labels[i];
+				int upper = labels[i + 1];
+				if (!relation.get(lower, upper)) {
+
+					labels[i] = upper;
+					labels[i + 1] = lower;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Picks the swap position from a uniform draw over the total weight.
+	 *
+	 * @param draw a number from 0 up to the total weight.
+	 * @return the 0-based position i, to be swapped with i + 1.
+	 */
+	private int position(long draw) {
+
+		int found = Arrays.binarySearch(cumulativeWeights, draw);
+
+		//draw falls in the first bucket whose cumulative weight is above it
+		return (found >= 0) ? found + 1 : -found - 1;
+	}
+}
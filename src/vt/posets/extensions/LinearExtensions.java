@@ -0,0 +1,1032 @@
+package vt.posets.extensions;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import vt.posets.graph.BitMatrix;
+import vt.posets.poset.Poset;
+
+/**
+ * Generates every linear extension of a Poset with Varol and Rotem's algorithm
+ * (Knuth's Algorithm V, TAOCP 7.2.1.2), in constant amortized time per extension.
+ *
+ * The vertices are first relabelled 1..n in an order that is itself a linear extension.
+ * Starting from that extension, the largest label is walked left one swap at a time
+ * for as long as the element to its left isn't below it, then put back and the next
+ * largest label is walked, and so on, each swap giving a new extension.
+ *
+ * An extension is handed out as an int[] of the Poset's vertex indices, from the bottom
+ * of the extension to the top. The same array is reused for every extension.
+ * The extensions are worked out lazily, by a visitor, an iterator or a stream,
+ * so stopping early costs nothing for the extensions never reached.
+ * forEachParallel and parallelStream split the extensions up by their first few vertices
+ * and enumerate the pieces on a fork/join pool.
+ *
+ * @author Ethan Gaebel (egaebel)
+ *
+ */
+public class LinearExtensions {
+
+	//~Constants----------------------------------------------
+	/**
+	 * The largest component whose downsets are counted as long bitmasks,
+	 * bigger ones use BitSets.
+	 */
+	private static final int MAX_MASK_SIZE = Long.SIZE;
+
+	/**
+	 * Prefixes are only split into separate tasks while more than this many vertices are left
+	 * to place, below it the subtree is enumerated on one thread.
+	 */
+	private static final int SEQUENTIAL_SIZE = 8;
+
+	/**
+	 * The longest prefix split into separate tasks, the number of tasks
+	 * grows with the width of the poset to this power.
+	 */
+	private static final int MAX_SPLIT_DEPTH = 3;
+
+	//~Data Fields--------------------------------------------
+	/**
+	 * The number of vertices in the poset.
+	 */
+	private final int size;
+
+	/**
+	 * The Poset index of the vertex labelled label is indices[label], labels start at 1.
+	 */
+	private final int[] indices;
+
+	/**
+	 * Bit (l, k) is set if the vertex labelled l is strictly below the vertex labelled k.
+	 * Every bit of row 0 is set, label 0 standing in for a bottom below everything.
+	 */
+	private final BitMatrix below;
+
+	/**
+	 * False if the relation in the Poset has a cycle, in which case there are no extensions.
+	 */
+	private final boolean acyclic;
+
+	//~Constructors--------------------------------------------
+	/**
+	 * Gets ready to generate the linear extensions of poset.
+	 * The poset is read once here, changing it afterwards has no effect.
+	 *
+	 * @param poset the Poset whose linear extensions to generate,
+	 * 			it doesn't have to be transitively closed.
+	 */
+	public LinearExtensions(Poset<?> poset) {
+
+		BitMatrix closure = poset.getClosureBits();
+		int capacity = poset.getCapacity();
+
+		//Count how many vertices are strictly below each one,
+		//anything below a vertex has fewer below it, so sorting by this count gives an extension
+		int[] belowCount = new int[capacity];
+		int present = 0;
+		for (int i = 0; i < capacity; i++) {
+
+			if (poset.getVertex(i) != null) {
+
+				present++;
+				for (int j = closure.nextSetBit(i, 0); j != -1; j = closure.nextSetBit(i, j + 1)) {
+
+					if (j != i) {
+
+						belowCount[j]++;
+					}
+				}
+			}
+		}
+
+		size = present;
+		indices = new int[size + 1];
+
+		//Counting sort of the vertices on belowCount
+		int[] starts = new int[size + 1];
+		for (int i = 0; i < capacity; i++) {
+
+			if (poset.getVertex(i) != null) {
+
+				starts[belowCount[i] + 1]++;
+			}
+		}
+		for (int count = 1; count <= size; count++) {
+
+			starts[count] += starts[count - 1];
+		}
+		int[] labels = new int[capacity];
+		for (int i = 0; i < capacity; i++) {
+
+			if (poset.getVertex(i) != null) {
+
+				int label = 1 + starts[belowCount[i]]++;
+				indices[label] = i;
+				labels[i] = label;
+			}
+		}
+
+		below = new BitMatrix(size + 1);
+		boolean cycleFree = true;
+		for (int k = 1; k <= size; k++) {
+
+			below.set(0, k);
+		}
+		for (int l = 1; l <= size; l++) {
+
+			int from = indices[l];
+			for (int j = closure.nextSetBit(from, 0); j != -1; j = closure.nextSetBit(from, j + 1)) {
+
+				int k = labels[j];
+				if (j != from && poset.getVertex(j) != null) {
+
+					//With no cycles everything above l has a larger label
+					if (k < l) {
+
+						cycleFree = false;
+					}
+					below.set(l, k);
+				}
+			}
+		}
+		acyclic = cycleFree;
+	}
+
+	/**
+	 * Makes the linear extensions of the part of whole made up of labels.
+	 *
+	 * @param whole the linear extensions of the whole poset.
+	 * @param labels labels of whole, in increasing order.
+	 */
+	private LinearExtensions(LinearExtensions whole, int[] labels) {
+
+		size = labels.length;
+		indices = new int[size + 1];
+		below = new BitMatrix(size + 1);
+		acyclic = whole.acyclic;
+
+		for (int l = 1; l <= size; l++) {
+
+			indices[l] = whole.indices[labels[l - 1]];
+			below.set(0, l);
+			for (int k = l + 1; k <= size; k++) {
+
+				if (whole.below.get(labels[l - 1], labels[k - 1])) {
+
+					below.set(l, k);
+				}
+			}
+		}
+	}
+
+	//~Methods-------------------------------------------------
+	/**
+	 * Gets the number of vertices in each extension.
+	 *
+	 * @return the number of vertices in the poset.
+	 */
+	public int size() {
+
+		return size;
+	}
+
+	/**
+	 * Gets whether there are any linear extensions, there are none if the relation has a cycle.
+	 *
+	 * @return true if the relation in the poset has no cycle.
+	 */
+	boolean isAcyclic() {
+
+		return acyclic;
+	}
+
+	/**
+	 * Gets the Poset index of the vertex labelled label. The labels 1..size, in order,
+	 * are a linear extension.
+	 *
+	 * @param label the label, from 1 to size.
+	 * @return the Poset index of the vertex.
+	 */
+	int indexOf(int label) {
+
+		return indices[label];
+	}
+
+	/**
+	 * Gets the relation between the labels, bit (l, k) is set if the vertex labelled l is
+	 * strictly below the vertex labelled k, and every bit of row 0 is set.
+	 *
+	 * @return the relation itself, not a copy.
+	 */
+	BitMatrix getBelow() {
+
+		return below;
+	}
+
+	/**
+	 * Splits the labels into the connected components of the comparability graph.
+	 *
+	 * @return an array holding, at each label from 1 to size, the same label for
+	 * 			every label in its component and different ones for different components.
+	 */
+	int[] componentOf() {
+
+		//Union the labels of every comparable pair into components
+		int[] parent = new int[size + 1];
+		for (int label = 1; label <= size; label++) {
+
+			parent[label] = label;
+		}
+		for (int l = 1; l <= size; l++) {
+
+			for (int k = below.nextSetBit(l, 0); k != -1; k = below.nextSetBit(l, k + 1)) {
+
+				int rootL = root(parent, l);
+				int rootK = root(parent, k);
+				if (rootL != rootK) {
+
+					parent[rootK] = rootL;
+				}
+			}
+		}
+		for (int label = 1; label <= size; label++) {
+
+			parent[label] = root(parent, label);
+		}
+
+		return parent;
+	}
+
+	/**
+	 * Hands each linear extension to visitor in turn, until they run out or visitor returns false.
+	 *
+	 * @param visitor the visitor to hand the extensions to.
+	 * @return the number of extensions handed to visitor.
+	 */
+	public long forEach(Visitor visitor) {
+
+		long visited = 0;
+
+		for (Iterator<int[]> it = iterator(); it.hasNext();) {
+
+			visited++;
+			if (!visitor.visit(it.next())) {
+
+				break;
+			}
+		}
+
+		return visited;
+	}
+
+	/**
+	 * Hands every linear extension to visitor on the common ForkJoinPool.
+	 *
+	 * @param visitor the visitor to hand the extensions to, it is called from several threads at once.
+	 * @return the number of extensions handed to visitor.
+	 * @see #forEachParallel(Visitor, ForkJoinPool)
+	 */
+	public long forEachParallel(Visitor visitor) {
+
+		return forEachParallel(visitor, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Hands every linear extension to visitor, enumerating on pool.
+	 *
+	 * The extensions are split up by prefix: the extensions starting with a minimal vertex x are
+	 * x followed by the extensions of the rest of the poset, so each minimal vertex is its own task,
+	 * and so on down to prefixes of MAX_SPLIT_DEPTH vertices. Each task enumerates its subtree with
+	 * its own array and counts what it visits, and the counts are added up as the tasks are joined.
+	 * Once visitor returns false no task hands out another extension, though extensions already
+	 * being handed out on other threads still get there.
+	 *
+	 * @param visitor the visitor to hand the extensions to, it is called from several threads at once,
+	 * 			each with its own array.
+	 * @param pool the pool to enumerate on.
+	 * @return the number of extensions handed to visitor.
+	 */
+	public long forEachParallel(Visitor visitor, ForkJoinPool pool) {
+
+		if (!acyclic) {
+
+			return 0;
+		}
+
+		int[] labels = new int[size];
+		for (int label = 1; label <= size; label++) {
+
+			labels[label - 1] = label;
+		}
+
+		return pool.invoke(new PrefixTask(new int[0], labels, visitor, new AtomicBoolean()));
+	}
+
+	/**
+	 * Makes a parallel stream of the linear extensions, split up by prefix the same way as
+	 * forEachParallel. Each split of the stream hands out one array over and over,
+	 * so copy it before collecting it.
+	 *
+	 * @return a parallel stream of the linear extensions.
+	 */
+	public Stream<int[]> parallelStream() {
+
+		int[] labels = new int[size];
+		for (int label = 1; label <= size; label++) {
+
+			labels[label - 1] = label;
+		}
+
+		ArrayDeque<Prefix> prefixes = new ArrayDeque<Prefix>();
+		if (acyclic) {
+
+			prefixes.add(new Prefix(new int[0], labels));
+		}
+
+		return StreamSupport.stream(new PrefixSpliterator(prefixes), true);
+	}
+
+	/**
+	 * Finds the labels that nothing else in labels is below.
+	 *
+	 * @param labels labels, in increasing order.
+	 * @return the minimal labels among labels.
+	 */
+	private int[] minimal(int[] labels) {
+
+		int[] minimal = new int[labels.length];
+		int count = 0;
+
+		for (int x = 0; x < labels.length; x++) {
+
+			boolean isMinimal = true;
+
+			//Anything below labels[x] has a smaller label
+			for (int y = 0; y < x && isMinimal; y++) {
+
+				isMinimal = !below.get(labels[y], labels[x]);
+			}
+			if (isMinimal) {
+
+				minimal[count++] = labels[x];
+			}
+		}
+
+		return Arrays.copyOf(minimal, count);
+	}
+
+	/**
+	 * Counts the linear extensions of poset without generating them.
+	 * 
+	 * @param poset the Poset whose linear extensions to count.
+	 * @return the number of linear extensions, 0 if the relation in poset has a cycle.
+	 * @see #count()
+	 */
+	public static BigInteger count(Poset<?> poset) {
+
+		return new LinearExtensions(poset).count();
+	}
+
+	/**
+	 * Counts the linear extensions without generating them.
+	 * 
+	 * The poset is split into its connected components, the extensions of the whole are the
+	 * extensions of each component interleaved in every way, so the counts of the components
+	 * are multiplied together along with the multinomial coefficient of their sizes.
+	 * Each component is counted by dynamic programming over its downsets: the number of ways to
+	 * finish an extension from a downset is the sum, over the minimal elements left, of the number
+	 * of ways to finish it from the downset with that element added. Downsets of components of
+	 * up to 64 elements are long bitmasks, with the counts kept as longs until one overflows,
+	 * and then as BigIntegers.
+	 * 
+	 * The time and memory are proportional to the number of downsets, which grows with the
+	 * width of the components rather than with the number of extensions.
+	 *
+	 * @return the number of linear extensions, 0 if the relation in the poset has a cycle.
+	 */
+	public BigInteger count() {
+
+		if (!acyclic) {
+
+			return BigInteger.ZERO;
+		}
+
+		//Each component's labels, in increasing order
+		int[] componentOf = componentOf();
+		HashMap<Integer, ArrayList<Integer>> components = new HashMap<Integer, ArrayList<Integer>>();
+		for (int label = 1; label <= size; label++) {
+
+			int root = componentOf[label];
+			ArrayList<Integer> component = components.get(root);
+			if (component == null) {
+
+				component = new ArrayList<Integer>();
+				components.put(root, component);
+			}
+			component.add(label);
+		}
+
+		BigInteger total = BigInteger.ONE;
+		int placed = 0;
+		for (ArrayList<Integer> component : components.values()) {
+
+			placed += component.size();
+			total = total.multiply(binomial(placed, component.size())).multiply(countComponent(component));
+		}
+
+		return total;
+	}
+
+	/**
+	 * Counts the linear extensions of one component.
+	 *
+	 * @param labels the labels of the component, in increasing order.
+	 * @return the number of linear extensions of the component.
+	 */
+	private BigInteger countComponent(ArrayList<Integer> labels) {
+
+		int n = labels.size();
+
+		if (n > MAX_MASK_SIZE) {
+
+			BitSet[] preds = new BitSet[n];
+			for (int x = 0; x < n; x++) {
+
+				preds[x] = new BitSet(n);
+				for (int y = 0; y < x; y++) {
+
+					if (below.get(labels.get(y), labels.get(x))) {
+
+						preds[x].set(y);
+					}
+				}
+			}
+
+			return countFrom(preds, new BitSet(n), new HashMap<BitSet, BigInteger>());
+		}
+
+		//Bit y of preds[x] is set if the y'th label is below the x'th, only smaller labels can be
+		long[] preds = new long[n];
+		for (int x = 0; x < n; x++) {
+
+			for (int y = 0; y < x; y++) {
+
+				if (below.get(labels.get(y), labels.get(x))) {
+
+					preds[x] |= 1L << y;
+				}
+			}
+		}
+		long full = (n == Long.SIZE) ? -1L : (1L << n) - 1;
+
+		try {
+
+			return BigInteger.valueOf(countFrom(preds, 0L, full, new HashMap<Long, Long>()));
+		}
+		catch (ArithmeticException e) {
+
+			return countBigFrom(preds, 0L, full, new HashMap<Long, BigInteger>());
+		}
+	}
+
+	/**
+	 * Counts the ways to finish an extension from downset, in longs.
+	 *
+	 * @param preds preds[x] is the mask of the elements below x.
+	 * @param downset the mask of the elements already placed.
+	 * @param full the mask of every element.
+	 * @param memo the counts already worked out, by downset.
+	 * @return the number of ways to place the rest of the elements.
+	 * @throws ArithmeticException if the count doesn't fit in a long.
+	 */
+	private static long countFrom(long[] preds, long downset, long full, HashMap<Long, Long> memo) {
+
+		if (downset == full) {
+
+			return 1;
+		}
+
+		Long known = memo.get(downset);
+		if (known != null) {
+
+			return known;
+		}
+
+		long ways = 0;
+		for (long rest = full & ~downset; rest != 0; rest &= rest - 1) {
+
+			int x = Long.numberOfTrailingZeros(rest);
+			if ((preds[x] & ~downset) == 0) {
+
+				ways = Math.addExact(ways, countFrom(preds, downset | (1L << x), full, memo));
+			}
+		}
+		memo.put(downset, ways);
+
+		return ways;
+	}
+
+	/**
+	 * Counts the ways to finish an extension from downset, in BigIntegers.
+	 *
+	 * @param preds preds[x] is the mask of the elements below x.
+	 * @param downset the mask of the elements already placed.
+	 * @param full the mask of every element.
+	 * @param memo the counts already worked out, by downset.
+	 * @return the number of ways to place the rest of the elements.
+	 */
+	private static BigInteger countBigFrom(long[] preds, long downset, long full, HashMap<Long, BigInteger> memo) {
+
+		if (downset == full) {
+
+			return BigInteger.ONE;
+		}
+
+		BigInteger ways = memo.get(downset);
+		if (ways != null) {
+
+			return ways;
+		}
+
+		ways = BigInteger.ZERO;
+		for (long rest = full & ~downset; rest != 0; rest &= rest - 1) {
+
+			int x = Long.numberOfTrailingZeros(rest);
+			if ((preds[x] & ~downset) == 0) {
+
+				ways = ways.add(countBigFrom(preds, downset | (1L << x), full, memo));
+			}
+		}
+		memo.put(downset, ways);
+
+		return ways;
+	}
+
+	/**
+	 * Counts the ways to finish an extension from downset, for components too big for a long mask.
+	 *
+	 * @param preds preds[x] holds the elements below x.
+	 * @param downset the elements already placed, left as it was passed in.
+	 * @param memo the counts already worked out, by downset.
+	 * @return the number of ways to place the rest of the elements.
+	 */
+	private static BigInteger countFrom(BitSet[] preds, BitSet downset, HashMap<BitSet, BigInteger> memo) {
+
+		if (downset.cardinality() == preds.length) {
+
+			return BigInteger.ONE;
+		}
+
+		BigInteger ways = memo.get(downset);
+		if (ways != null) {
+
+			return ways;
+		}
+
+		ways = BigInteger.ZERO;
+		for (int x = downset.nextClearBit(0); x < preds.length; x = downset.nextClearBit(x + 1)) {
+
+			BitSet missing = (BitSet) preds[x].clone();
+			missing.andNot(downset);
+			if (missing.isEmpty()) {
+
+				BitSet next = (BitSet) downset.clone();
+				next.set(x);
+				ways = ways.add(countFrom(preds, next, memo));
+			}
+		}
+		memo.put((BitSet) downset.clone(), ways);
+
+		return ways;
+	}
+
+	/**
+	 * Finds the root of label in the union-find forest parent, halving the path on the way.
+	 */
+	private static int root(int[] parent, int label) {
+
+		while (parent[label] != label) {
+
+			parent[label] = parent[parent[label]];
+			label = parent[label];
+		}
+
+		return label;
+	}
+
+	/**
+	 * Works out n choose k.
+	 */
+	private static BigInteger binomial(int n, int k) {
+
+		BigInteger result = BigInteger.ONE;
+		for (int i = 1; i <= k; i++) {
+
+			result = result.multiply(BigInteger.valueOf(n - k + i)).divide(BigInteger.valueOf(i));
+		}
+
+		return result;
+	}
+
+	/**
+	 * Makes an iterator that works out each linear extension only when it is asked for it.
+	 * next returns the same array every time, changed in place to the next extension.
+	 *
+	 * @return an iterator over the linear extensions.
+	 */
+	public Iterator<int[]> iterator() {
+
+		return new ExtensionIterator(new int[size], 0);
+	}
+
+	/**
+	 * Makes an ordered spliterator over the linear extensions, which doesn't split.
+	 * Like the iterator it hands out the same array every time.
+	 *
+	 * @return a spliterator over the linear extensions.
+	 */
+	public Spliterator<int[]> spliterator() {
+
+		return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL);
+	}
+
+	/**
+	 * Makes a sequential stream of the linear extensions, the same array is handed down the
+	 * stream for every extension so copy it before collecting it.
+	 *
+	 * @return a stream of the linear extensions.
+	 */
+	public Stream<int[]> stream() {
+
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+	/**
+	 * A prefix of an extension and the labels left to place after it.
+	 */
+	private class Prefix {
+
+		/**
+		 * The Poset indices of the vertices already placed.
+		 */
+		final int[] placed;
+
+		/**
+		 * The labels left to place, in increasing order.
+		 */
+		final int[] remaining;
+
+		Prefix(int[] placed, int[] remaining) {
+
+			this.placed = placed;
+			this.remaining = remaining;
+		}
+
+		/**
+		 * Gets whether the extensions after this prefix are worth splitting up further.
+		 */
+		boolean splittable() {
+
+			return placed.length < MAX_SPLIT_DEPTH && remaining.length > SEQUENTIAL_SIZE;
+		}
+
+		/**
+		 * Makes the prefixes one vertex longer than this one, one for each minimal label left.
+		 */
+		List<Prefix> children() {
+
+			List<Prefix> children = new ArrayList<Prefix>();
+
+			for (int label : minimal(remaining)) {
+
+				int[] childPlaced = Arrays.copyOf(placed, placed.length + 1);
+				childPlaced[placed.length] = indices[label];
+
+				int[] childRemaining = new int[remaining.length - 1];
+				int next = 0;
+				for (int other : remaining) {
+
+					if (other != label) {
+
+						childRemaining[next++] = other;
+					}
+				}
+
+				children.add(new Prefix(childPlaced, childRemaining));
+			}
+
+			return children;
+		}
+
+		/**
+		 * Makes an iterator over the extensions starting with this prefix, written into extension.
+		 *
+		 * @param extension the array to write the extensions into, with room for the whole poset.
+		 */
+		Iterator<int[]> iterator(int[] extension) {
+
+			System.arraycopy(placed, 0, extension, 0, placed.length);
+
+			return new LinearExtensions(LinearExtensions.this, remaining).new ExtensionIterator(extension, placed.length);
+		}
+	}
+
+	/**
+	 * Enumerates the extensions starting with one prefix, forking a task for each longer prefix
+	 * while the prefix is splittable.
+	 */
+	private class PrefixTask extends RecursiveTask<Long> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Prefix prefix;
+
+		private final Visitor visitor;
+
+		/**
+		 * Set once visitor has returned false.
+		 */
+		private final AtomicBoolean stopped;
+
+		PrefixTask(int[] placed, int[] remaining, Visitor visitor, AtomicBoolean stopped) {
+
+			this(new Prefix(placed, remaining), visitor, stopped);
+		}
+
+		PrefixTask(Prefix prefix, Visitor visitor, AtomicBoolean stopped) {
+
+			this.prefix = prefix;
+			this.visitor = visitor;
+			this.stopped = stopped;
+		}
+
+		@Override
+		protected Long compute() {
+
+			if (prefix.splittable()) {
+
+				List<PrefixTask> tasks = new ArrayList<PrefixTask>();
+				for (Prefix child : prefix.children()) {
+
+					tasks.add(new PrefixTask(child, visitor, stopped));
+				}
+				invokeAll(tasks);
+
+				//Merge the counts of the subtrees
+				long visited = 0;
+				for (PrefixTask task : tasks) {
+
+					visited += task.join();
+				}
+
+				return visited;
+			}
+
+			long visited = 0;
+			for (Iterator<int[]> it = prefix.iterator(new int[size]); !stopped.get() && it.hasNext();) {
+
+				visited++;
+				if (!visitor.visit(it.next())) {
+
+					stopped.set(true);
+				}
+			}
+
+			return visited;
+		}
+	}
+
+	/**
+	 * A spliterator over the extensions starting with any of a queue of prefixes.
+	 * It splits by handing off half of its prefixes, and when it has only one left that
+	 * it hasn't started on, by swapping it for its children first.
+	 */
+	private class PrefixSpliterator implements Spliterator<int[]> {
+
+		private final ArrayDeque<Prefix> prefixes;
+
+		/**
+		 * The array handed out for every extension.
+		 */
+		private final int[] extension;
+
+		/**
+		 * The extensions of the prefix being walked, null before the first one is taken off the queue.
+		 */
+		private Iterator<int[]> current;
+
+		PrefixSpliterator(ArrayDeque<Prefix> prefixes) {
+
+			this.prefixes = prefixes;
+			extension = new int[size];
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super int[]> action) {
+
+			while (current == null || !current.hasNext()) {
+
+				if (prefixes.isEmpty()) {
+
+					return false;
+				}
+				current = prefixes.poll().iterator(extension);
+			}
+			action.accept(current.next());
+
+			return true;
+		}
+
+		@Override
+		public Spliterator<int[]> trySplit() {
+
+			if (prefixes.size() == 1 && prefixes.peek().splittable()) {
+
+				prefixes.addAll(prefixes.poll().children());
+			}
+			if (prefixes.size() < 2) {
+
+				return null;
+			}
+
+			ArrayDeque<Prefix> split = new ArrayDeque<Prefix>();
+			for (int i = prefixes.size() / 2; i > 0; i--) {
+
+				split.add(prefixes.poll());
+			}
+
+			return new PrefixSpliterator(split);
+		}
+
+		@Override
+		public long estimateSize() {
+
+			return Long.MAX_VALUE;
+		}
+
+		@Override
+		public int characteristics() {
+
+			return NONNULL;
+		}
+	}
+
+	/**
+	 * Walks the linear extensions one swap at a time, a pull version of Algorithm V.
+	 */
+	private class ExtensionIterator implements Iterator<int[]> {
+
+		/**
+		 * The extension by label with a[0] = 0 as the bottom.
+		 */
+		private final int[] a;
+
+		/**
+		 * The inverse of a, u[label] is the position of label.
+		 */
+		private final int[] u;
+
+		/**
+		 * The extension by Poset index, from offset on, handed out by next.
+		 */
+		private final int[] extension;
+
+		/**
+		 * Where in extension the first label goes, the entries before it are left alone.
+		 */
+		private final int offset;
+
+		/**
+		 * The label being walked left.
+		 */
+		private int k;
+
+		/**
+		 * True if extension holds an extension that hasn't been handed out yet.
+		 */
+		private boolean ready;
+
+		/**
+		 * Makes an iterator that writes the extensions into extension from offset on.
+		 *
+		 * @param extension the array to hand out, at least offset + size long.
+		 * @param offset where the first label goes.
+		 */
+		ExtensionIterator(int[] extension, int offset) {
+
+			a = new int[size + 1];
+			u = new int[size + 1];
+			this.extension = extension;
+			this.offset = offset;
+			for (int j = 0; j <= size; j++) {
+
+				a[j] = j;
+				u[j] = j;
+				if (j > 0) {
+
+					extension[offset + j - 1] = indices[j];
+				}
+			}
+
+			k = size;
+			ready = acyclic;
+		}
+
+		@Override
+		public boolean hasNext() {
+
+			if (!ready) {
+
+				advance();
+			}
+
+			return ready;
+		}
+
+		@Override
+		public int[] next() {
+
+			if (!hasNext()) {
+
+				throw new NoSuchElementException();
+			}
+			ready = false;
+
+			return extension;
+		}
+
+		/**
+		 * Moves on to the next extension, leaving ready false if there isn't one.
+		 */
+		private void advance() {
+
+			while (k > 0) {
+
+				int j = u[k];
+				int l = a[j - 1];
+
+				//k can move left past l, giving the next extension
+				if (!below.get(l, k)) {
+
+					a[j - 1] = k;
+					a[j] = l;
+					u[k] = j - 1;
+					u[l] = j;
+					extension[offset + j - 2] = indices[k];
+					extension[offset + j - 1] = indices[l];
+
+					k = size;
+					ready = true;
+					return;
+				}
+				//k can't move any further, shift it back to where it started and move on to k - 1
+				else {
+
+					while (j < k) {
+
+						l = a[j + 1];
+						a[j] = l;
+						u[l] = j;
+						extension[offset + j - 1] = indices[l];
+						j++;
+					}
+					a[k] = k;
+					u[k] = k;
+					extension[offset + k - 1] = indices[k];
+					k--;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Receives the linear extensions of a poset one at a time.
+	 */
+	public interface Visitor {
+
+		/**
+		 * Receives one linear extension.
+		 *
+		 * @param extension the Poset indices of the vertices from the bottom of the extension to the top,
+		 * 			the array is reused for the next extension so copy it to keep it.
+		 * @return true to go on to the next extension, false to stop.
+		 */
+		public boolean visit(int[] extension);
+	}
+}
@@ -0,0 +1,762 @@
+package vt.posets.extensions;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import vt.posets.graph.BitMatrix;
+
+/**
+ * A list of linear orders of the same n elements, kept as permutations of ints.
+ *
+ * The elements are interned once, numbered 0 to n - 1 in the order the first linear order
+ * has them, and all m linear orders are stored one after another in a single int[m * n].
+ * Each linear order can be read as ids, as positions (the inverse permutation), or through a
+ * List view of its elements, none of which copy the elements.
+ *
+ * Looking up a linear order goes through an open addressing table of the order numbers.
+ * For n up to MAX_RANKED_LENGTH a linear order is hashed by its Lehmer rank, its number among
+ * all n! permutations, which no two different linear orders share.
+ *
+ * comparabilities intersects the linear orders into the partial order they all extend,
+ * comparabilitiesParallel does the same on a fork/join pool.
+ *
+ * @author Ethan Gaebel (egaebel)
+ *
+ * @param <T> the type of the elements being ordered.
+ */
+public class LinearOrderSet<T> implements Iterable<List<T>> {
+
+	//~Constants----------------------------------------------
+	/**
+	 * The longest linear orders with a Lehmer rank, 20! is the biggest factorial a long holds.
+	 */
+	public static final int MAX_RANKED_LENGTH = 20;
+
+	/**
+	 * The most linear orders intersected on one thread by comparabilitiesParallel,
+	 * longer ranges are split in half.
+	 */
+	private static final int SEQUENTIAL_ORDERS = 64;
+
+	/**
+	 * The number of linear orders intersected between checks for an antichain.
+	 */
+	private static final int ANTICHAIN_CHECK_INTERVAL = 16;
+
+	//~Data Fields--------------------------------------------
+	/**
+	 * The elements, by id.
+	 */
+	private final ArrayList<T> elements;
+
+	/**
+	 * The id of each element.
+	 */
+	private final HashMap<T, Integer> ids;
+
+	/**
+	 * The number of elements in each linear order, n.
+	 */
+	private final int length;
+
+	/**
+	 * The number of linear orders, m.
+	 */
+	private final int size;
+
+	/**
+	 * The ids of linear order k are orders[k * length] to orders[k * length + length - 1].
+	 */
+	private final int[] orders;
+
+	/**
+	 * The open addressing table, each slot holds the number of a linear order plus one, 0 if it's empty.
+	 * Only the first of equal linear orders is in it.
+	 */
+	private final int[] table;
+
+	/**
+	 * The number of different linear orders.
+	 */
+	private final int distinctSize;
+
+	//~Constructors--------------------------------------------
+	/**
+	 * Interns the elements of linearOrders and stores the linear orders as ids.
+	 *
+	 * @param linearOrders linear orders, each holding the same elements once each.
+	 * @throws IllegalArgumentException if a linear order repeats an element or
+	 * 			doesn't hold the same elements as the first.
+	 */
+	public LinearOrderSet(List<? extends List<T>> linearOrders) {
+
+		size = linearOrders.size();
+		length = (size == 0) ? 0 : linearOrders.get(0).size();
+		elements = new ArrayList<T>(length);
+		ids = new HashMap<T, Integer>(length * 2);
+		orders = new int[size * length];
+
+		if (size > 0) {
+
+			for (T element : linearOrders.get(0)) {
+
+				if (ids.put(element, elements.size()) != null) {
+
+					throw new IllegalArgumentException("The linear order " + linearOrders.get(0) + " holds " + element + " more than once");
+				}
+				elements.add(element);
+			}
+		}
+
+		//seen[id] is k + 1 once linear order k has had the element
+		int[] seen = new int[length];
+		int k = 0;
+		for (List<T> linearOrder : linearOrders) {
+
+			if (linearOrder.size() != length) {
+
+				throw new IllegalArgumentException("The linear order " + linearOrder + " differs in length from " + linearOrders.get(0));
+			}
+
+			int offset = k * length;
+			for (T element : linearOrder) {
+
+				Integer id = ids.get(element);
+				if (id == null) {
+
+					throw new IllegalArgumentException("The linear order " + linearOrder + " holds " + element + " which " + linearOrders.get(0) + " doesn't");
+				}
+				if (seen[id] == k + 1) {
+
+					throw new IllegalArgumentException("The linear order " + linearOrder + " holds " + element + " more than once");
+				}
+				seen[id] = k + 1;
+				orders[offset++] = id;
+			}
+			k++;
+		}
+
+		//At most half full
+		int capacity = 2;
+		while (capacity < 2 * size) {
+
+			capacity <<= 1;
+		}
+		table = new int[capacity];
+
+		int distinct = 0;
+		for (k = 0; k < size; k++) {
+
+			int slot = find(orders, k * length);
+			if (table[slot] == 0) {
+
+				table[slot] = k + 1;
+				distinct++;
+			}
+		}
+		distinctSize = distinct;
+	}
+
+	//~Methods-------------------------------------------------
+	/**
+	 * Gets the number of linear orders, counting repeats.
+	 *
+	 * @return m.
+	 */
+	public int size() {
+
+		return size;
+	}
+
+	/**
+	 * Gets the number of different linear orders.
+	 *
+	 * @return the number of linear orders, not counting repeats.
+	 */
+	public int distinctSize() {
+
+		return distinctSize;
+	}
+
+	/**
+	 * Gets the number of elements in each linear order.
+	 *
+	 * @return n.
+	 */
+	public int length() {
+
+		return length;
+	}
+
+	/**
+	 * Gets the element with an id.
+	 *
+	 * @param id the id, from 0 to n - 1.
+	 * @return the element.
+	 */
+	public T getElement(int id) {
+
+		return elements.get(id);
+	}
+
+	/**
+	 * Gets the elements by id, in the order the first linear order has them.
+	 *
+	 * @return an unmodifiable view of the elements.
+	 */
+	public List<T> getElements() {
+
+		return Collections.unmodifiableList(elements);
+	}
+
+	/**
+	 * Gets the id of an element.
+	 *
+	 * @param element an element.
+	 * @return its id, -1 if the linear orders don't hold it.
+	 */
+	public int idOf(T element) {
+
+		Integer id = ids.get(element);
+
+		return (id == null) ? -1 : id;
+	}
+
+	/**
+	 * Gets the id at a position of a linear order.
+	 *
+	 * @param k the number of the linear order.
+	 * @param position the position in it, from 0 to n - 1.
+	 * @return the id of the element at position in linear order k.
+	 */
+	public int get(int k, int position) {
+
+		return orders[k * length + position];
+	}
+
+	/**
+	 * Copies out the ids of a linear order.
+	 *
+	 * @param k the number of the linear order.
+	 * @param into an array of at least n ints to copy the ids into, from the bottom of the order to the top.
+	 * @return into.
+	 */
+	public int[] getIds(int k, int[] into) {
+
+		System.arraycopy(orders, k * length, into, 0, length);
+
+		return into;
+	}
+
+	/**
+	 * Works out where each element is in a linear order, the inverse of the permutation.
+	 *
+	 * @param k the number of the linear order.
+	 * @param into an array of at least n ints to write the positions into.
+	 * @return into, element id is at position into[id] of linear order k.
+	 */
+	public int[] positions(int k, int[] into) {
+
+		int offset = k * length;
+		for (int i = 0; i < length; i++) {
+
+			into[orders[offset + i]] = i;
+		}
+
+		return into;
+	}
+
+	/**
+	 * Checks whether two linear orders are the same but for one pair of adjacent elements, in one O(n) scan.
+	 *
+	 * Two linear orders that differ in two or more pairs have an intersection with at least three
+	 * linear extensions, since the extensions of a poset are connected by adjacent swaps and it takes
+	 * as many swaps as pairs they differ in to get from one to the other. So two linear orders
+	 * are generated by a poset exactly when this is true, and that poset is their intersection.
+	 * Two copies of the same linear order aren't, a poset generates each linear order once.
+	 *
+	 * @param k the number of a linear order.
+	 * @param l the number of another linear order.
+	 * @return true if linear order l is linear order k with one pair of adjacent elements swapped,
+	 * 			false if they're the same.
+	 */
+	public boolean oneSwapApart(int k, int l) {
+
+		int a = k * length;
+		int b = l * length;
+
+		int i = 0;
+		while (i < length && orders[a + i] == orders[b + i]) {
+
+			i++;
+		}
+
+		if (i + 1 >= length || orders[a + i] != orders[b + i + 1] || orders[a + i + 1] != orders[b + i]) {
+
+			return false;
+		}
+		i += 2;
+
+		while (i < length && orders[a + i] == orders[b + i]) {
+
+			i++;
+		}
+
+		return i == length;
+	}
+
+	/**
+	 * Gets a view of a linear order as its elements.
+	 *
+	 * @param k the number of the linear order.
+	 * @return an unmodifiable List of the elements of linear order k, from the bottom to the top.
+	 */
+	public List<T> order(int k) {
+
+		return new OrderView(k * length);
+	}
+
+	/**
+	 * Intersects the comparabilities of some of the linear orders: bit (a, b) of the result
+	 * is set if id a is at or before id b in every one of them, so the result is the
+	 * (reflexive) partial order they are all linear extensions of.
+	 *
+	 * Each linear order is ANDed in from its top down, keeping the set of ids at or above
+	 * the current position, so row a is ANDed with the ids at or above a. That's O(n^2 / 64)
+	 * word operations per linear order with no matrix made for it.
+	 *
+	 * @param from the number of the first linear order to intersect.
+	 * @param to one past the number of the last linear order to intersect.
+	 * @return a new n by n BitMatrix, every bit set if from == to.
+	 */
+	public BitMatrix comparabilities(int from, int to) {
+
+		BitMatrix relation = full(length);
+		long[] above = new long[BitMatrix.wordsFor(length)];
+
+		for (int k = from; k < to; k++) {
+
+			intersect(orders, k * length, length, relation, above);
+		}
+
+		return relation;
+	}
+
+	/**
+	 * Intersects the comparabilities of all of the linear orders on the common pool.
+	 *
+	 * @return a new n by n BitMatrix, as comparabilities(0, size()) makes it.
+	 * @see #comparabilitiesParallel(ForkJoinPool)
+	 */
+	public BitMatrix comparabilitiesParallel() {
+
+		return comparabilitiesParallel(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Intersects the comparabilities of all of the linear orders on pool.
+	 *
+	 * The intersection is associative and commutative, so the linear orders are split into
+	 * chunks of at most SEQUENTIAL_ORDERS, each chunk is intersected on its own, and the partial
+	 * intersections are ANDed together as the tasks are joined. ANDing in more linear orders only
+	 * ever clears bits, so once any partial intersection is an antichain so is the whole, and
+	 * every task stops.
+	 *
+	 * @param pool the pool to intersect on.
+	 * @return a new n by n BitMatrix, as comparabilities(0, size()) makes it.
+	 */
+	public BitMatrix comparabilitiesParallel(ForkJoinPool pool) {
+
+		AtomicBoolean antichain = new AtomicBoolean();
+		BitMatrix relation = pool.invoke(new IntersectTask(0, size, antichain));
+
+		//The stopped tasks' partial intersections are incomplete, but the answer is known
+		if (antichain.get()) {
+
+			relation = new BitMatrix(length);
+			for (int a = 0; a < length; a++) {
+
+				relation.set(a, a);
+			}
+		}
+
+		return relation;
+	}
+
+	/**
+	 * ANDs the comparabilities of the linear order data[offset..offset + length - 1] into relation.
+	 *
+	 * @param data the array holding the ids.
+	 * @param offset where the ids start in data.
+	 * @param length the number of ids.
+	 * @param relation a length by length BitMatrix.
+	 * @param above scratch space of BitMatrix.wordsFor(length) words.
+	 * @return true if any bit of relation was cleared.
+	 */
+	static boolean intersect(int[] data, int offset, int length, BitMatrix relation, long[] above) {
+
+		Arrays.fill(above, 0L);
+		long cleared = 0;
+
+		for (int i = offset + length - 1; i >= offset; i--) {
+
+			int id = data[i];
+			above[id >>> 6] |= 1L << id;
+
+			long[] row = relation.getRow(id);
+			for (int w = 0; w < above.length; w++) {
+
+				cleared |= row[w] & ~above[w];
+				row[w] &= above[w];
+			}
+		}
+
+		return cleared != 0;
+	}
+
+	/**
+	 * Gets the Lehmer rank of a linear order, its number among all n! linear orders of the elements
+	 * counting in lexicographic order of ids, so different linear orders have different ranks.
+	 *
+	 * @param k the number of the linear order.
+	 * @return the rank, from 0 to n! - 1.
+	 * @throws UnsupportedOperationException if n is more than MAX_RANKED_LENGTH.
+	 */
+	public long rank(int k) {
+
+		if (length > MAX_RANKED_LENGTH) {
+
+			throw new UnsupportedOperationException("Linear orders of " + length + " elements have no Lehmer rank in a long");
+		}
+
+		return rank(orders, k * length, length);
+	}
+
+	/**
+	 * Finds a linear order.
+	 *
+	 * @param ids the ids of a linear order, from the bottom to the top.
+	 * @return the number of the first linear order equal to ids, -1 if there isn't one.
+	 */
+	public int indexOf(int[] ids) {
+
+		//Anything that isn't a linear order of these elements just won't compare equal to one
+		if (ids.length != length) {
+
+			return -1;
+		}
+
+		return table[find(ids, 0)] - 1;
+	}
+
+	/**
+	 * Checks for a linear order.
+	 *
+	 * @param ids the ids of a linear order, from the bottom to the top.
+	 * @return true if one of the linear orders is equal to ids.
+	 */
+	public boolean contains(int[] ids) {
+
+		return indexOf(ids) != -1;
+	}
+
+	/**
+	 * Copies the linear orders out as lists of their elements, for the methods that take them that way.
+	 *
+	 * @return a new list of new lists of elements.
+	 */
+	public ArrayList<ArrayList<T>> toLists() {
+
+		ArrayList<ArrayList<T>> lists = new ArrayList<ArrayList<T>>(size);
+		for (int k = 0; k < size; k++) {
+
+			lists.add(new ArrayList<T>(order(k)));
+		}
+
+		return lists;
+	}
+
+	@Override
+	public Iterator<List<T>> iterator() {
+
+		return new Iterator<List<T>>() {
+
+			private int k = 0;
+
+			@Override
+			public boolean hasNext() {
+
+				return k < size;
+			}
+
+			@Override
+			public List<T> next() {
+
+				if (k >= size) {
+
+					throw new NoSuchElementException();
+				}
+
+				return order(k++);
+			}
+		};
+	}
+
+	@Override
+	public String toString() {
+
+		StringBuilder build = new StringBuilder();
+
+		build.append("[");
+		for (int k = 0; k < size; k++) {
+
+			if (k > 0) {
+
+				build.append(", ");
+			}
+			build.append(order(k));
+		}
+		build.append("]");
+
+		return build.toString();
+	}
+
+	/**
+	 * Finds the slot of the table holding the linear order equal to data[offset..offset + n - 1],
+	 * or the empty slot it would go in.
+	 *
+	 * @param data the array holding the ids.
+	 * @param offset where the ids start in data.
+	 * @return the slot.
+	 */
+	private int find(int[] data, int offset) {
+
+		int mask = table.length - 1;
+		int slot = hash(data, offset) & mask;
+
+		while (table[slot] != 0 && !equal(data, offset, (table[slot] - 1) * length)) {
+
+			slot = (slot + 1) & mask;
+		}
+
+		return slot;
+	}
+
+	/**
+	 * Hashes a linear order, by its Lehmer rank when it has one.
+	 */
+	private int hash(int[] data, int offset) {
+
+		long h;
+		if (length <= MAX_RANKED_LENGTH) {
+
+			h = rank(data, offset, length);
+		}
+		else {
+
+			h = 1;
+			for (int i = 0; i < length; i++) {
+
+				h = h * 31 + data[offset + i];
+			}
+		}
+
+		//Spread the bits, ranks of nearby orders are close together
+		h *= 0x9E3779B97F4A7C15L;
+
+		return (int) (h ^ (h >>> 32));
+	}
+
+	/**
+	 * Works out the Lehmer rank of the ids data[offset..offset + length - 1], length being at most MAX_RANKED_LENGTH.
+	 * The digit at each position is the number of ids after it that are smaller, which is the number
+	 * of smaller ids not yet used, so a bit mask of the used ids gives each digit in one bit count.
+	 */
+	static long rank(int[] data, int offset, int length) {
+
+		long rank = 0;
+		int used = 0;
+		for (int i = 0; i < length; i++) {
+
+			int id = data[offset + i];
+			int smallerUnused = id - Integer.bitCount(used & ((1 << id) - 1));
+			rank = rank * (length - i) + smallerUnused;
+			used |= 1 << id;
+		}
+
+		return rank;
+	}
+
+	/**
+	 * Compares the ids data[offset..offset + n - 1] with the linear order starting at orders[start].
+	 */
+	private boolean equal(int[] data, int offset, int start) {
+
+		for (int i = 0; i < length; i++) {
+
+			if (data[offset + i] != orders[start + i]) {
+
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Makes a length by length BitMatrix with every bit set.
+	 */
+	static BitMatrix full(int length) {
+
+		BitMatrix relation = new BitMatrix(length);
+		int words = BitMatrix.wordsFor(length);
+
+		for (int a = 0; a < length; a++) {
+
+			long[] row = relation.getRow(a);
+			Arrays.fill(row, 0, words, -1L);
+			if ((length & 63) != 0) {
+
+				row[words - 1] = (1L << length) - 1;
+			}
+		}
+
+		return relation;
+	}
+
+	/**
+	 * Checks whether relation relates each id to nothing but itself.
+	 */
+	private static boolean isAntichain(BitMatrix relation) {
+
+		for (int a = 0; a < relation.getCapacity(); a++) {
+
+			long[] row = relation.getRow(a);
+			for (int w = 0; w < row.length; w++) {
+
+				long others = (w == a >>> 6) ? row[w] & ~(1L << a) : row[w];
+				if (others != 0) {
+
+					return false;
+				}
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Intersects the comparabilities of a range of linear orders, splitting it in half
+	 * while it's longer than SEQUENTIAL_ORDERS.
+	 */
+	private class IntersectTask extends RecursiveTask<BitMatrix> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int from;
+
+		private final int to;
+
+		/**
+		 * Set once a partial intersection is an antichain.
+		 */
+		private final AtomicBoolean antichain;
+
+		IntersectTask(int from, int to, AtomicBoolean antichain) {
+
+			this.from = from;
+			this.to = to;
+			this.antichain = antichain;
+		}
+
+		@Override
+		protected BitMatrix compute() {
+
+			if (to - from > SEQUENTIAL_ORDERS) {
+
+				int middle = (from + to) >>> 1;
+				IntersectTask lower = new IntersectTask(from, middle, antichain);
+				IntersectTask upper = new IntersectTask(middle, to, antichain);
+				lower.fork();
+
+				//Merge the partial intersections
+				BitMatrix relation = upper.compute();
+				relation.and(lower.join());
+				if (!antichain.get() && isAntichain(relation)) {
+
+					antichain.set(true);
+				}
+
+				return relation;
+			}
+
+			BitMatrix relation = full(length);
+			long[] above = new long[BitMatrix.wordsFor(length)];
+			for (int k = from; k < to && !antichain.get(); k++) {
+
+				intersect(orders, k * length, length, relation, above);
+				if ((k - from) % ANTICHAIN_CHECK_INTERVAL == ANTICHAIN_CHECK_INTERVAL - 1 && isAntichain(relation)) {
+
+					antichain.set(true);
+				}
+			}
+			if (!antichain.get() && isAntichain(relation)) {
+
+				antichain.set(true);
+			}
+
+			return relation;
+		}
+	}
+
+	/**
+	 * A linear order seen as its elements, reading straight from orders.
+	 */
+	private class OrderView extends AbstractList<T> implements RandomAccess {
+
+		//~Data Fields--------------------------------------------
+		/**
+		 * Where the linear order starts in orders.
+		 */
+		private final int start;
+
+		//~Constructors--------------------------------------------
+		/**
+		 * Views the linear order starting at orders[start].
+		 *
+		 * @param start where the linear order starts in orders.
+		 */
+		OrderView(int start) {
+
+			this.start = start;
+		}
+
+		//~Methods-------------------------------------------------
+		@Override
+		public T get(int position) {
+
+			if (position < 0 || position >= length) {
+
+				throw new IndexOutOfBoundsException("Position " + position + " of a linear order of " + length);
+			}
+
+			return elements.get(orders[start + position]);
+		}
+
+		@Override
+		public int size() {
+
+			return length;
+		}
+	}
+}
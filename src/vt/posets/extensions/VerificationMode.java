@@ -0,0 +1,25 @@
+package vt.posets.extensions;
+
+/**
+ * The ways to check that a poset's linear extensions are exactly a list of linear orders.
+ *
+ * ENUMERATE generates the extensions and looks each one up among the linear orders,
+ * stopping at the first one missing, so it costs at most m + 1 extensions.
+ * COUNT never generates an extension, it checks each linear order against the poset's
+ * edges and compares the number of linear orders to LinearExtensions.count, so it costs
+ * as much as the downset count does, which depends on the width of the poset.
+ * ESTIMATE is COUNT with an ApproximateCounter run first, rejecting the poset without
+ * the exact count when the number of linear orders is far outside the estimate's bounds.
+ * The estimate is skipped on a poset narrow enough that the exact count is the cheaper of the two.
+ * On a wide poset, where it does run, an estimate still costs covers * samples * n^3 / 4 steps of
+ * the sampler, so ESTIMATE only pays when that is well under the number of downsets.
+ *
+ * @author Ethan Gaebel (egaebel)
+ *
+ */
+public enum VerificationMode {
+
+	ENUMERATE,
+	COUNT,
+	ESTIMATE;
+}
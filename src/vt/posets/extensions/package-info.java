@@ -0,0 +1,8 @@
+/**
+ * Generating and working with the linear extensions of a Poset, in this JVM,
+ * used to check the posets built from linear orders in vt.posets.main.
+ *
+ * @author Ethan Gaebel (egaebel)
+ *
+ */
+package vt.posets.extensions;
\ No newline at end of file
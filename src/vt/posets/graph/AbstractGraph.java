@@ -0,0 +1,833 @@
+package vt.posets.graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * The parts of a Graph that don't depend on how its edges are stored: the vertices,
+ * the element to index lookup, the element-keyed calls (which find the indices and
+ * hand off to the index-keyed ones) and iteration.
+ * 
+ * Vertices live in the elements array, a vertex's index is its position there.
+ * 
+ * @author Ethan Gaebel (egaebel)
+ *
+ * @param <T> The type of vertices held.
+ * @param <E extends Edge<T>> The type of edges being held.
+ */
+public abstract class AbstractGraph<T, E extends Edge<T> & Cloneable> 
+        implements Graph<T, E> {
+
+    //~Data Fields--------------------------------------------
+    /**
+     * One object that represents all of the empty (0 weight) edges in the graph.
+     */
+    protected EmptyEdge<T> empty;
+    
+    /**
+     * Array of elements contained in the graph.
+     * Elements correspond to the same indices as they do in the storage of edges.
+     * 
+     * i.e. an edge from 4 to 5 is an edge from elements[4] to elements[5].
+     */
+    protected T[] elements;
+    
+    /**
+     * Maps each element in the graph to its index in elements, so that element-keyed
+     * calls don't have to scan elements. When an element is present more than once
+     * it maps to its lowest index, which is the one a scan of elements would find.
+     */
+    private Map<T, Integer> indices;
+    
+    /**
+     * The number of vertices whose element is also held at a lower index,
+     * and so is not the one held in indices.
+     */
+    private int duplicates;
+    
+    /**
+     * Bit i is set if there is a vertex at index i.
+     */
+    private BitSet occupied;
+    
+    /**
+     * Every index below freeHint holds a vertex, so the search for a free slot starts here.
+     */
+    private int freeHint;
+    
+    /**
+     * The maximum number of vertices in the graph before it has to grow.
+     */
+    protected int capacity;
+    
+    /**
+     * The current number of vertices in the graph.
+     */
+    protected int size;
+    
+    /**
+     * Indicates whether the graph is directed or not. True if directed, false otherwise.
+     */
+    protected boolean directed;
+
+    //~Constructors--------------------------------------------
+    /**
+     * Initializes the vertices of a graph with room for capacity vertices.
+     * 
+     * @param directed indicates whether the graph should be directed or not.
+     * @param capacity the number of vertices there is room for before the graph grows.
+     */
+    @SuppressWarnings("unchecked")
+    protected AbstractGraph(boolean directed, int capacity) {
+        
+        elements = (T[]) new Object[capacity];
+        indices = new HashMap<T, Integer>();
+        occupied = new BitSet(capacity);
+        
+        this.capacity = capacity;
+        this.size = 0;
+        this.directed = directed;
+        
+        empty = new EmptyEdge<T>();
+    }
+
+    //~Methods-------------------------------------------------
+    /**
+     * Adds a vertex to the graph, in the lowest empty slot.
+     * 
+     * @param element the element to add to the graph.
+     * @return the index the element was put at, -1 if element is null.
+     */
+    public int addVertex(T element) {
+
+        if (element == null) {
+            
+            return -1;
+        }
+        
+        if (this.size == capacity) {
+            
+            resize(Math.max(capacity * 2, 1));
+        }
+        
+        int index = occupied.nextClearBit(freeHint);
+        freeHint = index + 1;
+        
+        placeVertex(index, element);
+        
+        return index;
+    }
+    
+    /**
+     * Puts element into the empty slot at index, so that a derived graph can keep
+     * the same indices as the graph it was built from.
+     * 
+     * @param index the empty slot to place the element in.
+     * @param element the element to place.
+     */
+    protected void placeVertex(int index, T element) {
+        
+        elements[index] = element;
+        occupied.set(index);
+        indexVertex(index, element);
+        this.size++;
+    }
+    
+    /**
+     * Takes the vertex at index out of the graph, along with every edge to or from it.
+     * 
+     * @param index the index of a vertex in the graph.
+     */
+    private void vacateVertex(int index) {
+        
+        unindexVertex(index, elements[index]);
+        elements[index] = null;
+        occupied.clear(index);
+        freeHint = Math.min(freeHint, index);
+        
+        clearEdgesOf(index);
+        
+        this.size--;
+    }
+    
+    /**
+     * Records that element now lives at index.
+     * 
+     * @param index the index the element was put at.
+     * @param element the element that was put there.
+     */
+    private void indexVertex(int index, T element) {
+        
+        if (element == null) {
+            
+            return;
+        }
+        
+        Integer current = indices.get(element);
+        
+        if (current == null) {
+            
+            indices.put(element, index);
+        }
+        else {
+            
+            duplicates++;
+            if (index < current) {
+                
+                indices.put(element, index);
+            }
+        }
+    }
+    
+    /**
+     * Records that the element at index has been taken out of the graph.
+     * If the element is still present at another index, that index takes over.
+     * 
+     * @param index the index the element was taken from.
+     * @param element the element that was taken out.
+     */
+    private void unindexVertex(int index, T element) {
+        
+        if (element == null) {
+            
+            return;
+        }
+        
+        Integer current = indices.get(element);
+        
+        if (current == null || current != index) {
+            
+            duplicates--;
+        }
+        else if (duplicates == 0) {
+            
+            indices.remove(element);
+        }
+        else {
+            
+            indices.remove(element);
+            for (int i = index + 1; i < capacity; i++) {
+                
+                if (element.equals(elements[i])) {
+                    
+                    indices.put(element, i);
+                    duplicates--;
+                    break;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Grows the graph so it has room for newCapacity vertices.
+     * Subclasses grow their edge storage and then call this.
+     * 
+     * @param newCapacity the new number of vertex slots, larger than the current capacity.
+     */
+    protected void resize(int newCapacity) {
+        
+        capacity = newCapacity;
+        elements = Arrays.copyOf(elements, newCapacity);
+    }
+    
+    /**
+     * Removes every edge going to or from index.
+     * 
+     * @param index the index of the vertex whose edges should be cleared.
+     */
+    protected abstract void clearEdgesOf(int index);
+    
+    /**
+     * Gets the edge from index1 to index2 without bounds checking.
+     * 
+     * @param index1 the index of the from vertex.
+     * @param index2 the index of the to vertex.
+     * @return the edge from index1 to index2, the empty edge if there is none.
+     */
+    protected abstract Edge<T> edgeAt(int index1, int index2);
+    
+    /**
+     * Gets the weight of the edge from index1 to index2 without bounds checking.
+     * 
+     * @param index1 the index of the from vertex.
+     * @param index2 the index of the to vertex.
+     * @return the weight of the edge, 0 if there is no edge.
+     */
+    protected int weightAt(int index1, int index2) {
+        
+        return edgeAt(index1, index2).getWeight();
+    }
+    
+    /**
+     * Removes the vertex holding the specified element from the graph.
+     * Returns true if it was present, false otherwise. 
+     * 
+     * @param element the element to remove from the graph.
+     * @return true if the element was present, false otherwise.
+     */
+    public boolean removeVertex(T element) {
+
+        int index = findVertex(element);
+        
+        if (index != -1) {
+            
+            return removeVertex(index);
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Takes an element and finds it's index in the array of elements.
+     * Looks the element up in a hash index, so this is O(1) rather than a scan of the array.
+     * 
+     * @param element the element to find in the array.
+     * @return the index if the element is present, -1 otherwise.
+     */
+    public int findVertex(T element) {
+        
+        if (element != null) {
+         
+            Integer index = indices.get(element);
+            
+            if (index != null) {
+                
+                return index;
+            }
+        }
+        
+        return -1;
+    }
+    
+    /**
+     * Returns whether element is held by a vertex in the graph.
+     * 
+     * @param element the element to look for.
+     * @return true if the element is in the graph, false otherwise.
+     */
+    public boolean containsVertex(T element) {
+        
+        return element != null && indices.containsKey(element);
+    }
+    
+    /**
+     * Takes a vertex number and gets the element stored there.
+     * Returns null if the number is invalid, or an element of that number doesn't exist.
+     * 
+     * @param number the number of the vertex to get.
+     * @return the element corresponding to the passed vertex number.
+     */
+    public T getVertex(int number) {
+        
+        if (number < capacity && number > -1 && elements[number] != null) {
+            
+            return elements[number];
+        }
+        
+        return null;
+    }
+
+    /**
+     * Removes the vertex with the specified number from the graph.
+     * Returns true if the number has a vertex, false otherwise.
+     * 
+     * @param number the number of the vertex in the adjacency matrix to
+     *          remove from the graph.
+     * @return true if the number maps to a vertex, false otherwise.
+     */
+    public boolean removeVertex(int index) {
+
+        if (index > -1 && index < capacity && elements[index] != null) {
+            
+            vacateVertex(index);
+            
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes the vertex holding the specified element from the Graph, returns
+     * the element if successful, returns null otherwise.
+     *  
+     * @param element the element to remove from the graph.
+     * @return the element which was removed from the graph, or null if it wasn't present.
+     */
+    public T popVertex(T element) {
+
+        int index = findVertex(element);
+        
+        if (index != -1) {
+            
+            return popVertex(index);
+        }
+        
+        return null;
+    }
+
+    /**
+     * Removes the vertex mapping to the passed number from the graph and returns
+     * the element contained in the vertex, or null if the number didn't map to a vertex.
+     * 
+     * @param number the number mapping to the vertex in the graph to be removed.
+     * @return the element which was removed from the graph, or null if it wasn't present.
+     */
+    public T popVertex(int index) {
+
+        if (index > -1 && index < capacity) {
+            
+            T element = elements[index];
+            
+            if (element != null) {
+                
+                vacateVertex(index);
+            }
+            
+            return element;
+        }
+        
+        return null;
+    }
+    
+    /**
+     * Get a List<T> of all of the vertices in the graph. By Vertices here I am referring to 
+     * the elements which are stored in the graph, not some vertex object.
+     * 
+     * @return a List<T> of all of the elements in the graph.
+     */
+    public List<T> getVertices() {
+        
+        List<T> list = new LinkedList<T>();
+        
+        for (int i = 0; i < capacity; i++) {
+            
+            T el = elements[i];
+            if (el != null) {
+                list.add(el);
+            }
+        }
+        
+        return list;
+    }
+
+    /**
+     * Tells the size of the graph (that is, the number of vertices).
+     * 
+     * @return the number of vertices in the graph.
+     */
+    public int size() {
+
+        return this.size;
+    }
+    
+    /**
+     * Checks if this adjacnecny Matrix has any elements in it.
+     * 
+     * @return true if the matrix is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        
+        return size == 0;
+    }
+    
+    /**
+     * Gets the current maximum number of vertices that can be stored.
+     * 
+     * @return the maxmium number of vertices that can be stored before resizing.
+     */
+    public int getCapacity() {
+        
+        return capacity;
+    }
+    
+    /**
+     * Adds an edge between vertex1 and vertex2.
+     * If it's directed, adds the edge from index1 to index 2. 
+     * Returns true if the edge doesn't exist, false otherwise.
+     * 
+     * @param element1 the first vertex element (element held in the vertex).
+     * @param element2 the second vertex element.
+     * @return true if an edge doesn't exist, false otherwise.
+     */
+    public boolean addEdge(T element1, T element2) {
+        
+        int index1 = findVertex(element1);
+        int index2 = findVertex(element2);
+
+        if (index1 != -1 && index2 != -1) {
+            
+            return addEdge(index1, index2);
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Adds an edge between the two passed in vertex numbers of weight 1.
+     * If it's directed, adds the edge from index1 to index 2.
+     * 
+     * @param index1 the first vertex number.
+     * @param index2 the second vertex number.
+     * @return true if indices are valid, and if the edge does not already exist.
+     */
+    public boolean addEdge(int index1, int index2) {
+
+        return addEdge(index1, index2, 1);
+    }
+    
+    /**
+     * Adds an edge between element1 and element2 of weight weight.
+     * If it's directed, adds the edge from element1 to element2. 
+     * Returns true if the edge doesn't exist, (the new edge was created) and false otherwise.
+     * 
+     * @param element1 the first element (or starting element) to put the edge at.
+     * @param element2 the second element, that the edge goes to.
+     * @param weight the weight of the edge.
+     * @return true if an edge doesn't ALREADY exist, false otherwise.
+     */
+    public boolean addEdge(T element1, T element2, int weight) {
+        
+        int index1 = findVertex(element1);
+        int index2 = findVertex(element2);
+        
+        if (index1 != -1 && index2 != -1) {
+            
+            return addEdge(index1, index2, weight);
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Adds an the Edge, edge, between element1 and element2.
+     * 
+     * @param element1 the element the edge goes from.
+     * @param element2 the element the edge goes to.
+     * @param edge the Edge object between the elements.
+     * @return true if element1 and element2 are successful and edge != null, 
+     *          false otherwise.
+     */
+    public boolean addEdge(T element1, T element2, E edge) {
+        
+        int index1 = findVertex(element1);
+        int index2 = findVertex(element2);
+        
+        if (index1 != -1 && index2 != -1 && edge != null) {
+        
+            return addEdge(index1, index2, edge);
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Gets the edge weight of the edge going from the vertex
+     * numbered by fromVertex, to the vertex numbered by toVertex.
+     * 
+     * @param fromVertex the vertex number that the edge goes from.
+     * @param toVertex the vertex number that the edge goes to.
+     * @return the weight of the edge. -1 if invalid parameters are passed,
+     *          however edge weights COULD also be -1.....
+     */
+    @SuppressWarnings("unchecked")
+    public int getEdgeWeight(int fromVertex, int toVertex) {
+        
+        if (fromVertex > -1 && toVertex > -1 
+                && fromVertex < capacity && toVertex < capacity) {
+
+            return weightAt(fromVertex, toVertex);
+        }
+        
+        return -1;
+    }
+    
+    /**
+     * Gets the Edge<T> going from the vertex
+     * numbered by fromVertex, to the vertex numbered by toVertex.
+     * 
+     * @param fromVertex the vertex number that the edge goes from.
+     * @param toVertex the vertex number that the edge goes to.
+     * @return the Edge. null if invalid parameters are passed.
+     */
+    @SuppressWarnings("unchecked")
+    public Edge<T> getEdge(int fromVertex, int toVertex) {
+        
+        if (fromVertex > -1 && toVertex > -1 
+                && fromVertex < capacity && toVertex < capacity) {
+            
+            return edgeAt(fromVertex, toVertex);
+        }
+        
+        return null;
+    }
+    
+    /**
+     * Gets the edge from fromVertex to toVertex. 
+     * Returns null if either of the vertices don't exist.
+     * 
+     * @param fromVertex the vertex the edge comes from.
+     * @param toVertex the vertex the edge goes to.
+     * @return the edge from fromVertex to toVertex (may be an empty edge)
+     *          Returns null if either vertex DNE.
+     */
+    public Edge<T> getEdge(T fromVertex, T toVertex) {
+        
+        int index1 = findVertex(fromVertex);
+        int index2 = findVertex(toVertex);
+        
+        if (index1 != -1 && index2 != -1) {
+            
+            return getEdge(index1, index2);
+        }
+        
+        return null;
+    }
+    
+    /**
+     * Gets a List<T> of all of the elements that the passed element
+     * has an edge to.
+     * 
+     * i.e. edges e from element TO v.
+     * 
+     * @param element the element to find the edges for.
+     * @return the List of vertices that element has edges TO
+     */
+    public List<T> getEdgesTo(T element) {
+
+        int index = findVertex(element);
+        
+        List<T> edges = new LinkedList<T>();
+        
+        for (int i = nextSuccessor(index, 0); i != -1; i = nextSuccessor(index, i + 1)) {
+            
+            edges.add(elements[i]);
+        }
+        
+        return edges;
+    }
+    
+    /**
+     * Gets a List<T> of all of the elements that the passed element
+     * has edges from.
+     * 
+     * i.e. edges e from v to element.
+     * 
+     * @param element the element to find edges from.
+     * @return the List of vertices that element has edges FROM.
+     */
+    public List<T> getEdgesFrom(T element) {
+
+        int index = findVertex(element);
+        
+        List<T> edges = new LinkedList<T>();
+        
+        for (int i = nextPredecessor(index, 0); i != -1; i = nextPredecessor(index, i + 1)) {
+            
+            edges.add(elements[i]);
+        }
+        
+        return edges;
+    }
+    
+    /**
+     * Passes the index of every vertex that the vertex at index has an edge to, lowest first, to action.
+     * 
+     * @param index the index of the vertex the edges go from.
+     * @param action what to do with each index.
+     */
+    public void forEachSuccessor(int index, IntConsumer action) {
+        
+        for (int i = nextSuccessor(index, 0); i != -1; i = nextSuccessor(index, i + 1)) {
+            
+            action.accept(i);
+        }
+    }
+    
+    /**
+     * Passes the index of every vertex with an edge to the vertex at index, lowest first, to action.
+     * 
+     * @param index the index of the vertex the edges go to.
+     * @param action what to do with each index.
+     */
+    public void forEachPredecessor(int index, IntConsumer action) {
+        
+        for (int i = nextPredecessor(index, 0); i != -1; i = nextPredecessor(index, i + 1)) {
+            
+            action.accept(i);
+        }
+    }
+    
+    /**
+     * Makes a cursor over the vertices that a vertex has edges to.
+     * 
+     * @return a new NeighborCursor, reset it to a vertex before use.
+     */
+    public NeighborCursor successorCursor() {
+        
+        return new NeighborCursor() {
+            
+            @Override
+            protected int nextNeighbor(int vertex, int from) {
+                
+                return nextSuccessor(vertex, from);
+            }
+        };
+    }
+    
+    /**
+     * Makes a cursor over the vertices that have edges to a vertex.
+     * 
+     * @return a new NeighborCursor, reset it to a vertex before use.
+     */
+    public NeighborCursor predecessorCursor() {
+        
+        return new NeighborCursor() {
+            
+            @Override
+            protected int nextNeighbor(int vertex, int from) {
+                
+                return nextPredecessor(vertex, from);
+            }
+        };
+    }
+
+    /**
+     * Removes the edge between two vertices.
+     * If it's directed, removes the edge from index1 to index 2.
+     * Returns true if the edge exists, false otherwise.
+     * 
+     * @param element1 the first vertex element.
+     * @param element2 the second vertex element.
+     * @return true if the edge exists, false otherwise.
+     */
+    public boolean removeEdge(T element1, T element2) {
+
+        int index1 = findVertex(element1);
+        int index2 = findVertex(element2);
+        
+        if (index1 != -1 && index2 != -1) {
+            
+            return removeEdge(index1, index2);
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Takes two elements and if an edge exists, removes it and returns the weight.
+     * If it doesn't exist, returns -1.
+     * 
+     * @param element1 the first element with a vertex.
+     * @param element2 the second element with a vertex.
+     * @return the weight of the edge being popped.
+     */
+    public int popEdge(T element1, T element2) {
+        
+        int index1 = findVertex(element1);
+        int index2 = findVertex(element2);
+        
+        if (index1 != -1 && index2 != -1) {
+            
+            return popEdge(index1, index2);
+        }
+        
+        return -1;
+    }
+    
+    /**
+     * Returns true if the graph is directed, false otherwise.
+     * 
+     * @return true if the graph is directed, false otherwise.
+     */
+    public boolean isDirected() {
+        
+        return directed;
+    }
+    
+    /**
+     * Returns a string representation of the vertices of the graph. Whatever that may be.
+     * 
+     * @return the String representation of the vertices of the graph.
+     */
+    public String printVertices() {
+ 
+        StringBuilder build = new StringBuilder();
+        
+        for (int i = 0; i < capacity && elements[i] != null; i++) {
+            
+            build.append("|").append(elements[i]);
+        }
+        
+        return build.toString();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+
+        return new GraphIterator();
+    }
+    
+    public class GraphIterator implements Iterator<T> {
+
+        /**
+         * The index of the current element in this iterator. 
+         */
+        private int curIndex;
+        
+        /**
+         * Constructor.
+         */
+        public GraphIterator () {
+            
+            curIndex = -1;
+        }
+        
+        @Override
+        public boolean hasNext() {
+
+            if (curIndex < capacity) {
+                
+                for (int i = curIndex + 1; i < capacity; i++) {
+                    
+                    if (elements[i] != null) {
+                        
+                        return true;
+                    }
+                }
+            }
+            
+            return false;
+        }
+
+        @Override
+        public T next() {
+
+            if (curIndex < capacity) {
+                
+                for (curIndex += 1; curIndex < capacity; curIndex++) {
+                    
+                    if (elements[curIndex] != null) {
+                        
+                        return elements[curIndex];
+                    }
+                }
+            }
+            
+            return null;
+        }
+
+        @Override
+        public void remove() {
+
+            // TODO Auto-generated method stub
+            //DO THIS LATER!
+        }
+    }
+}
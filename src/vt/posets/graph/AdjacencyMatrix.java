@@ -1,6 +1,6 @@
 package vt.posets.graph;
 
-import java.util.Iterator;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Random;
@@ -17,7 +17,7 @@ import java.util.Random;
  * @param <E extends Edge<T>> The type of edges being held.
  */
 public class AdjacencyMatrix<T, E extends Edge<T> & Cloneable> 
-        implements Iterable<T> {
+        extends AbstractGraph<T, E> {
 
     //~Constants----------------------------------------------
     protected static final int DEFAULT_SIZE = 10;
@@ -26,37 +26,18 @@ public class AdjacencyMatrix<T, E extends Edge<T> & Cloneable>
     /**
      * Int matrix that holds edge weights in weighted graphs. 
      * A 1 in a directed graph indicates an edge, a 0 indicates no edge.
+     * 
+     * Rows are allocated when an edge is first stored in them, and a null row or cell
+     * (or a row shorter than capacity) is read as the empty edge, so read and write it
+     * through edgeAt and storeEdge.
      */
     protected Object[][] matrix;
 
     /**
-     * One object that represents all of the empty (0 weight) edges in the graph.
-     */
-    protected EmptyEdge<T> empty;
-    
-    /**
-     * Array of elements contained in the graph.
-     * Elements correspond to the same indices as they do in the adjacency matrix of edges.
-     * 
-     * i.e. matrix[4][5] is an edge from 4 to 5, 
-     *  elements[4] is the element at 4, elements[5] is the element at 5
-     */
-    protected T[] elements;
-    
-    /**
-     * The maximum number of vertices in the adjacency matrix.
-     */
-    protected int capacity;
-    
-    /**
-     * The current number of vertices in the graph.
-     */
-    protected int size;
-    
-    /**
-     * Indicates whether the graph is directed or not. True if directed, false otherwise.
+     * Packed bit rows used in place of matrix when the graph is packed (unweighted).
+     * Bit (i, j) is set if there is an edge from i to j. Null when edges are stored as objects.
      */
-    private boolean directed;
+    protected BitMatrix bits;
 
     //~Constructors--------------------------------------------
     /**
@@ -75,8 +56,7 @@ public class AdjacencyMatrix<T, E extends Edge<T> & Cloneable>
      */
     public AdjacencyMatrix(boolean directed) {
         
-        this();
-        this.directed = directed;
+        this(directed, DEFAULT_SIZE, false);
     }
     
     /**
@@ -85,25 +65,9 @@ public class AdjacencyMatrix<T, E extends Edge<T> & Cloneable>
      * 
      * @param size the size of the adjacency matrix.
      */
-    @SuppressWarnings("unchecked")
     public AdjacencyMatrix(int size) {
         
-        elements = (T[]) new Object[size];
-        matrix = new Object[size][size];
-        
-        this.capacity = size;
-        this.size = 0;
-        directed = false;
-        
-        empty = new EmptyEdge<T>();
-        
-        for (int i = 0; i < size; i++) {
-            
-            for (int j = 0; j < size; j++) {
-                
-                matrix[i][j] = empty;
-            }
-        }
+        this(false, size, false);
     }
     
     /**
@@ -115,8 +79,33 @@ public class AdjacencyMatrix<T, E extends Edge<T> & Cloneable>
      */
     public AdjacencyMatrix(boolean directed, int size) {
         
-        this(size);
-        this.directed = directed;
+        this(directed, size, false);
+    }
+    
+    /**
+     * Initializes the adjacency matrix to a size of size.
+     * There will be a maximum size of *size* vertices in the graph.
+     * 
+     * A packed graph is unweighted, every edge has weight 1 and each row of the matrix is
+     * stored as a long[] bitset instead of as Edge objects. Edge objects are only made
+     * when a caller asks for one (getEdge, getEdges) and edge objects passed in are not kept.
+     * 
+     * @param directed indicates whether the graph should be directed or not.
+     * @param size the size of the adjacency matrix.
+     * @param packed true if the edges should be stored as packed bits, false to store Edge objects.
+     */
+    public AdjacencyMatrix(boolean directed, int size, boolean packed) {
+        
+        super(directed, size);
+        
+        if (packed) {
+            
+            bits = new BitMatrix(size);
+        }
+        else {
+            
+            matrix = new Object[size][];
+        }
     }
 
     //~Methods-------------------------------------------------
@@ -138,11 +127,18 @@ public class AdjacencyMatrix<T, E extends Edge<T> & Cloneable>
                     weight = 0;
                 }
                 
-                ((Edge<T>) matrix[i][j]).setWeight(weight);
+                if (bits != null) {
+                    
+                    setBit(i, j, weight != 0);
+                    continue;
+                }
+                
+                Edge<T> edge = (weight != 0) ? new IntEdge<T>(weight, elements[i], elements[j]) : null;
+                storeEdge(i, j, edge);
                 
                 if (!directed) {
                     
-                    ((Edge<T>) matrix[j][i]).setWeight(weight);
+                    storeEdge(j, i, edge);
                 }
             }
         }
@@ -161,331 +157,102 @@ public class AdjacencyMatrix<T, E extends Edge<T> & Cloneable>
     @SuppressWarnings("unchecked")
 	public AdjacencyMatrix<T, E> makeCopy() {
         
-        AdjacencyMatrix<T, E> copy = new AdjacencyMatrix<T, E>(directed);
+        AdjacencyMatrix<T, E> copy = makeEmptyCopy();
         
-        //copy vertices
+        //copy vertices, keeping their indices
         for(int i = 0; i < capacity; i++) {
             
-            copy.addVertex(elements[i]);
-        }
-        
-        //copy edges
-        for (int i = 0; i < capacity; i++) {
-            
-            for (int j = 0; j < capacity; j++) {
+            if (elements[i] != null) {
                 
-                copy.addEdge(i, j, (E) matrix[i][j]);
+                copy.placeVertex(i, elements[i]);
             }
         }
         
-        return copy;
-    }
-    
-    /**
-     * Adds a vertex to the graph.
-     * 
-     * @param element the element to add to the graph.
-     */
-    public int addVertex(T element) {
-
-        if (this.size == capacity) {
-            
-            resize();
-        }
-        
-        for (int i = 0; i < capacity; i++) {
+        //copy packed edges
+        if (bits != null) {
             
-            if (elements[i] == null) {
-                
-                elements[i] = element;
-                this.size++;
-                return i;
-            }
+            copy.bits = bits.makeCopy();
+            return copy;
         }
         
-        return -1;
-    }
-    
-    @SuppressWarnings("unchecked")
-    private void resize() {
-        
-        int oldCapacity = capacity;
-        capacity *= 2;
-        
-        T[] temp = (T[]) new Object[capacity];
-        Object[][] matrixTemp = new Object[capacity][capacity];
-        
-        //Insert dummy elements
+        //copy edges, rows that were never written stay unallocated
         for (int i = 0; i < capacity; i++) {
-
-            temp[i] = null;
             
-            for (int j = 0; j < capacity; j++) {
+            if (matrix[i] != null) {
                 
-                matrixTemp[i][j] = empty;
+                copy.matrix[i] = matrix[i].clone();
             }
         }
         
-        //Copy over elements
-        for (int i = 0; i < oldCapacity; i++) {
-        
-            temp[i] = elements[i];
-            
-            for (int j = 0; j < oldCapacity; j++) {
-             
-                matrixTemp[i][j] = (Edge<T>) matrix[i][j];
-            }
-        }
-        
-        elements = temp;
-        matrix = matrixTemp;
-    }
-
-    /**
-     * Removes the vertex holding the specified element from the graph.
-     * Returns true if it was present, false otherwise. 
-     * 
-     * @param element the element to remove from the graph.
-     * @return true if the element was present, false otherwise.
-     */
-    public boolean removeVertex(T element) {
-
-        int index = findVertex(element);
-        
-        if (index != -1) {
-            
-            return removeVertex(index);
-        }
-        
-        return false;
+        return copy;
     }
     
     /**
-     * Takes an element and finds it's index in the array of elements.
+     * Grows the graph to newCapacity vertices. Only the array of rows is copied, rows that
+     * exist keep their length and are grown when something is stored past their end.
      * 
-     * @param element the element to find in the array.
-     * @return the index if the element is present, -1 otherwise.
+     * @param newCapacity the new number of vertex slots.
      */
-    public int findVertex(T element) {
+    @Override
+    protected void resize(int newCapacity) {
         
-        if (element != null) {
-         
-            for (int i = 0; i < elements.length; i++) {
-                
-                if (element.equals(elements[i])) {
-                    
-                    return i;
-                }
-            }
-        }
+        super.resize(newCapacity);
         
-        return -1;
-    }
-    
-    /**
-     * Takes a vertex number and gets the element stored there.
-     * Returns null if the number is invalid, or an element of that number doesn't exist.
-     * 
-     * @param number the number of the vertex to get.
-     * @return the element corresponding to the passed vertex number.
-     */
-    public T getVertex(int number) {
-        
-        if (number < capacity && number > -1 && elements[number] != null) {
+        if (bits != null) {
             
-            return elements[number];
+            bits.resize(capacity);
         }
-        
-        return null;
-    }
-
-    /**
-     * Removes the vertex with the specified number from the graph.
-     * Returns true if the number has a vertex, false otherwise.
-     * 
-     * @param number the number of the vertex in the adjacency matrix to
-     *          remove from the graph.
-     * @return true if the number maps to a vertex, false otherwise.
-     */
-    public boolean removeVertex(int index) {
-
-        if (index > -1 && index < capacity && elements[index] != null) {
+        else {
             
-            elements[index] = null;
-            
-            //set rows and columns of index to 0
-            for (int i = 0; i < capacity; i++) {
-                
-                matrix[index][i] = empty;
-                matrix[i][index] = empty;
-            }
-            
-            this.size--;
-            
-            return true;
-        }
-
-        return false;
-    }
-
-    /**
-     * Removes the vertex holding the specified element from the Graph, returns
-     * the element if successful, returns null otherwise.
-     *  
-     * @param element the element to remove from the graph.
-     * @return the element which was removed from the graph, or null if it wasn't present.
-     */
-    public T popVertex(T element) {
-
-        int index = findVertex(element);
-        
-        if (index != -1) {
-            
-            return popVertex(index);
+            matrix = Arrays.copyOf(matrix, capacity);
         }
-        
-        return null;
     }
 
     /**
-     * Removes the vertex mapping to the passed number from the graph and returns
-     * the element contained in the vertex, or null if the number didn't map to a vertex.
+     * Sets every edge going to or from index to 0.
      * 
-     * @param number the number mapping to the vertex in the graph to be removed.
-     * @return the element which was removed from the graph, or null if it wasn't present.
+     * @param index the index of the vertex whose edges should be cleared.
      */
-    public T popVertex(int index) {
-
-        if (index > -1 && index < capacity) {
-            
-            T element = elements[index];
-            
-            elements[index] = null;
-            
-            //set rows and columns of index to 0
-            for (int i = 0; i < capacity; i++) {
-                
-                matrix[index][i] = empty;
-                matrix[i][index] = empty;
-            }
-            
-            this.size--;
+    @Override
+    protected void clearEdgesOf(int index) {
+        
+        if (bits != null) {
             
-            return element;
+            bits.clearRow(index);
+            bits.clearColumn(index);
+            return;
         }
         
-        return null;
-    }
-    
-    /**
-     * Get a List<T> of all of the vertices in the graph. By Vertices here I am referring to 
-     * the elements which are stored in the graph, not some vertex object.
-     * 
-     * @return a List<T> of all of the elements in the graph.
-     */
-    public List<T> getVertices() {
-        
-        List<T> list = new LinkedList<T>();
-        
+        //set rows and columns of index to 0
+        matrix[index] = null;
         for (int i = 0; i < capacity; i++) {
             
-            T el = elements[i];
-            if (el != null) {
-                list.add(el);
-            }
+            storeEdge(i, index, null);
         }
-        
-        return list;
     }
 
     /**
-     * Tells the size of the graph (that is, the number of vertices).
-     * 
-     * @return the number of vertices in the graph.
-     */
-    public int size() {
-
-        return this.size;
-    }
-    
-    /**
-     * Checks if this adjacnecny Matrix has any elements in it.
+     * Makes an AdjacencyMatrix with no vertices or edges, with the same capacity as this one,
+     * that is packed and directed if this one is.
      * 
-     * @return true if the matrix is empty, false otherwise.
+     * @return the new, empty, AdjacencyMatrix.
      */
-    public boolean isEmpty() {
+    @Override
+    public AdjacencyMatrix<T, E> makeEmptyCopy() {
         
-        return size == 0;
+        return new AdjacencyMatrix<T, E>(directed, capacity, bits != null);
     }
     
     /**
-     * Gets the current maximum number of vertices that can be stored.
+     * Tells whether the edges of this graph are stored as packed bits.
      * 
-     * @return the maxmium number of vertices that can be stored before resizing.
+     * @return true if the graph is packed (unweighted), false if it stores Edge objects.
      */
-    public int getCapacity() {
+    public boolean isPacked() {
         
-        return capacity;
+        return bits != null;
     }
 
-    /**
-     * Adds an edge between vertex1 and vertex2.
-     * If it's directed, adds the edge from index1 to index 2. 
-     * Returns true if the edge doesn't exist, false otherwise.
-     * 
-     * @param element1 the first vertex element (element held in the vertex).
-     * @param element2 the second vertex element.
-     * @return true if an edge doesn't exist, false otherwise.
-     */
-    public boolean addEdge(T element1, T element2) {
-        
-        int index1 = findVertex(element1);
-        int index2 = findVertex(element2);
-
-        if (index1 != -1 && index2 != -1) {
-            
-            return addEdge(index1, index2);
-        }
-        
-        return false;
-    }
-    
-    /**
-     * Adds an edge between the two passed in vertex numbers of weight 1.
-     * If it's directed, adds the edge from index1 to index 2.
-     * 
-     * @param index1 the first vertex number.
-     * @param index2 the second vertex number.
-     * @return true if indices are valid, and if the edge does not already exist.
-     */
-    public boolean addEdge(int index1, int index2) {
-
-        return addEdge(index1, index2, 1);
-    }
-    
-    /**
-     * Adds an edge between element1 and element2 of weight weight.
-     * If it's directed, adds the edge from element1 to element2. 
-     * Returns true if the edge doesn't exist, (the new edge was created) and false otherwise.
-     * 
-     * @param element1 the first element (or starting element) to put the edge at.
-     * @param element2 the second element, that the edge goes to.
-     * @param weight the weight of the edge.
-     * @return true if an edge doesn't ALREADY exist, false otherwise.
-     */
-    public boolean addEdge(T element1, T element2, int weight) {
-        
-        int index1 = findVertex(element1);
-        int index2 = findVertex(element2);
-        
-        if (index1 != -1 && index2 != -1) {
-            
-            return addEdge(index1, index2, weight);
-        }
-        
-        return false;
-    }
-    
     /**
      * Adds an edge between index1 and index2 of weight weight.
      * If it's directed, adds the edge from index1 to index 2. 
@@ -501,13 +268,19 @@ public class AdjacencyMatrix<T, E extends Edge<T> & Cloneable>
     
         if (index1 > -1 && index2 > -1 
                 && index1 < capacity && index2 < capacity
-                && ((Edge<T>) matrix[index1][index2]).getWeight() == 0) {
+                && weightAt(index1, index2) == 0) {
 
+            if (bits != null) {
+                
+                setBit(index1, index2, weight != 0);
+                return true;
+            }
+            
             Edge<T> newEdge = new IntEdge<T>(weight, elements[index1], elements[index2]);
-            matrix[index1][index2] = newEdge;
+            storeEdge(index1, index2, newEdge);
             
             if (!directed) {
-                matrix[index2][index1] = newEdge;    
+                storeEdge(index2, index1, newEdge);    
             }
             
             return true;
@@ -516,28 +289,6 @@ public class AdjacencyMatrix<T, E extends Edge<T> & Cloneable>
         return false;
     }
     
-    /**
-     * Adds an the Edge, edge, between element1 and element2.
-     * 
-     * @param element1 the element the edge goes from.
-     * @param element2 the element the edge goes to.
-     * @param edge the Edge object between the elements.
-     * @return true if element1 and element2 are successful and edge != null, 
-     *          false otherwise.
-     */
-    public boolean addEdge(T element1, T element2, E edge) {
-        
-        int index1 = findVertex(element1);
-        int index2 = findVertex(element2);
-        
-        if (index1 != -1 && index2 != -1 && edge != null) {
-        
-            return addEdge(index1, index2, edge);
-        }
-        
-        return false;
-    }
-    
     /**
      * Adds the Edge edge to the adjacency matrix at index1, index2.
      * 
@@ -553,12 +304,18 @@ public class AdjacencyMatrix<T, E extends Edge<T> & Cloneable>
         if (index1 > -1 && index1 < capacity 
                 && index2 > -1 && index2 < capacity && edge != null) {
             
-            matrix[index1][index2] = edge;
+            if (bits != null) {
+                
+                setBit(index1, index2, edge.getWeight() != 0);
+                return true;
+            }
+            
+            storeEdge(index1, index2, edge);
             
             if (!directed) {
                 E secondEdge = (E) edge.clone();
                 secondEdge.setFromAndTo(secondEdge.getTo(), secondEdge.getFrom());
-                matrix[index2][index1] = secondEdge;
+                storeEdge(index2, index1, secondEdge);
             }
             
             return true;
@@ -568,315 +325,371 @@ public class AdjacencyMatrix<T, E extends Edge<T> & Cloneable>
     }
 
     /**
-     * Gets the edge weight of the edge going from the vertex
-     * numbered by fromVertex, to the vertex numbered by toVertex.
+     * Gets a list of all the edges, excluding the EmptyEdge objects.
      * 
-     * @param fromVertex the vertex number that the edge goes from.
-     * @param toVertex the vertex number that the edge goes to.
-     * @return the weight of the edge. -1 if invalid parameters are passed,
-     *          however edge weights COULD also be -1.....
+     * @return List of all existant edges in this adjacency matrix.
      */
     @SuppressWarnings("unchecked")
-    public int getEdgeWeight(int fromVertex, int toVertex) {
+    public List<Edge<T>> getEdges() {
         
-        if (fromVertex > -1 && toVertex > -1 
-                && fromVertex < capacity && toVertex < capacity) {
-
-            return ((Edge<T>) matrix[fromVertex][toVertex]).getWeight();
+        List<Edge<T>> edges = new LinkedList<Edge<T>>();
+        
+        for (int i = 0; i < capacity; i++) {
+            
+            for (int j = 0; j < capacity; j++) {
+                
+                if (bits != null) {
+                    
+                    if (bits.get(i, j)) {
+                        
+                        edges.add(edgeAt(i, j));
+                    }
+                }
+                else if (!(edgeAt(i, j) instanceof EmptyEdge<?>)) {
+                    
+                    edges.add(edgeAt(i, j));
+                }
+            }
         }
         
-        return -1;
+        return edges;
     }
     
     /**
-     * Gets the Edge<T> going from the vertex
-     * numbered by fromVertex, to the vertex numbered by toVertex.
+     * Finds the lowest index, at least from, that the vertex at index has an edge to.
+     * Walking a row with nextSuccessor(index, 0), nextSuccessor(index, i + 1)... allocates nothing.
      * 
-     * @param fromVertex the vertex number that the edge goes from.
-     * @param toVertex the vertex number that the edge goes to.
-     * @return the Edge. null if invalid parameters are passed.
+     * @param index the index of the vertex the edges go from.
+     * @param from the lowest index to consider.
+     * @return the index of the next vertex that index has an edge to, -1 if there is none
+     *          or if index is out of bounds.
      */
-    @SuppressWarnings("unchecked")
-    public Edge<T> getEdge(int fromVertex, int toVertex) {
+    public int nextSuccessor(int index, int from) {
         
-        if (fromVertex > -1 && toVertex > -1 
-                && fromVertex < capacity && toVertex < capacity) {
+        if (index < 0 || index >= capacity) {
             
-            return ((Edge<T>) matrix[fromVertex][toVertex]);
+            return -1;
         }
         
-        return null;
-    }
-    
-    /**
-     * Gets the edge from fromVertex to toVertex. 
-     * Returns null if either of the vertices don't exist.
-     * 
-     * @param fromVertex the vertex the edge comes from.
-     * @param toVertex the vertex the edge goes to.
-     * @return the edge from fromVertex to toVertex (may be an empty edge)
-     *          Returns null if either vertex DNE.
-     */
-    public Edge<T> getEdge(T fromVertex, T toVertex) {
+        //Packed rows are scanned a word at a time
+        if (bits != null) {
+            
+            return bits.nextSetBit(index, from);
+        }
         
-        int index1 = findVertex(fromVertex);
-        int index2 = findVertex(toVertex);
+        Object[] row = matrix[index];
         
-        if (index1 != -1 && index2 != -1) {
+        if (row != null) {
             
-            return getEdge(index1, index2);
+            for (int i = Math.max(from, 0); i < row.length; i++) {
+                
+                if (row[i] != null && ((Edge<?>) row[i]).getWeight() != 0) {
+                    
+                    return i;
+                }
+            }
         }
         
-        return null;
+        return -1;
     }
     
     /**
-     * Gets a list of all the edges, excluding the EmptyEdge objects.
+     * Finds the lowest index, at least from, that has an edge to the vertex at index.
      * 
-     * @return List of all existant edges in this adjacency matrix.
+     * @param index the index of the vertex the edges go to.
+     * @param from the lowest index to consider.
+     * @return the index of the next vertex with an edge to index, -1 if there is none
+     *          or if index is out of bounds.
      */
-    @SuppressWarnings("unchecked")
-    public List<Edge<T>> getEdges() {
+    public int nextPredecessor(int index, int from) {
         
-        List<Edge<T>> edges = new LinkedList<Edge<T>>();
+        if (index < 0 || index >= capacity) {
+            
+            return -1;
+        }
         
-        for (int i = 0; i < capacity; i++) {
+        for (int i = Math.max(from, 0); i < capacity; i++) {
             
-            for (int j = 0; j < capacity; j++) {
+            if (weightAt(i, index) != 0) {
                 
-                if (!(matrix[i][j] instanceof EmptyEdge<?>)) {
-                    
-                    edges.add((Edge<T>)matrix[i][j]);
-                }
+                return i;
             }
         }
         
-        return edges;
+        return -1;
     }
     
     /**
-     * Gets a List<T> of all of the elements that the passed element
-     * has an edge to.
-     * 
-     * i.e. edges e from element TO v.
+     * Takes two vertex numbers and removes the edge.
+     * If it's directed, removes the edge from index1 to index 2.
+     * Returns true if the edge exists, false otherwise.
      * 
-     * @param element the element to find the edges for.
-     * @return the List of vertices that element has edges TO
+     * @param index1 the first vertex number.
+     * @param index2 the second vertex number.
+     * @return true if the edge exists, false otherwise.
      */
     @SuppressWarnings("unchecked")
-    public List<T> getEdgesTo(T element) {
-
-        int index = findVertex(element);
-        
-        List<T> edges = new LinkedList<T>();
+    public boolean removeEdge(int index1, int index2) {
         
-        //if the passed element exists
-        if (index != -1) {
+        if (index1 > -1 && index1 < capacity && index2 > -1 
+                && index2 < capacity && weightAt(index1, index2) != 0) {
             
-            //Loop over all possible edges and if there isn't a 0
-                //adds them to the edges List
-            for (int i = 0; i < capacity; i++) {
+            if (bits != null) {
                 
-                //if the edge HAS a weight
-                if (((Edge<T>) matrix[index][i]).getWeight() != 0) { 
-                 
-                    edges.add(elements[i]);
-                }
+                setBit(index1, index2, false);
+                return true;
             }
+            
+            storeEdge(index1, index2, null); 
+            
+            if (!directed) {
+                storeEdge(index2, index1, null);
+            }
+                    
+            return true;
         }
         
-        return edges;
+        return false;
     }
     
     /**
-     * Gets a List<T> of all of the elements that the passed element
-     * has edges from.
-     * 
-     * i.e. edges e from v to element.
+     * Takes two vertex numbers and removes the edge between them, returns the weight of the edge 
+     * (returning 0 if no edge).
+     * If it's a directed graph, then returns the weight of the edge from index1 to index2
+     * Returns -1 if the vertex numbers are invalid.
      * 
-     * @param element the element to find edges from.
-     * @return the List of vertices that element has edges FROM.
+     * @param index1 the number of vertex1.
+     * @param index2 the number of vertex2.
+     * @return the weight of the edge that got removed.
      */
     @SuppressWarnings("unchecked")
-    public List<T> getEdgesFrom(T element) {
-
-        int index = findVertex(element);
+    public int popEdge(int index1, int index2) {
         
-        List<T> edges = new LinkedList<T>();
         
-        //if the passed element exists
-        if (index != -1) {
-            //Loop over all possible edges and if there isn't a 0
-                //adds them to the edges List
-            for (int i = 0; i < capacity; i++) {
+        if ((index1 > -1 && index1 < capacity) && (index2 > -1 && index2 < capacity)) {
+
+            int weight = weightAt(index1, index2);
+            
+            if (bits != null) {
                 
-                //if the edge HAS a weight
-                if (((Edge<T>) matrix[i][index]).getWeight() != 0) { 
-                 
-                    edges.add(elements[i]);
-                }
+                setBit(index1, index2, false);
+                return weight;
+            }
+            
+            storeEdge(index1, index2, null);
+            
+            if (!directed) {
+                storeEdge(index2, index1, null);
             }
+                    
+            return weight;
         }
         
-        return edges;
+        return -1;
     }
-
+    
     /**
-     * Removes the edge between two vertices.
-     * If it's directed, removes the edge from index1 to index 2.
-     * Returns true if the edge exists, false otherwise.
+     * Gets the weight of the edge from index1 to index2 without bounds checking.
      * 
-     * @param element1 the first vertex element.
-     * @param element2 the second vertex element.
-     * @return true if the edge exists, false otherwise.
+     * @param index1 the index of the from vertex.
+     * @param index2 the index of the to vertex.
+     * @return the weight of the edge, 0 if there is no edge.
      */
-    public boolean removeEdge(T element1, T element2) {
-
-        int index1 = findVertex(element1);
-        int index2 = findVertex(element2);
+    @Override
+    protected int weightAt(int index1, int index2) {
         
-        if (index1 != -1 && index2 != -1) {
+        if (bits != null) {
             
-            return removeEdge(index1, index2);
+            return bits.get(index1, index2) ? 1 : 0;
         }
         
-        return false;
+        return edgeAt(index1, index2).getWeight();
     }
     
     /**
-     * Takes two vertex numbers and removes the edge.
-     * If it's directed, removes the edge from index1 to index 2.
-     * Returns true if the edge exists, false otherwise.
+     * Gets the edge from index1 to index2 without bounds checking.
+     * In a packed graph the Edge object is made here, on request.
      * 
-     * @param index1 the first vertex number.
-     * @param index2 the second vertex number.
-     * @return true if the edge exists, false otherwise.
+     * @param index1 the index of the from vertex.
+     * @param index2 the index of the to vertex.
+     * @return the edge from index1 to index2, the empty edge if there is none.
      */
+    @Override
     @SuppressWarnings("unchecked")
-    public boolean removeEdge(int index1, int index2) {
+    protected Edge<T> edgeAt(int index1, int index2) {
         
-        if (((Edge<T>) matrix[index1][index2]).getWeight() != 0 
-                && index1 > -1 && index1 < capacity && index2 > -1 
-                && index2 < capacity) {
+        if (bits != null) {
             
-            matrix[index1][index2] = empty; 
-            
-            if (!directed) {
-                matrix[index2][index1] = empty;
+            if (bits.get(index1, index2)) {
+                
+                return new IntEdge<T>(1, elements[index1], elements[index2]);
             }
-                    
-            return true;
+            
+            return empty;
         }
         
-        return false;
+        Object[] row = matrix[index1];
+        
+        if (row != null && index2 < row.length && row[index2] != null) {
+            
+            return (Edge<T>) row[index2];
+        }
+        
+        return empty;
     }
     
     /**
-     * Takes two elements and if an edge exists, removes it and returns the weight.
-     * If it doesn't exist, returns -1.
+     * Stores edge in the cell from index1 to index2 without bounds checking.
+     * Storing null or an EmptyEdge clears the cell. The row is allocated, or grown
+     * to the current capacity, only when an edge has to be stored past its end.
+     * In a packed graph only whether there is an edge is kept.
      * 
-     * @param element1 the first element with a vertex.
-     * @param element2 the second element with a vertex.
-     * @return the weight of the edge being popped.
+     * @param index1 the index of the from vertex.
+     * @param index2 the index of the to vertex.
+     * @param edge the edge to store, null to clear the cell.
      */
-    public int popEdge(T element1, T element2) {
+    protected void storeEdge(int index1, int index2, Edge<T> edge) {
+        
+        if (bits != null) {
+            
+            if (edge == null || edge.getWeight() == 0) {
+                
+                bits.clear(index1, index2);
+            }
+            else {
+                
+                bits.set(index1, index2);
+            }
+            return;
+        }
         
-        int index1 = findVertex(element1);
-        int index2 = findVertex(element2);
+        Object[] row = matrix[index1];
+        
+        if (edge == null || edge instanceof EmptyEdge<?>) {
+            
+            if (row != null && index2 < row.length) {
+                
+                row[index2] = null;
+            }
+            
+            return;
+        }
         
-        if (index1 != -1 && index2 != -1) {
+        if (row == null) {
             
-            return popEdge(index1, index2);
+            row = new Object[capacity];
+            matrix[index1] = row;
+        }
+        else if (index2 >= row.length) {
+            
+            row = Arrays.copyOf(row, capacity);
+            matrix[index1] = row;
         }
         
-        return -1;
+        row[index2] = edge;
     }
     
     /**
-     * Takes two vertex numbers and removes the edge between them, returns the weight of the edge 
-     * (returning 0 if no edge).
-     * If it's a directed graph, then returns the weight of the edge from index1 to index2
-     * Returns -1 if the vertex numbers are invalid.
+     * Sets or clears the packed bit for the edge from index1 to index2,
+     * and the bit for the reverse edge if the graph is undirected.
      * 
-     * @param index1 the number of vertex1.
-     * @param index2 the number of vertex2.
-     * @return the weight of the edge that got removed.
+     * @param index1 the index of the from vertex.
+     * @param index2 the index of the to vertex.
+     * @param value true to set the edge, false to clear it.
      */
-    @SuppressWarnings("unchecked")
-    public int popEdge(int index1, int index2) {
-        
+    private void setBit(int index1, int index2, boolean value) {
         
-        if ((index1 > -1 && index1 < capacity) && (index2 > -1 && index2 < capacity)) {
-
-            int weight = ((Edge<T>) matrix[index1][index2]).getWeight();
+        if (value) {
             
-            matrix[index1][index2] = empty;
+            bits.set(index1, index2);
+            if (!directed) {
+                bits.set(index2, index1);
+            }
+        }
+        else {
             
+            bits.clear(index1, index2);
             if (!directed) {
-                matrix[index2][index1] = empty;
+                bits.clear(index2, index1);
             }
-                    
-            return weight;
         }
-        
-        return -1;
     }
     
     /**
-     * Returns true if the graph is directed, false otherwise.
+     * Takes the transitive closure of this AdjacencyMatrix and returns it as another AdjacencyMatrix.
+     * The closure is computed in place over packed rows (see BitMatrix.transitiveClosure), so the
+     * returned AdjacencyMatrix is packed and holds the same vertices at the same indices as this one.
      * 
-     * @return true if the graph is directed, false otherwise.
+     * @return an AdjacencyMatrix<T, E> that represents the transitive closure of this AdjacencyMatrix.
      */
-    public boolean isDirected() {
+    public AdjacencyMatrix<T, E> transitiveClosure() {
         
-        return directed;
+        return transitiveClosure(BitMatrix.DEFAULT_PARALLEL_THRESHOLD);
     }
     
     /**
      * Takes the transitive closure of this AdjacencyMatrix and returns it as another AdjacencyMatrix.
+     * Graphs with at least parallelThreshold vertex slots are closed on the common ForkJoinPool.
      * 
+     * @param parallelThreshold the capacity below which the closure runs sequentially.
      * @return an AdjacencyMatrix<T, E> that represents the transitive closure of this AdjacencyMatrix.
      */
-    @SuppressWarnings("unchecked")
-    public AdjacencyMatrix<T, E> transitiveClosure() {
+    public AdjacencyMatrix<T, E> transitiveClosure(int parallelThreshold) {
         
-        AdjacencyMatrix<T, E> adjMatrix = new AdjacencyMatrix<T, E>();
-        for (int i = 0; i < elements.length; i++) {
+        AdjacencyMatrix<T, E> adjMatrix = new AdjacencyMatrix<T, E>(directed, capacity, true);
+        for (int i = 0; i < capacity; i++) {
             
-            adjMatrix.addVertex(elements[i]);
-        }
-        
-        for (int i = 0; i < elements.length; i++) {
-        
-            for (int j = 0; j < elements.length; j++) {
+            if (elements[i] != null) {
                 
-                if (i == j || ((Edge<T>) this.matrix[i][j]).getWeight() != 0) {
-       
-                    adjMatrix.addEdge(i, j);
-                }
+                adjMatrix.placeVertex(i, elements[i]);
             }
         }
+        adjMatrix.bits = closureBits(parallelThreshold);
         
-        AdjacencyMatrix<T, E> newAdjMatrix;
-        for (int k = 0; k < elements.length; k++) {
+        return adjMatrix;
+    }
+    
+    /**
+     * Builds the packed reflexive transitive closure of the edges in this graph.
+     * Every vertex present gets an edge to itself.
+     * 
+     * @param parallelThreshold the capacity below which the closure runs sequentially.
+     * @return a new BitMatrix holding the closure, indexed the same as this graph.
+     */
+    protected BitMatrix closureBits(int parallelThreshold) {
+        
+        BitMatrix closure;
+        
+        if (bits != null) {
+            
+            closure = bits.makeCopy();
+        }
+        else {
             
-            newAdjMatrix = new AdjacencyMatrix<T, E>();
-            for (int i = 0; i < elements.length; i++) {
+            closure = new BitMatrix(capacity);
+            for (int i = 0; i < capacity; i++) {
                 
-                for (int j = 0; j < elements.length; j++) {
-                    
+                for (int j = 0; j < capacity; j++) {
                     
-                    if (adjMatrix.getEdgeWeight(i, j) != 0 
-                            || (adjMatrix.getEdgeWeight(i, k) != 0 && adjMatrix.getEdgeWeight(k, j) != 0)) {
+                    if (weightAt(i, j) != 0) {
                         
-                        newAdjMatrix.addEdge(i, j);
+                        closure.set(i, j);
                     }
                 }
             }
-            adjMatrix = newAdjMatrix;
         }
         
-        return adjMatrix;
+        for (int i = 0; i < capacity; i++) {
+            
+            if (elements[i] != null) {
+                
+                closure.set(i, i);
+            }
+        }
+        
+        closure.transitiveClosure(parallelThreshold);
+        
+        return closure;
     }
     
     /**
@@ -911,7 +724,7 @@ public class AdjacencyMatrix<T, E extends Edge<T> & Cloneable>
             
             for (int j = 0; j < capacity; j++) {
 
-                build.append("|").append(((Edge<T>)matrix[i][j]).printEdgeWeight());
+                build.append("|").append(edgeAt(i, j).printEdgeWeight());
             }
             build.append("|").append("\n");
         }
@@ -926,23 +739,6 @@ public class AdjacencyMatrix<T, E extends Edge<T> & Cloneable>
         return build.toString();
     }
     
-    /**
-     * Returns a string representation of the vertices of the graph. Whatever that may be.
-     * 
-     * @return the String representation of the vertices of the graph.
-     */
-    public String printVertices() {
- 
-        StringBuilder build = new StringBuilder();
-        
-        for (int i = 0; i < capacity && elements[i] != null; i++) {
-            
-            build.append("|").append(elements[i]);
-        }
-        
-        return build.toString();
-    }
-
     @Override
     public String toString() {
         
@@ -955,67 +751,4 @@ public class AdjacencyMatrix<T, E extends Edge<T> & Cloneable>
         
         return build.toString();
     }
-    
-    @Override
-    public Iterator<T> iterator() {
-
-        return new AdjacencyMatrixIterator();
-    }
-    
-    public class AdjacencyMatrixIterator implements Iterator<T> {
-
-        /**
-         * The index of the current element in this iterator. 
-         */
-        private int curIndex;
-        
-        /**
-         * Constructor.
-         */
-        public AdjacencyMatrixIterator () {
-            
-            curIndex = -1;
-        }
-        
-        @Override
-        public boolean hasNext() {
-
-            if (curIndex < capacity) {
-                
-                for (int i = curIndex + 1; i < capacity; i++) {
-                    
-                    if (elements[i] != null) {
-                        
-                        return true;
-                    }
-                }
-            }
-            
-            return false;
-        }
-
-        @Override
-        public T next() {
-
-            if (curIndex < capacity) {
-                
-                for (curIndex += 1; curIndex < capacity; curIndex++) {
-                    
-                    if (elements[curIndex] != null) {
-                        
-                        return elements[curIndex];
-                    }
-                }
-            }
-            
-            return null;
-        }
-
-        @Override
-        public void remove() {
-
-            // TODO Auto-generated method stub
-            //DO THIS LATER!
-        }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,344 @@
+package vt.posets.graph;
+
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * A graph of elements of type T joined by edges of type E, directed or undirected.
+ *
+ * Every vertex has an index, and every call that takes an element has a twin that
+ * takes the index instead. Indices run from 0 to getCapacity() - 1 and a vertex keeps
+ * its index until it is removed, a removed vertex's index is reused by the next vertex added.
+ *
+ * AdjacencyMatrix stores the edges as a dense matrix, SparseGraph as per vertex lists,
+ * see GraphBackend for choosing between them.
+ *
+ * @author Ethan Gaebel (egaebel)
+ *
+ * @param <T> The type of vertices held.
+ * @param <E extends Edge<T>> The type of edges being held.
+ */
+public interface Graph<T, E extends Edge<T> & Cloneable> extends Iterable<T> {
+
+    /**
+     * Adds a vertex to the graph, in the lowest empty index.
+     *
+     * @param element the element to add to the graph.
+     * @return the index the element was put at, -1 if it wasn't added.
+     */
+    public int addVertex(T element);
+
+    /**
+     * Removes the vertex holding the specified element from the graph.
+     *
+     * @param element the element to remove from the graph.
+     * @return true if the element was present, false otherwise.
+     */
+    public boolean removeVertex(T element);
+
+    /**
+     * Removes the vertex at index from the graph.
+     *
+     * @param index the index of the vertex to remove.
+     * @return true if the index held a vertex, false otherwise.
+     */
+    public boolean removeVertex(int index);
+
+    /**
+     * Removes the vertex holding the specified element from the graph and returns the element.
+     *
+     * @param element the element to remove from the graph.
+     * @return the element which was removed from the graph, or null if it wasn't present.
+     */
+    public T popVertex(T element);
+
+    /**
+     * Removes the vertex at index from the graph and returns its element.
+     *
+     * @param index the index of the vertex to remove.
+     * @return the element which was removed from the graph, or null if there wasn't one.
+     */
+    public T popVertex(int index);
+
+    /**
+     * Takes an element and finds its index.
+     *
+     * @param element the element to find.
+     * @return the index if the element is present, -1 otherwise.
+     */
+    public int findVertex(T element);
+
+    /**
+     * Returns whether element is held by a vertex in the graph.
+     *
+     * @param element the element to look for.
+     * @return true if the element is in the graph, false otherwise.
+     */
+    public boolean containsVertex(T element);
+
+    /**
+     * Gets the element at index.
+     *
+     * @param index the index of the vertex.
+     * @return the element at index, or null if there is none.
+     */
+    public T getVertex(int index);
+
+    /**
+     * Gets a List<T> of all of the elements in the graph, in index order.
+     *
+     * @return a List<T> of all of the elements in the graph.
+     */
+    public List<T> getVertices();
+
+    /**
+     * Tells the number of vertices in the graph.
+     *
+     * @return the number of vertices in the graph.
+     */
+    public int size();
+
+    /**
+     * Checks if this graph has any vertices in it.
+     *
+     * @return true if the graph has no vertices, false otherwise.
+     */
+    public boolean isEmpty();
+
+    /**
+     * Gets the number of indices the graph currently has room for.
+     * Every vertex index is below this.
+     *
+     * @return the number of vertices that can be stored before the graph grows.
+     */
+    public int getCapacity();
+
+    /**
+     * Returns true if the graph is directed, false otherwise.
+     *
+     * @return true if the graph is directed, false otherwise.
+     */
+    public boolean isDirected();
+
+    /**
+     * Adds an edge of weight 1 from element1 to element2.
+     *
+     * @param element1 the element the edge goes from.
+     * @param element2 the element the edge goes to.
+     * @return true if the edge was added, false if it already existed or a vertex doesn't.
+     */
+    public boolean addEdge(T element1, T element2);
+
+    /**
+     * Adds an edge of weight 1 from index1 to index2.
+     *
+     * @param index1 the index the edge goes from.
+     * @param index2 the index the edge goes to.
+     * @return true if the edge was added, false if it already existed or an index is invalid.
+     */
+    public boolean addEdge(int index1, int index2);
+
+    /**
+     * Adds an edge of weight weight from element1 to element2.
+     *
+     * @param element1 the element the edge goes from.
+     * @param element2 the element the edge goes to.
+     * @param weight the weight of the edge.
+     * @return true if the edge was added, false if it already existed or a vertex doesn't.
+     */
+    public boolean addEdge(T element1, T element2, int weight);
+
+    /**
+     * Adds an edge of weight weight from index1 to index2.
+     *
+     * @param index1 the index the edge goes from.
+     * @param index2 the index the edge goes to.
+     * @param weight the weight of the edge.
+     * @return true if the edge was added, false if it already existed or an index is invalid.
+     */
+    public boolean addEdge(int index1, int index2, int weight);
+
+    /**
+     * Puts the Edge edge between element1 and element2.
+     *
+     * @param element1 the element the edge goes from.
+     * @param element2 the element the edge goes to.
+     * @param edge the Edge object between the elements.
+     * @return true if both vertices exist and edge != null, false otherwise.
+     */
+    public boolean addEdge(T element1, T element2, E edge);
+
+    /**
+     * Puts the Edge edge between index1 and index2.
+     *
+     * @param index1 the index the edge goes from.
+     * @param index2 the index the edge goes to.
+     * @param edge the Edge object between the vertices.
+     * @return true if both indices are valid and edge != null, false otherwise.
+     */
+    public boolean addEdge(int index1, int index2, E edge);
+
+    /**
+     * Gets the weight of the edge from fromVertex to toVertex.
+     *
+     * @param fromVertex the index the edge goes from.
+     * @param toVertex the index the edge goes to.
+     * @return the weight of the edge, 0 if there is none, -1 if an index is invalid.
+     */
+    public int getEdgeWeight(int fromVertex, int toVertex);
+
+    /**
+     * Gets the edge from fromVertex to toVertex.
+     *
+     * @param fromVertex the index the edge goes from.
+     * @param toVertex the index the edge goes to.
+     * @return the edge (an empty edge if there is none), null if an index is invalid.
+     */
+    public Edge<T> getEdge(int fromVertex, int toVertex);
+
+    /**
+     * Gets the edge from fromVertex to toVertex.
+     *
+     * @param fromVertex the element the edge goes from.
+     * @param toVertex the element the edge goes to.
+     * @return the edge (an empty edge if there is none), null if either vertex doesn't exist.
+     */
+    public Edge<T> getEdge(T fromVertex, T toVertex);
+
+    /**
+     * Gets a list of all the edges, excluding the empty ones.
+     *
+     * @return List of all existant edges in this graph.
+     */
+    public List<Edge<T>> getEdges();
+
+    /**
+     * Gets a List<T> of all of the elements that the passed element has an edge to.
+     *
+     * @param element the element to find the edges for.
+     * @return the List of vertices that element has edges TO.
+     */
+    public List<T> getEdgesTo(T element);
+
+    /**
+     * Gets a List<T> of all of the elements that the passed element has edges from.
+     *
+     * @param element the element to find edges from.
+     * @return the List of vertices that element has edges FROM.
+     */
+    public List<T> getEdgesFrom(T element);
+
+    /**
+     * Finds the lowest index, at least from, that the vertex at index has an edge to.
+     *
+     * @param index the index of the vertex the edges go from.
+     * @param from the lowest index to consider.
+     * @return the index of the next vertex that index has an edge to, -1 if there is none.
+     */
+    public int nextSuccessor(int index, int from);
+
+    /**
+     * Finds the lowest index, at least from, that has an edge to the vertex at index.
+     *
+     * @param index the index of the vertex the edges go to.
+     * @param from the lowest index to consider.
+     * @return the index of the next vertex with an edge to index, -1 if there is none.
+     */
+    public int nextPredecessor(int index, int from);
+
+    /**
+     * Passes the index of every vertex that the vertex at index has an edge to, lowest first, to action.
+     *
+     * @param index the index of the vertex the edges go from.
+     * @param action what to do with each index.
+     */
+    public void forEachSuccessor(int index, IntConsumer action);
+
+    /**
+     * Passes the index of every vertex with an edge to the vertex at index, lowest first, to action.
+     *
+     * @param index the index of the vertex the edges go to.
+     * @param action what to do with each index.
+     */
+    public void forEachPredecessor(int index, IntConsumer action);
+
+    /**
+     * Makes a cursor over the vertices that a vertex has edges to.
+     *
+     * @return a new NeighborCursor, reset it to a vertex before use.
+     */
+    public NeighborCursor successorCursor();
+
+    /**
+     * Makes a cursor over the vertices that have edges to a vertex.
+     *
+     * @return a new NeighborCursor, reset it to a vertex before use.
+     */
+    public NeighborCursor predecessorCursor();
+
+    /**
+     * Removes the edge from element1 to element2.
+     *
+     * @param element1 the element the edge goes from.
+     * @param element2 the element the edge goes to.
+     * @return true if the edge existed, false otherwise.
+     */
+    public boolean removeEdge(T element1, T element2);
+
+    /**
+     * Removes the edge from index1 to index2.
+     *
+     * @param index1 the index the edge goes from.
+     * @param index2 the index the edge goes to.
+     * @return true if the edge existed, false otherwise.
+     */
+    public boolean removeEdge(int index1, int index2);
+
+    /**
+     * Removes the edge from element1 to element2 and returns its weight.
+     *
+     * @param element1 the element the edge goes from.
+     * @param element2 the element the edge goes to.
+     * @return the weight of the removed edge, 0 if there was none, -1 if a vertex doesn't exist.
+     */
+    public int popEdge(T element1, T element2);
+
+    /**
+     * Removes the edge from index1 to index2 and returns its weight.
+     *
+     * @param index1 the index the edge goes from.
+     * @param index2 the index the edge goes to.
+     * @return the weight of the removed edge, 0 if there was none, -1 if an index is invalid.
+     */
+    public int popEdge(int index1, int index2);
+
+    /**
+     * Makes a copy of the graph, with the same vertices at the same indices and the same edges.
+     * Changes to the copy's vertices or edges don't change this graph.
+     *
+     * @return the copy of the graph.
+     */
+    public Graph<T, E> makeCopy();
+
+    /**
+     * Makes a graph with no vertices or edges that is stored the same way as this one
+     * and is directed if this one is.
+     *
+     * @return the new, empty, graph.
+     */
+    public Graph<T, E> makeEmptyCopy();
+
+    /**
+     * Returns a string representation of the edges in the graph.
+     *
+     * @return string representation of the edges in the graph.
+     */
+    public String printEdges();
+
+    /**
+     * Returns a string representation of the vertices of the graph.
+     *
+     * @return the String representation of the vertices of the graph.
+     */
+    public String printVertices();
+}
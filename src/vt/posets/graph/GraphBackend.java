@@ -0,0 +1,59 @@
+package vt.posets.graph;
+
+/**
+ * The ways a Graph can store its edges.
+ *
+ * DENSE is an AdjacencyMatrix, O(1) edge lookups in O(vertices^2) memory.
+ * SPARSE is a SparseGraph, O(log degree) edge lookups in O(vertices + edges) memory.
+ *
+ * @author Ethan Gaebel (egaebel)
+ *
+ */
+public enum GraphBackend {
+
+    DENSE,
+    SPARSE;
+
+    //~Constants----------------------------------------------
+    /**
+     * A graph with fewer than vertices^2 / SPARSE_DIVISOR edges is stored sparse.
+     * An adjacency list costs a few words per edge where a matrix costs one per cell,
+     * so below this the lists take less memory.
+     */
+    public static final int SPARSE_DIVISOR = 8;
+
+    //~Methods-------------------------------------------------
+    /**
+     * Makes an empty graph stored this way.
+     *
+     * @param directed true if the graph is to be a directed graph, false otherwise.
+     * @param capacity the number of vertices to make room for.
+     * @return the new graph.
+     */
+    public <T, E extends Edge<T> & Cloneable> Graph<T, E> newGraph(boolean directed, int capacity) {
+
+        if (this == SPARSE) {
+
+            return new SparseGraph<T, E>(directed, capacity);
+        }
+
+        return new AdjacencyMatrix<T, E>(directed, capacity);
+    }
+
+    /**
+     * Picks the way to store a graph with the expected number of vertices and edges.
+     *
+     * @param vertices the number of vertices expected.
+     * @param edges the number of edges expected.
+     * @return SPARSE if there are few edges for the number of vertices, DENSE otherwise.
+     */
+    public static GraphBackend forDensity(int vertices, long edges) {
+
+        if (edges < (long) vertices * vertices / SPARSE_DIVISOR) {
+
+            return SPARSE;
+        }
+
+        return DENSE;
+    }
+}
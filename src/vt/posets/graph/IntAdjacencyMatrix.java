@@ -0,0 +1,1134 @@
+package vt.posets.graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * An AdjacencyMatrix specialized to int vertices. It can represent either a directed
+ * or an undirected graph, and is undirected by default.
+ *
+ * The elements are kept in an int[] and looked up through an int keyed hash index.
+ * The edge weights are kept in one int[] laid out row by row, so weights[i * capacity + j]
+ * is the weight of the edge from i to j. No Edge or Integer objects are stored.
+ * Integers are only made when an element-keyed Graph call is used, and Edge objects
+ * are only made when getEdge or getEdges is called.
+ *
+ * Each element can be held by only one vertex, so adding an element that is
+ * already present does nothing and returns -1.
+ *
+ * @author Ethan Gaebel (egaebel)
+ *
+ */
+public class IntAdjacencyMatrix implements Graph<Integer, IntEdge<Integer>> {
+
+    //~Constants----------------------------------------------
+    protected static final int DEFAULT_SIZE = 10;
+
+    //~Data Fields--------------------------------------------
+    /**
+     * One object that represents all of the empty (0 weight) edges in the graph.
+     */
+    protected EmptyEdge<Integer> empty;
+
+    /**
+     * The element held at each index, only meaningful where occupied is set.
+     */
+    protected int[] elements;
+
+    /**
+     * Maps each element in the graph to its index in elements.
+     */
+    private IntIndexMap indices;
+
+    /**
+     * Bit i is set if there is a vertex at index i.
+     */
+    private BitSet occupied;
+
+    /**
+     * Every index below freeHint holds a vertex, so the search for a free slot starts here.
+     */
+    private int freeHint;
+
+    /**
+     * The weights of the edges, weights[i * capacity + j] is the weight of the edge from i to j.
+     */
+    protected int[] weights;
+
+    /**
+     * The maximum number of vertices in the graph before it has to grow.
+     */
+    protected int capacity;
+
+    /**
+     * The current number of vertices in the graph.
+     */
+    protected int size;
+
+    /**
+     * Indicates whether the graph is directed or not. True if directed, false otherwise.
+     */
+    protected boolean directed;
+
+    //~Constructors--------------------------------------------
+    /**
+     * Initializes an undirected graph with room for 10 vertices.
+     */
+    public IntAdjacencyMatrix() {
+
+        this(false, DEFAULT_SIZE);
+    }
+
+    /**
+     * Initializes a graph with room for 10 vertices.
+     *
+     * @param directed true if the graph is to be a directed graph, false otherwise.
+     */
+    public IntAdjacencyMatrix(boolean directed) {
+
+        this(directed, DEFAULT_SIZE);
+    }
+
+    /**
+     * Initializes the adjacency matrix to a size of size, it grows past that as needed.
+     *
+     * @param directed indicates whether the graph should be directed or not.
+     * @param size the size of the adjacency matrix.
+     */
+    public IntAdjacencyMatrix(boolean directed, int size) {
+
+        elements = new int[size];
+        indices = new IntIndexMap(size);
+        occupied = new BitSet(size);
+        weights = new int[size * size];
+
+        this.capacity = size;
+        this.size = 0;
+        this.directed = directed;
+
+        empty = new EmptyEdge<Integer>();
+    }
+
+    /**
+     * Initializes an adjacency matrix holding the same vertices, at the same indices,
+     * and the same edge weights as graph.
+     *
+     * @param graph the graph to copy, stored either way (see GraphBackend).
+     */
+    public IntAdjacencyMatrix(Graph<Integer, ?> graph) {
+
+        this(graph.isDirected(), graph.getCapacity());
+
+        for (int i = 0; i < capacity; i++) {
+
+            Integer element = graph.getVertex(i);
+            if (element != null) {
+
+                placeVertex(i, element);
+            }
+        }
+
+        for (int i = 0; i < capacity; i++) {
+
+            for (int j = graph.nextSuccessor(i, 0); j != -1; j = graph.nextSuccessor(i, j + 1)) {
+
+                storeWeight(i, j, graph.getEdgeWeight(i, j));
+            }
+        }
+    }
+
+    //~Methods-------------------------------------------------
+    /**
+     * Makes a copy of the graph and returns it, with the same vertices at the same
+     * indices and the same edge weights. The copy is completely separate from this graph.
+     *
+     * @return the copy of the graph.
+     */
+    public IntAdjacencyMatrix makeCopy() {
+
+        IntAdjacencyMatrix copy = makeEmptyCopy();
+        copyInto(copy);
+
+        return copy;
+    }
+
+    /**
+     * Makes an IntAdjacencyMatrix with no vertices or edges, with the same capacity as this one,
+     * that is directed if this one is.
+     *
+     * @return the new, empty, IntAdjacencyMatrix.
+     */
+    public IntAdjacencyMatrix makeEmptyCopy() {
+
+        return new IntAdjacencyMatrix(directed, capacity);
+    }
+
+    /**
+     * Copies the vertices and edge weights of this graph into copy, which has
+     * the same capacity as this graph and no vertices.
+     *
+     * @param copy the graph to copy into.
+     */
+    protected void copyInto(IntAdjacencyMatrix copy) {
+
+        copy.elements = elements.clone();
+        copy.indices = indices.makeCopy();
+        copy.occupied = (BitSet) occupied.clone();
+        copy.freeHint = freeHint;
+        copy.weights = weights.clone();
+        copy.size = size;
+    }
+
+    /**
+     * Adds a vertex to the graph, in the lowest empty slot.
+     *
+     * @param element the element to add to the graph.
+     * @return the index the element was put at, -1 if element is null or already present.
+     */
+    public int addVertex(Integer element) {
+
+        if (element == null) {
+
+            return -1;
+        }
+
+        return addVertex(element.intValue());
+    }
+
+    /**
+     * Adds a vertex to the graph, in the lowest empty slot.
+     *
+     * @param element the element to add to the graph.
+     * @return the index the element was put at, -1 if element is already present.
+     */
+    public int addVertex(int element) {
+
+        if (indices.get(element) != -1) {
+
+            return -1;
+        }
+
+        if (this.size == capacity) {
+
+            resize(Math.max(capacity * 2, 1));
+        }
+
+        int index = occupied.nextClearBit(freeHint);
+        freeHint = index + 1;
+
+        placeVertex(index, element);
+
+        return index;
+    }
+
+    /**
+     * Puts element into the empty slot at index, so that a derived graph can keep
+     * the same indices as the graph it was built from.
+     *
+     * @param index the empty slot to place the element in.
+     * @param element the element to place, not already in the graph.
+     */
+    protected void placeVertex(int index, int element) {
+
+        elements[index] = element;
+        occupied.set(index);
+        indices.put(element, index);
+        this.size++;
+    }
+
+    /**
+     * Takes the vertex at index out of the graph, along with every edge to or from it.
+     *
+     * @param index the index of a vertex in the graph.
+     */
+    private void vacateVertex(int index) {
+
+        indices.remove(elements[index]);
+        elements[index] = 0;
+        occupied.clear(index);
+        freeHint = Math.min(freeHint, index);
+
+        clearEdgesOf(index);
+
+        this.size--;
+    }
+
+    /**
+     * Grows the graph so it has room for newCapacity vertices, laying the
+     * rows of weights out again at the new width.
+     *
+     * @param newCapacity the new number of vertex slots, larger than the current capacity.
+     */
+    protected void resize(int newCapacity) {
+
+        weights = relayout(weights, capacity, newCapacity);
+        elements = Arrays.copyOf(elements, newCapacity);
+        capacity = newCapacity;
+    }
+
+    /**
+     * Copies a row by row capacity * capacity plane into a newCapacity * newCapacity one.
+     *
+     * @param plane the plane to copy.
+     * @param capacity the width of plane.
+     * @param newCapacity the width of the copy.
+     * @return the copy.
+     */
+    protected static int[] relayout(int[] plane, int capacity, int newCapacity) {
+
+        int[] grown = new int[newCapacity * newCapacity];
+
+        for (int i = 0; i < capacity; i++) {
+
+            System.arraycopy(plane, i * capacity, grown, i * newCapacity, capacity);
+        }
+
+        return grown;
+    }
+
+    /**
+     * Sets every edge going to or from index to 0.
+     *
+     * @param index the index of the vertex whose edges should be cleared.
+     */
+    protected void clearEdgesOf(int index) {
+
+        Arrays.fill(weights, index * capacity, (index + 1) * capacity, 0);
+        for (int i = index; i < weights.length; i += capacity) {
+
+            weights[i] = 0;
+        }
+    }
+
+    /**
+     * Removes the vertex holding the specified element from the graph.
+     *
+     * @param element the element to remove from the graph.
+     * @return true if the element was present, false otherwise.
+     */
+    public boolean removeVertex(Integer element) {
+
+        int index = findVertex(element);
+
+        if (index != -1) {
+
+            return removeVertex(index);
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes the vertex with the specified index from the graph.
+     *
+     * @param index the index of the vertex to remove from the graph.
+     * @return true if the index has a vertex, false otherwise.
+     */
+    public boolean removeVertex(int index) {
+
+        if (hasVertexAt(index)) {
+
+            vacateVertex(index);
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes the vertex holding the specified element from the graph and returns the element.
+     *
+     * @param element the element to remove from the graph.
+     * @return the element which was removed from the graph, or null if it wasn't present.
+     */
+    public Integer popVertex(Integer element) {
+
+        int index = findVertex(element);
+
+        if (index != -1) {
+
+            return popVertex(index);
+        }
+
+        return null;
+    }
+
+    /**
+     * Removes the vertex at index from the graph and returns its element.
+     *
+     * @param index the index of the vertex to remove.
+     * @return the element which was removed from the graph, or null if there wasn't one.
+     */
+    public Integer popVertex(int index) {
+
+        if (hasVertexAt(index)) {
+
+            int element = elements[index];
+            vacateVertex(index);
+
+            return element;
+        }
+
+        return null;
+    }
+
+    /**
+     * Takes an element and finds its index.
+     *
+     * @param element the element to find.
+     * @return the index if the element is present, -1 otherwise.
+     */
+    public int findVertex(Integer element) {
+
+        if (element != null) {
+
+            return indices.get(element.intValue());
+        }
+
+        return -1;
+    }
+
+    /**
+     * Takes an element and finds its index, without boxing it.
+     *
+     * @param element the element to find.
+     * @return the index if the element is present, -1 otherwise.
+     */
+    public int findVertex(int element) {
+
+        return indices.get(element);
+    }
+
+    /**
+     * Returns whether element is held by a vertex in the graph.
+     *
+     * @param element the element to look for.
+     * @return true if the element is in the graph, false otherwise.
+     */
+    public boolean containsVertex(Integer element) {
+
+        return findVertex(element) != -1;
+    }
+
+    /**
+     * Returns whether element is held by a vertex in the graph, without boxing it.
+     *
+     * @param element the element to look for.
+     * @return true if the element is in the graph, false otherwise.
+     */
+    public boolean containsVertex(int element) {
+
+        return indices.get(element) != -1;
+    }
+
+    /**
+     * Gets the element at index.
+     *
+     * @param index the index of the vertex.
+     * @return the element at index, or null if there is none.
+     */
+    public Integer getVertex(int index) {
+
+        if (hasVertexAt(index)) {
+
+            return elements[index];
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the element at index without boxing it.
+     * Only meaningful if hasVertexAt(index) is true.
+     *
+     * @param index the index of a vertex.
+     * @return the element at index.
+     */
+    public int vertexAt(int index) {
+
+        return elements[index];
+    }
+
+    /**
+     * Tells whether there is a vertex at index.
+     *
+     * @param index the index to check.
+     * @return true if index is in bounds and holds a vertex, false otherwise.
+     */
+    public boolean hasVertexAt(int index) {
+
+        return index > -1 && index < capacity && occupied.get(index);
+    }
+
+    /**
+     * Gets a List<Integer> of all of the elements in the graph, in index order.
+     *
+     * @return a List<Integer> of all of the elements in the graph.
+     */
+    public List<Integer> getVertices() {
+
+        List<Integer> list = new LinkedList<Integer>();
+
+        for (int i = occupied.nextSetBit(0); i != -1; i = occupied.nextSetBit(i + 1)) {
+
+            list.add(elements[i]);
+        }
+
+        return list;
+    }
+
+    /**
+     * Tells the size of the graph (that is, the number of vertices).
+     *
+     * @return the number of vertices in the graph.
+     */
+    public int size() {
+
+        return this.size;
+    }
+
+    /**
+     * Checks if this graph has any vertices in it.
+     *
+     * @return true if the graph is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+
+        return size == 0;
+    }
+
+    /**
+     * Gets the current maximum number of vertices that can be stored.
+     *
+     * @return the maxmium number of vertices that can be stored before resizing.
+     */
+    public int getCapacity() {
+
+        return capacity;
+    }
+
+    /**
+     * Returns true if the graph is directed, false otherwise.
+     *
+     * @return true if the graph is directed, false otherwise.
+     */
+    public boolean isDirected() {
+
+        return directed;
+    }
+
+    /**
+     * Adds an edge of weight 1 between element1 and element2.
+     *
+     * @param element1 the element the edge goes from.
+     * @param element2 the element the edge goes to.
+     * @return true if the edge was added, false if it already existed or a vertex doesn't.
+     */
+    public boolean addEdge(Integer element1, Integer element2) {
+
+        return addEdge(element1, element2, 1);
+    }
+
+    /**
+     * Adds an edge between the two passed in vertex numbers of weight 1.
+     *
+     * @param index1 the first vertex number.
+     * @param index2 the second vertex number.
+     * @return true if indices are valid, and if the edge does not already exist.
+     */
+    public boolean addEdge(int index1, int index2) {
+
+        return addEdge(index1, index2, 1);
+    }
+
+    /**
+     * Adds an edge between element1 and element2 of weight weight.
+     *
+     * @param element1 the element the edge goes from.
+     * @param element2 the element the edge goes to.
+     * @param weight the weight of the edge.
+     * @return true if the edge was added, false if it already existed or a vertex doesn't.
+     */
+    public boolean addEdge(Integer element1, Integer element2, int weight) {
+
+        int index1 = findVertex(element1);
+        int index2 = findVertex(element2);
+
+        if (index1 != -1 && index2 != -1) {
+
+            return addEdge(index1, index2, weight);
+        }
+
+        return false;
+    }
+
+    /**
+     * Adds an edge between index1 and index2 of weight weight.
+     * If it's directed, adds the edge from index1 to index 2.
+     * Returns true if the edge doesn't exist, (the new edge was created) and false otherwise.
+     *
+     * @param index1 the number of the first vertex (the from vertex)
+     * @param index2 the number of the second vertex (the to vertex)
+     * @param weight the weight of the edge.
+     * @return true if an edge doesn't exist, false otherwise.
+     */
+    public boolean addEdge(int index1, int index2, int weight) {
+
+        if (inBounds(index1, index2) && weightAt(index1, index2) == 0) {
+
+            storeWeight(index1, index2, weight);
+
+            if (!directed) {
+                storeWeight(index2, index1, weight);
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Puts an edge with the weight of edge between element1 and element2.
+     *
+     * @param element1 the element the edge goes from.
+     * @param element2 the element the edge goes to.
+     * @param edge the edge whose weight to store.
+     * @return true if both vertices exist and edge != null, false otherwise.
+     */
+    public boolean addEdge(Integer element1, Integer element2, IntEdge<Integer> edge) {
+
+        int index1 = findVertex(element1);
+        int index2 = findVertex(element2);
+
+        if (index1 != -1 && index2 != -1 && edge != null) {
+
+            return addEdge(index1, index2, edge);
+        }
+
+        return false;
+    }
+
+    /**
+     * Puts an edge with the weight of edge between index1 and index2.
+     * Only the weight is kept, the edge object itself is not stored.
+     *
+     * @param index1 the index of the from vertex.
+     * @param index2 the index of the to vertex.
+     * @param edge the edge whose weight to store.
+     * @return true if successful, false if index1 or index2 is out of bounds
+     *          or if edge == null
+     */
+    public boolean addEdge(int index1, int index2, IntEdge<Integer> edge) {
+
+        if (inBounds(index1, index2) && edge != null) {
+
+            storeWeight(index1, index2, edge.getWeight());
+
+            if (!directed) {
+                storeWeight(index2, index1, edge.getWeight());
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the weight of the edge from fromVertex to toVertex.
+     *
+     * @param fromVertex the vertex number that the edge goes from.
+     * @param toVertex the vertex number that the edge goes to.
+     * @return the weight of the edge. -1 if invalid parameters are passed,
+     *          however edge weights COULD also be -1.....
+     */
+    public int getEdgeWeight(int fromVertex, int toVertex) {
+
+        if (inBounds(fromVertex, toVertex)) {
+
+            return weightAt(fromVertex, toVertex);
+        }
+
+        return -1;
+    }
+
+    /**
+     * Gets the edge from fromVertex to toVertex, made on request.
+     *
+     * @param fromVertex the vertex number that the edge goes from.
+     * @param toVertex the vertex number that the edge goes to.
+     * @return the Edge (an empty edge if there is none), null if invalid parameters are passed.
+     */
+    public Edge<Integer> getEdge(int fromVertex, int toVertex) {
+
+        if (inBounds(fromVertex, toVertex)) {
+
+            return edgeAt(fromVertex, toVertex);
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the edge from fromVertex to toVertex.
+     *
+     * @param fromVertex the element the edge comes from.
+     * @param toVertex the element the edge goes to.
+     * @return the edge from fromVertex to toVertex (may be an empty edge)
+     *          Returns null if either vertex DNE.
+     */
+    public Edge<Integer> getEdge(Integer fromVertex, Integer toVertex) {
+
+        int index1 = findVertex(fromVertex);
+        int index2 = findVertex(toVertex);
+
+        if (index1 != -1 && index2 != -1) {
+
+            return getEdge(index1, index2);
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets a list of all the edges, made on request.
+     *
+     * @return List of all existant edges in this adjacency matrix.
+     */
+    public List<Edge<Integer>> getEdges() {
+
+        List<Edge<Integer>> edges = new LinkedList<Edge<Integer>>();
+
+        for (int i = 0; i < capacity; i++) {
+
+            for (int j = nextSuccessor(i, 0); j != -1; j = nextSuccessor(i, j + 1)) {
+
+                edges.add(edgeAt(i, j));
+            }
+        }
+
+        return edges;
+    }
+
+    /**
+     * Gets a List<Integer> of all of the elements that the passed element has an edge to.
+     *
+     * @param element the element to find the edges for.
+     * @return the List of vertices that element has edges TO
+     */
+    public List<Integer> getEdgesTo(Integer element) {
+
+        int index = findVertex(element);
+
+        List<Integer> edges = new LinkedList<Integer>();
+
+        for (int i = nextSuccessor(index, 0); i != -1; i = nextSuccessor(index, i + 1)) {
+
+            edges.add(elements[i]);
+        }
+
+        return edges;
+    }
+
+    /**
+     * Gets a List<Integer> of all of the elements that the passed element has edges from.
+     *
+     * @param element the element to find edges from.
+     * @return the List of vertices that element has edges FROM.
+     */
+    public List<Integer> getEdgesFrom(Integer element) {
+
+        int index = findVertex(element);
+
+        List<Integer> edges = new LinkedList<Integer>();
+
+        for (int i = nextPredecessor(index, 0); i != -1; i = nextPredecessor(index, i + 1)) {
+
+            edges.add(elements[i]);
+        }
+
+        return edges;
+    }
+
+    /**
+     * Finds the lowest index, at least from, that the vertex at index has an edge to.
+     *
+     * @param index the index of the vertex the edges go from.
+     * @param from the lowest index to consider.
+     * @return the index of the next vertex that index has an edge to, -1 if there is none
+     *          or if index is out of bounds.
+     */
+    public int nextSuccessor(int index, int from) {
+
+        if (index < 0 || index >= capacity) {
+
+            return -1;
+        }
+
+        int row = index * capacity;
+
+        for (int i = Math.max(from, 0); i < capacity; i++) {
+
+            if (weights[row + i] != 0) {
+
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Finds the lowest index, at least from, that has an edge to the vertex at index.
+     *
+     * @param index the index of the vertex the edges go to.
+     * @param from the lowest index to consider.
+     * @return the index of the next vertex with an edge to index, -1 if there is none
+     *          or if index is out of bounds.
+     */
+    public int nextPredecessor(int index, int from) {
+
+        if (index < 0 || index >= capacity) {
+
+            return -1;
+        }
+
+        for (int i = Math.max(from, 0); i < capacity; i++) {
+
+            if (weights[i * capacity + index] != 0) {
+
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Passes the index of every vertex that the vertex at index has an edge to, lowest first, to action.
+     *
+     * @param index the index of the vertex the edges go from.
+     * @param action what to do with each index.
+     */
+    public void forEachSuccessor(int index, IntConsumer action) {
+
+        for (int i = nextSuccessor(index, 0); i != -1; i = nextSuccessor(index, i + 1)) {
+
+            action.accept(i);
+        }
+    }
+
+    /**
+     * Passes the index of every vertex with an edge to the vertex at index, lowest first, to action.
+     *
+     * @param index the index of the vertex the edges go to.
+     * @param action what to do with each index.
+     */
+    public void forEachPredecessor(int index, IntConsumer action) {
+
+        for (int i = nextPredecessor(index, 0); i != -1; i = nextPredecessor(index, i + 1)) {
+
+            action.accept(i);
+        }
+    }
+
+    /**
+     * Makes a cursor over the vertices that a vertex has edges to.
+     *
+     * @return a new NeighborCursor, reset it to a vertex before use.
+     */
+    public NeighborCursor successorCursor() {
+
+        return new NeighborCursor() {
+
+            @Override
+            protected int nextNeighbor(int vertex, int from) {
+
+                return nextSuccessor(vertex, from);
+            }
+        };
+    }
+
+    /**
+     * Makes a cursor over the vertices that have edges to a vertex.
+     *
+     * @return a new NeighborCursor, reset it to a vertex before use.
+     */
+    public NeighborCursor predecessorCursor() {
+
+        return new NeighborCursor() {
+
+            @Override
+            protected int nextNeighbor(int vertex, int from) {
+
+                return nextPredecessor(vertex, from);
+            }
+        };
+    }
+
+    /**
+     * Removes the edge between two vertices.
+     *
+     * @param element1 the first vertex element.
+     * @param element2 the second vertex element.
+     * @return true if the edge exists, false otherwise.
+     */
+    public boolean removeEdge(Integer element1, Integer element2) {
+
+        int index1 = findVertex(element1);
+        int index2 = findVertex(element2);
+
+        if (index1 != -1 && index2 != -1) {
+
+            return removeEdge(index1, index2);
+        }
+
+        return false;
+    }
+
+    /**
+     * Takes two vertex numbers and removes the edge.
+     * If it's directed, removes the edge from index1 to index 2.
+     *
+     * @param index1 the first vertex number.
+     * @param index2 the second vertex number.
+     * @return true if the edge exists, false otherwise.
+     */
+    public boolean removeEdge(int index1, int index2) {
+
+        if (inBounds(index1, index2) && weightAt(index1, index2) != 0) {
+
+            storeWeight(index1, index2, 0);
+
+            if (!directed) {
+                storeWeight(index2, index1, 0);
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Takes two elements and if an edge exists, removes it and returns the weight.
+     *
+     * @param element1 the first element with a vertex.
+     * @param element2 the second element with a vertex.
+     * @return the weight of the edge being popped, -1 if either vertex DNE.
+     */
+    public int popEdge(Integer element1, Integer element2) {
+
+        int index1 = findVertex(element1);
+        int index2 = findVertex(element2);
+
+        if (index1 != -1 && index2 != -1) {
+
+            return popEdge(index1, index2);
+        }
+
+        return -1;
+    }
+
+    /**
+     * Takes two vertex numbers and removes the edge between them, returns the weight of the edge
+     * (returning 0 if no edge). Returns -1 if the vertex numbers are invalid.
+     *
+     * @param index1 the number of vertex1.
+     * @param index2 the number of vertex2.
+     * @return the weight of the edge that got removed.
+     */
+    public int popEdge(int index1, int index2) {
+
+        if (inBounds(index1, index2)) {
+
+            int weight = weightAt(index1, index2);
+
+            storeWeight(index1, index2, 0);
+
+            if (!directed) {
+                storeWeight(index2, index1, 0);
+            }
+
+            return weight;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Tells whether index1 and index2 are both valid indices.
+     *
+     * @param index1 the first index.
+     * @param index2 the second index.
+     * @return true if both indices are in bounds, false otherwise.
+     */
+    protected boolean inBounds(int index1, int index2) {
+
+        return index1 > -1 && index2 > -1 && index1 < capacity && index2 < capacity;
+    }
+
+    /**
+     * Gets the weight of the edge from index1 to index2 without bounds checking.
+     *
+     * @param index1 the index of the from vertex.
+     * @param index2 the index of the to vertex.
+     * @return the weight of the edge, 0 if there is no edge.
+     */
+    protected int weightAt(int index1, int index2) {
+
+        return weights[index1 * capacity + index2];
+    }
+
+    /**
+     * Stores the weight of the edge from index1 to index2 without bounds checking.
+     * A weight of 0 clears the edge.
+     *
+     * @param index1 the index of the from vertex.
+     * @param index2 the index of the to vertex.
+     * @param weight the weight to store.
+     */
+    protected void storeWeight(int index1, int index2, int weight) {
+
+        weights[index1 * capacity + index2] = weight;
+    }
+
+    /**
+     * Makes the edge from index1 to index2 without bounds checking.
+     *
+     * @param index1 the index of the from vertex.
+     * @param index2 the index of the to vertex.
+     * @return a new IntEdge from index1 to index2, the empty edge if there is none.
+     */
+    protected Edge<Integer> edgeAt(int index1, int index2) {
+
+        int weight = weightAt(index1, index2);
+
+        if (weight == 0) {
+
+            return empty;
+        }
+
+        return new IntEdge<Integer>(weight, elements[index1], elements[index2]);
+    }
+
+    /**
+     * Returns a string representation of the edges in the graph.
+     *
+     * @return string representation of the edges in the graph.
+     */
+    public String printEdges() {
+
+        StringBuilder build = new StringBuilder();
+
+        //iterate to create the first row with the column titles
+        build.append("-");
+        for (int i = 0; i < capacity; i++) {
+
+            build.append("|").append(i);
+        }
+        build.append("|").append("\n");
+
+        //iterate to create the boundary row between the column names
+        for (int i = 0; i < capacity; i++) {
+
+            build.append("-|");
+        }
+        build.append("-|").append("\n");
+
+        //Iterate over actual edge weights
+        for (int i = 0; i < capacity; i++) {
+
+            build.append(i);
+
+            for (int j = 0; j < capacity; j++) {
+
+                build.append("|").append(weightAt(i, j));
+            }
+            build.append("|").append("\n");
+        }
+
+        //iterate to create the bottom boundary
+        for (int i = 0; i < capacity; i++) {
+
+            build.append("-|");
+        }
+        build.append("-|").append("\n");
+
+        return build.toString();
+    }
+
+    /**
+     * Returns a string representation of the vertices of the graph.
+     *
+     * @return the String representation of the vertices of the graph.
+     */
+    public String printVertices() {
+
+        StringBuilder build = new StringBuilder();
+
+        for (int i = occupied.nextSetBit(0); i != -1; i = occupied.nextSetBit(i + 1)) {
+
+            build.append("|").append(elements[i]);
+        }
+
+        return build.toString();
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder build = new StringBuilder();
+
+        build.append(this.printVertices());
+        build.append("\n");
+        build.append(this.printEdges());
+        build.append("\n\n");
+
+        return build.toString();
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+
+        return new Iterator<Integer>() {
+
+            /**
+             * The index of the next element, -1 once there are none.
+             */
+            private int next = occupied.nextSetBit(0);
+
+            @Override
+            public boolean hasNext() {
+
+                return next != -1;
+            }
+
+            @Override
+            public Integer next() {
+
+                if (next == -1) {
+
+                    return null;
+                }
+
+                int element = elements[next];
+                next = occupied.nextSetBit(next + 1);
+
+                return element;
+            }
+
+            @Override
+            public void remove() {
+
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
@@ -0,0 +1,197 @@
+package vt.posets.graph;
+
+import java.util.Arrays;
+
+/**
+ * An int to index map for IntAdjacencyMatrix, so that looking a vertex up
+ * doesn't box its element. Open addressing with linear probing, the table is
+ * kept at most half full.
+ *
+ * @author Ethan Gaebel (egaebel)
+ *
+ */
+class IntIndexMap {
+
+    //~Constants----------------------------------------------
+    private static final int MIN_TABLE = 16;
+
+    /**
+     * The value held in an empty slot, indices are never negative.
+     */
+    private static final int NONE = -1;
+
+    //~Data Fields--------------------------------------------
+    private int[] keys;
+
+    private int[] values;
+
+    private int size;
+
+    //~Constructors--------------------------------------------
+    /**
+     * Makes an empty map with room for expected keys before it grows.
+     *
+     * @param expected the number of keys expected.
+     */
+    IntIndexMap(int expected) {
+
+        int table = MIN_TABLE;
+        while (table < expected * 2) {
+
+            table <<= 1;
+        }
+
+        keys = new int[table];
+        values = new int[table];
+        Arrays.fill(values, NONE);
+    }
+
+    //~Methods-------------------------------------------------
+    /**
+     * Gets the index key maps to.
+     *
+     * @param key the key to look up.
+     * @return the index key maps to, -1 if it isn't in the map.
+     */
+    int get(int key) {
+
+        int mask = keys.length - 1;
+
+        for (int slot = slotFor(key, mask); values[slot] != NONE; slot = (slot + 1) & mask) {
+
+            if (keys[slot] == key) {
+
+                return values[slot];
+            }
+        }
+
+        return NONE;
+    }
+
+    /**
+     * Maps key to index, replacing whatever it mapped to before.
+     *
+     * @param key the key.
+     * @param index the index to map it to, at least 0.
+     */
+    void put(int key, int index) {
+
+        if ((size + 1) * 2 > keys.length) {
+
+            rehash(keys.length * 2);
+        }
+
+        int mask = keys.length - 1;
+        int slot = slotFor(key, mask);
+
+        while (values[slot] != NONE) {
+
+            if (keys[slot] == key) {
+
+                values[slot] = index;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = index;
+        size++;
+    }
+
+    /**
+     * Takes key out of the map. The keys after it in its probe run are shifted back
+     * so that lookups never have to step over a deleted slot.
+     *
+     * @param key the key to remove.
+     * @return the index key mapped to, -1 if it wasn't in the map.
+     */
+    int remove(int key) {
+
+        int mask = keys.length - 1;
+        int slot = slotFor(key, mask);
+
+        while (values[slot] != NONE && keys[slot] != key) {
+
+            slot = (slot + 1) & mask;
+        }
+
+        if (values[slot] == NONE) {
+
+            return NONE;
+        }
+
+        int removed = values[slot];
+        int gap = slot;
+
+        for (int next = (gap + 1) & mask; values[next] != NONE; next = (next + 1) & mask) {
+
+            //A key can fill the gap if the gap lies between its home slot and where it is now
+            int home = slotFor(keys[next], mask);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+
+        values[gap] = NONE;
+        size--;
+
+        return removed;
+    }
+
+    /**
+     * Makes a copy of this map that can be changed without changing this one.
+     *
+     * @return the copy.
+     */
+    IntIndexMap makeCopy() {
+
+        IntIndexMap copy = new IntIndexMap(0);
+        copy.keys = keys.clone();
+        copy.values = values.clone();
+        copy.size = size;
+
+        return copy;
+    }
+
+    /**
+     * Moves every key into a table of tableSize slots.
+     *
+     * @param tableSize the new table size, a power of two.
+     */
+    private void rehash(int tableSize) {
+
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+
+        keys = new int[tableSize];
+        values = new int[tableSize];
+        Arrays.fill(values, NONE);
+        size = 0;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+
+            if (oldValues[i] != NONE) {
+
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    /**
+     * Spreads key over the table so that runs of consecutive keys don't cluster.
+     *
+     * @param key the key.
+     * @param mask the table size - 1.
+     * @return the slot to start probing at.
+     */
+    private static int slotFor(int key, int mask) {
+
+        int hash = key * 0x9E3779B9;
+
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,90 @@
+package vt.posets.graph;
+
+/**
+ * A reusable cursor over the neighbors of one vertex at a time, by index.
+ * Point it at a vertex with reset, then call next until it returns -1.
+ * One cursor can be reset and walked any number of times without allocating.
+ *
+ * The graph hands these out (successorCursor, predecessorCursor, and the cover
+ * and closure variants on Poset), each one deciding which neighbors it walks.
+ * A cursor walks the graph as it is, so edges changed behind the cursor
+ * may or may not be seen.
+ *
+ * @author Ethan Gaebel (egaebel)
+ *
+ */
+public abstract class NeighborCursor {
+
+    //~Data Fields--------------------------------------------
+    /**
+     * The index of the vertex whose neighbors are being walked, -1 if there is none.
+     */
+    private int vertex;
+
+    /**
+     * The index to start looking for the next neighbor at, -1 once the neighbors have run out.
+     */
+    private int position;
+
+    //~Constructors--------------------------------------------
+    /**
+     * Creates a cursor that isn't pointing at any vertex yet.
+     */
+    protected NeighborCursor() {
+
+        vertex = -1;
+        position = -1;
+    }
+
+    //~Methods-------------------------------------------------
+    /**
+     * Points this cursor at the first neighbor of vertex.
+     *
+     * @param vertex the index of the vertex to walk the neighbors of.
+     * @return this cursor.
+     */
+    public NeighborCursor reset(int vertex) {
+
+        this.vertex = vertex;
+        this.position = 0;
+
+        return this;
+    }
+
+    /**
+     * Gets the index of the next neighbor.
+     *
+     * @return the index of the next neighbor, or -1 if there are no more.
+     */
+    public int next() {
+
+        if (position == -1) {
+
+            return -1;
+        }
+
+        int neighbor = nextNeighbor(vertex, position);
+        position = (neighbor == -1) ? -1 : neighbor + 1;
+
+        return neighbor;
+    }
+
+    /**
+     * Gets the index of the vertex this cursor is walking the neighbors of.
+     *
+     * @return the index of the vertex, -1 if the cursor hasn't been reset.
+     */
+    public int getVertex() {
+
+        return vertex;
+    }
+
+    /**
+     * Finds the lowest index, at least from, that is a neighbor of vertex.
+     *
+     * @param vertex the index of the vertex to find a neighbor of.
+     * @param from the lowest index to consider.
+     * @return the index of the neighbor, or -1 if there is none.
+     */
+    protected abstract int nextNeighbor(int vertex, int from);
+}
@@ -0,0 +1,559 @@
+package vt.posets.graph;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * An adjacency list style graph for graphs with few edges per vertex, which can be used
+ * to either represent a directed graph or an undirected graph. Undirected by default.
+ *
+ * Each vertex keeps a growable int array of the indices it has edges to, sorted, with the
+ * Edge objects alongside, and a sorted int array of the indices with edges to it.
+ * Memory is O(vertices + edges), where an AdjacencyMatrix is O(vertices^2), and looking an
+ * edge up is a binary search over one vertex's neighbors.
+ *
+ * @author Ethan Gaebel (egaebel)
+ *
+ * @param <T> The type of vertices held.
+ * @param <E extends Edge<T>> The type of edges being held.
+ */
+public class SparseGraph<T, E extends Edge<T> & Cloneable>
+        extends AbstractGraph<T, E> {
+
+    //~Constants----------------------------------------------
+    protected static final int DEFAULT_SIZE = 10;
+
+    /**
+     * The length a neighbor array is given when the first neighbor is added to it.
+     */
+    private static final int INITIAL_DEGREE = 4;
+
+    //~Data Fields--------------------------------------------
+    /**
+     * successors[i][0..outDegree[i]) are the indices that i has an edge to, in increasing order.
+     * Null until i gets its first edge.
+     */
+    private int[][] successors;
+
+    /**
+     * successorEdges[i][k] is the Edge from i to successors[i][k].
+     */
+    private Object[][] successorEdges;
+
+    /**
+     * The number of edges from each index.
+     */
+    private int[] outDegree;
+
+    /**
+     * predecessors[i][0..inDegree[i]) are the indices with an edge to i, in increasing order.
+     * Null until i gets its first edge.
+     */
+    private int[][] predecessors;
+
+    /**
+     * The number of edges to each index.
+     */
+    private int[] inDegree;
+
+    //~Constructors--------------------------------------------
+    /**
+     * Initializes an undirected graph with room for 10 vertices.
+     */
+    public SparseGraph() {
+
+        this(false, DEFAULT_SIZE);
+    }
+
+    /**
+     * Initializes a graph with room for 10 vertices.
+     *
+     * @param directed true if the graph is to be a directed graph, false otherwise.
+     */
+    public SparseGraph(boolean directed) {
+
+        this(directed, DEFAULT_SIZE);
+    }
+
+    /**
+     * Initializes a graph with room for size vertices, it grows past that as needed.
+     *
+     * @param directed indicates whether the graph should be directed or not.
+     * @param size the number of vertices to make room for.
+     */
+    public SparseGraph(boolean directed, int size) {
+
+        super(directed, size);
+
+        successors = new int[size][];
+        successorEdges = new Object[size][];
+        outDegree = new int[size];
+        predecessors = new int[size][];
+        inDegree = new int[size];
+    }
+
+    //~Methods-------------------------------------------------
+    /**
+     * Makes a copy of the graph and returns it. The copy has the same vertices at the same
+     * indices and the same Edge objects, but adding or removing vertices or edges in one of
+     * them doesn't change the other.
+     *
+     * @return the copy of the graph.
+     */
+    @Override
+    public SparseGraph<T, E> makeCopy() {
+
+        SparseGraph<T, E> copy = new SparseGraph<T, E>(directed, capacity);
+
+        for (int i = 0; i < capacity; i++) {
+
+            if (elements[i] != null) {
+
+                copy.placeVertex(i, elements[i]);
+            }
+            if (successors[i] != null) {
+
+                copy.successors[i] = successors[i].clone();
+                copy.successorEdges[i] = successorEdges[i].clone();
+            }
+            if (predecessors[i] != null) {
+
+                copy.predecessors[i] = predecessors[i].clone();
+            }
+        }
+
+        copy.outDegree = outDegree.clone();
+        copy.inDegree = inDegree.clone();
+
+        return copy;
+    }
+
+    /**
+     * Makes a SparseGraph with no vertices or edges, with the same capacity as this one,
+     * that is directed if this one is.
+     *
+     * @return the new, empty, SparseGraph.
+     */
+    @Override
+    public SparseGraph<T, E> makeEmptyCopy() {
+
+        return new SparseGraph<T, E>(directed, capacity);
+    }
+
+    /**
+     * Grows the graph to newCapacity vertices. Only the arrays indexed by vertex are copied,
+     * the neighbor arrays are left as they are.
+     *
+     * @param newCapacity the new number of vertex slots.
+     */
+    @Override
+    protected void resize(int newCapacity) {
+
+        super.resize(newCapacity);
+
+        successors = Arrays.copyOf(successors, newCapacity);
+        successorEdges = Arrays.copyOf(successorEdges, newCapacity);
+        outDegree = Arrays.copyOf(outDegree, newCapacity);
+        predecessors = Arrays.copyOf(predecessors, newCapacity);
+        inDegree = Arrays.copyOf(inDegree, newCapacity);
+    }
+
+    @Override
+    protected void clearEdgesOf(int index) {
+
+        //Take index out of the predecessors of everything it points to
+        for (int k = 0; k < outDegree[index]; k++) {
+
+            int to = successors[index][k];
+            if (to != index) {
+
+                removePredecessor(to, index);
+            }
+        }
+
+        //Take the edges to index out of everything that points to it
+        for (int k = 0; k < inDegree[index]; k++) {
+
+            int from = predecessors[index][k];
+            if (from != index) {
+
+                removeSuccessor(from, index);
+            }
+        }
+
+        successors[index] = null;
+        successorEdges[index] = null;
+        outDegree[index] = 0;
+        predecessors[index] = null;
+        inDegree[index] = 0;
+    }
+
+    /**
+     * Adds an edge between index1 and index2 of weight weight.
+     * If it's directed, adds the edge from index1 to index 2.
+     * Returns true if the edge doesn't exist, (the new edge was created) and false otherwise.
+     *
+     * @param index1 the number of the first vertex (the from vertex)
+     * @param index2 the number of the second vertex (the to vertex)
+     * @param weight the weight of the edge.
+     * @return true if an edge doesn't exist, false otherwise.
+     */
+    @Override
+    public boolean addEdge(int index1, int index2, int weight) {
+
+        if (index1 > -1 && index2 > -1
+                && index1 < capacity && index2 < capacity
+                && weightAt(index1, index2) == 0) {
+
+            Edge<T> newEdge = new IntEdge<T>(weight, elements[index1], elements[index2]);
+            storeEdge(index1, index2, newEdge);
+
+            if (!directed) {
+                storeEdge(index2, index1, newEdge);
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Adds the Edge edge to the graph at index1, index2.
+     *
+     * @param index1 the index of the from vertex.
+     * @param index2 the index of the to vertex.
+     * @param edge the Edge object to add to the graph.
+     * @return true if successful, false if index1 or index2 is out of bounds
+     *          or if edge == null
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean addEdge(int index1, int index2, E edge) {
+
+        if (index1 > -1 && index1 < capacity
+                && index2 > -1 && index2 < capacity && edge != null) {
+
+            storeEdge(index1, index2, edge);
+
+            if (!directed) {
+                E secondEdge = (E) edge.clone();
+                secondEdge.setFromAndTo(secondEdge.getTo(), secondEdge.getFrom());
+                storeEdge(index2, index1, secondEdge);
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets a list of all the edges, excluding empty edges.
+     *
+     * @return List of all existant edges in this graph.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Edge<T>> getEdges() {
+
+        List<Edge<T>> edges = new LinkedList<Edge<T>>();
+
+        for (int i = 0; i < capacity; i++) {
+
+            for (int k = 0; k < outDegree[i]; k++) {
+
+                edges.add((Edge<T>) successorEdges[i][k]);
+            }
+        }
+
+        return edges;
+    }
+
+    @Override
+    public int nextSuccessor(int index, int from) {
+
+        if (index < 0 || index >= capacity) {
+
+            return -1;
+        }
+
+        for (int k = lowerBound(successors[index], outDegree[index], from); k < outDegree[index]; k++) {
+
+            if (((Edge<?>) successorEdges[index][k]).getWeight() != 0) {
+
+                return successors[index][k];
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int nextPredecessor(int index, int from) {
+
+        if (index < 0 || index >= capacity) {
+
+            return -1;
+        }
+
+        for (int k = lowerBound(predecessors[index], inDegree[index], from); k < inDegree[index]; k++) {
+
+            int predecessor = predecessors[index][k];
+            if (weightAt(predecessor, index) != 0) {
+
+                return predecessor;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Takes two vertex numbers and removes the edge.
+     * If it's directed, removes the edge from index1 to index 2.
+     * Returns true if the edge exists, false otherwise.
+     *
+     * @param index1 the first vertex number.
+     * @param index2 the second vertex number.
+     * @return true if the edge exists, false otherwise.
+     */
+    @Override
+    public boolean removeEdge(int index1, int index2) {
+
+        if (index1 > -1 && index1 < capacity && index2 > -1
+                && index2 < capacity && weightAt(index1, index2) != 0) {
+
+            storeEdge(index1, index2, null);
+
+            if (!directed) {
+                storeEdge(index2, index1, null);
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Takes two vertex numbers and removes the edge between them, returns the weight of the edge
+     * (returning 0 if no edge).
+     * If it's a directed graph, then returns the weight of the edge from index1 to index2
+     * Returns -1 if the vertex numbers are invalid.
+     *
+     * @param index1 the number of vertex1.
+     * @param index2 the number of vertex2.
+     * @return the weight of the edge that got removed.
+     */
+    @Override
+    public int popEdge(int index1, int index2) {
+
+        if ((index1 > -1 && index1 < capacity) && (index2 > -1 && index2 < capacity)) {
+
+            int weight = weightAt(index1, index2);
+
+            storeEdge(index1, index2, null);
+
+            if (!directed) {
+                storeEdge(index2, index1, null);
+            }
+
+            return weight;
+        }
+
+        return -1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Edge<T> edgeAt(int index1, int index2) {
+
+        int k = lowerBound(successors[index1], outDegree[index1], index2);
+
+        if (k < outDegree[index1] && successors[index1][k] == index2) {
+
+            return (Edge<T>) successorEdges[index1][k];
+        }
+
+        return empty;
+    }
+
+    /**
+     * Stores edge as the edge from index1 to index2 without bounds checking.
+     * Storing null or an EmptyEdge removes the edge.
+     *
+     * @param index1 the index of the from vertex.
+     * @param index2 the index of the to vertex.
+     * @param edge the edge to store, null to remove the edge.
+     */
+    private void storeEdge(int index1, int index2, Edge<T> edge) {
+
+        if (edge == null || edge instanceof EmptyEdge<?>) {
+
+            if (removeSuccessor(index1, index2)) {
+
+                removePredecessor(index2, index1);
+            }
+
+            return;
+        }
+
+        int k = lowerBound(successors[index1], outDegree[index1], index2);
+
+        //Replace an edge that's already there
+        if (k < outDegree[index1] && successors[index1][k] == index2) {
+
+            successorEdges[index1][k] = edge;
+            return;
+        }
+
+        //Insert the new successor at k
+        if (successors[index1] == null) {
+
+            successors[index1] = new int[INITIAL_DEGREE];
+            successorEdges[index1] = new Object[INITIAL_DEGREE];
+        }
+        else if (outDegree[index1] == successors[index1].length) {
+
+            successors[index1] = Arrays.copyOf(successors[index1], outDegree[index1] * 2);
+            successorEdges[index1] = Arrays.copyOf(successorEdges[index1], outDegree[index1] * 2);
+        }
+
+        int moved = outDegree[index1] - k;
+        System.arraycopy(successors[index1], k, successors[index1], k + 1, moved);
+        System.arraycopy(successorEdges[index1], k, successorEdges[index1], k + 1, moved);
+        successors[index1][k] = index2;
+        successorEdges[index1][k] = edge;
+        outDegree[index1]++;
+
+        //Insert the new predecessor
+        k = lowerBound(predecessors[index2], inDegree[index2], index1);
+
+        if (predecessors[index2] == null) {
+
+            predecessors[index2] = new int[INITIAL_DEGREE];
+        }
+        else if (inDegree[index2] == predecessors[index2].length) {
+
+            predecessors[index2] = Arrays.copyOf(predecessors[index2], inDegree[index2] * 2);
+        }
+
+        System.arraycopy(predecessors[index2], k, predecessors[index2], k + 1, inDegree[index2] - k);
+        predecessors[index2][k] = index1;
+        inDegree[index2]++;
+    }
+
+    /**
+     * Takes to out of the successors of from, along with its edge.
+     *
+     * @param from the index the edge goes from.
+     * @param to the index the edge goes to.
+     * @return true if to was a successor of from, false otherwise.
+     */
+    private boolean removeSuccessor(int from, int to) {
+
+        int k = lowerBound(successors[from], outDegree[from], to);
+
+        if (k < outDegree[from] && successors[from][k] == to) {
+
+            int moved = outDegree[from] - k - 1;
+            System.arraycopy(successors[from], k + 1, successors[from], k, moved);
+            System.arraycopy(successorEdges[from], k + 1, successorEdges[from], k, moved);
+            outDegree[from]--;
+            successorEdges[from][outDegree[from]] = null;
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Takes from out of the predecessors of to.
+     *
+     * @param to the index the edge goes to.
+     * @param from the index the edge goes from.
+     */
+    private void removePredecessor(int to, int from) {
+
+        int k = lowerBound(predecessors[to], inDegree[to], from);
+
+        if (k < inDegree[to] && predecessors[to][k] == from) {
+
+            System.arraycopy(predecessors[to], k + 1, predecessors[to], k, inDegree[to] - k - 1);
+            inDegree[to]--;
+        }
+    }
+
+    /**
+     * Finds the first position in the sorted neighbors[0..count) holding a value of at least key.
+     *
+     * @param neighbors a sorted array of indices, may be null if count is 0.
+     * @param count the number of indices in use.
+     * @param key the value to search for.
+     * @return the position of the first value >= key, count if there is none.
+     */
+    private static int lowerBound(int[] neighbors, int count, int key) {
+
+        int low = 0;
+        int high = count;
+
+        while (low < high) {
+
+            int mid = (low + high) >>> 1;
+            if (neighbors[mid] < key) {
+
+                low = mid + 1;
+            }
+            else {
+
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Returns a string representation of the edges in the graph, one line per vertex
+     * listing the indices it has edges to, along with the edge weights.
+     *
+     * @return string representation of the edges in the graph.
+     */
+    @Override
+    public String printEdges() {
+
+        StringBuilder build = new StringBuilder();
+
+        for (int i = 0; i < capacity; i++) {
+
+            if (outDegree[i] > 0) {
+
+                build.append(i).append(" ->");
+                for (int k = 0; k < outDegree[i]; k++) {
+
+                    build.append(" ").append(successors[i][k])
+                        .append("(").append(((Edge<?>) successorEdges[i][k]).printEdgeWeight()).append(")");
+                }
+                build.append("\n");
+            }
+        }
+
+        return build.toString();
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder build = new StringBuilder();
+
+        build.append(this.printVertices());
+        build.append("\n");
+        build.append(this.printEdges());
+        build.append("\n\n");
+
+        return build.toString();
+    }
+}
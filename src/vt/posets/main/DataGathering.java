@@ -137,8 +137,7 @@ public class DataGathering {
 						System.out.println("Running Algorithm with Posets with " + i + " starting nodes and " + j + " ending nodes");
 						for (Poset<Integer> poset : posets) {
 							
-							ArrayList<ArrayList<String>> parsedLinearOrders = PosetAlgorithms.runPruesseRuskey(poset, elements.size(), "DataCollectionOnAlgorithmTwo");
-							ArrayList<ArrayList<Integer>> linearOrders = PosetAlgorithms.parsedPruesseRuskeyToInteger(parsedLinearOrders);
+							ArrayList<ArrayList<Integer>> linearOrders = PosetAlgorithms.runPruesseRuskeyToInteger(poset, elements.size(), "DataCollectionOnAlgorithmTwo");
 							
 							//~ALGORITHM ONE--------------------------------------------------------------------------------
 							//System.out.println("Running Algorithm One");
@@ -269,8 +268,7 @@ public class DataGathering {
 						System.out.println("Running Algorithm with Posets with " + i + " starting nodes and " + j + " ending nodes");
 						for (Poset<Integer> poset : posets) {
 							
-							ArrayList<ArrayList<String>> parsedLinearOrders = PosetAlgorithms.runPruesseRuskey(poset, elements.size(), "DataCollectionOnAlgorithmTwo");
-							ArrayList<ArrayList<Integer>> linearOrders = PosetAlgorithms.parsedPruesseRuskeyToInteger(parsedLinearOrders);
+							ArrayList<ArrayList<Integer>> linearOrders = PosetAlgorithms.runPruesseRuskeyToInteger(poset, elements.size(), "DataCollectionOnAlgorithmTwo");
 							
 							long begTime = System.currentTimeMillis();
 							Poset<Integer> generatedPoset = PosetAlgorithms.generatingPosetOne(linearOrders, prTime);
@@ -348,8 +346,7 @@ public class DataGathering {
 System.out.println("yada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yadyada yada yada");
 System.out.println("test poset is...................\n" + poset.toString() + "\n....................................");
 System.out.println("with cover edges: \n" + poset.printCoverEdges() + "\n...................................................\n\n");
-							ArrayList<ArrayList<String>> parsedLinearOrders = PosetAlgorithms.runPruesseRuskey(poset, elements.size(), "DataCollectionOnAlgorithmTwo");
-							ArrayList<ArrayList<Integer>> linearOrders = poset.applyMapping(parsedLinearOrders);
+							ArrayList<ArrayList<Integer>> linearOrders = PosetAlgorithms.runPruesseRuskeyMapped(poset, elements.size(), "DataCollectionOnAlgorithmTwo");
 							//ArrayList<ArrayList<Integer>> linearOrders = PosetAlgorithms.parsedPruesseRuskeyToInteger(parsedLinearOrders);
 							
 							long begTime = System.currentTimeMillis();
@@ -427,8 +424,7 @@ System.out.println("with cover edges: \n" + poset.printCoverEdges() + "\n.......
 				System.out.println("Running Algorithm with Posets having 2-Kites");
 				for (Poset<Integer> poset : posets) {
 					
-					ArrayList<ArrayList<String>> parsedLinearOrders = PosetAlgorithms.runPruesseRuskey(poset, elements.size(), "DataCollectionOnKitePosetCoverAlgorithm");
-					ArrayList<ArrayList<Integer>> linearOrders = PosetAlgorithms.parsedPruesseRuskeyToInteger(parsedLinearOrders);
+					ArrayList<ArrayList<Integer>> linearOrders = PosetAlgorithms.runPruesseRuskeyToInteger(poset, elements.size(), "DataCollectionOnKitePosetCoverAlgorithm");
 					
 					long begTime = System.currentTimeMillis();
 					@SuppressWarnings("unused")
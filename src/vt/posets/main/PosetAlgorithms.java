@@ -1,29 +1,31 @@
 package vt.posets.main;
 
-import java.io.BufferedReader;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.PrintWriter;
+import java.math.BigInteger;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Random;
-
-import vt.posets.graph.AdjacencyMatrix;
+import java.util.SplittableRandom;
+
+import vt.posets.extensions.ApproximateCount;
+import vt.posets.extensions.ApproximateCounter;
+import vt.posets.extensions.GeneratingPosetBuilder;
+import vt.posets.extensions.LinearExtensions;
+import vt.posets.extensions.LinearOrderSet;
+import vt.posets.extensions.VerificationMode;
+import vt.posets.graph.BitMatrix;
+import vt.posets.graph.Graph;
+import vt.posets.graph.GraphBackend;
 import vt.posets.graph.Edge;
+import vt.posets.matching.LinearOrderGraphBuilder;
 import vt.posets.matching.LinearOrderVertex;
 import vt.posets.matching.MyEdmondsMatching;
 import vt.posets.matching.PosetEdge;
-import vt.posets.poset.ClosureEdge;
-import vt.posets.poset.CoverEdge;
 import vt.posets.poset.Poset;
+import vt.posets.poset.PruesseRuskeyEncoding;
 
 /**
  * A class containing poset algorithms.
@@ -35,6 +37,22 @@ import vt.posets.poset.Poset;
 public class PosetAlgorithms<T extends Comparable<T>> {
 
 	//~Constants----------------------------------------------
+	/**
+	 * The seed of the random draws behind VerificationMode.ESTIMATE, fixed so that checks are repeatable.
+	 */
+	private static final long ESTIMATE_SEED = 0x5EEDL;
+
+	/**
+	 * The number of standard errors out the bounds of the estimate behind VerificationMode.ESTIMATE are.
+	 * A count outside them fails a poset without the exact count, so they are much wider than
+	 * ApproximateCounter.DEFAULT_Z's, so that a right poset is hardly ever failed.
+	 */
+	private static final double ESTIMATE_Z = 6;
+
+	/**
+	 * Runs the Pruesse & Ruskey C program, shared so that the number of copies running at once is bounded.
+	 */
+	private static final PruesseRuskeyRunner PRUESSE_RUSKEY = new PruesseRuskeyRunner();
 
 	//~Data Fields--------------------------------------------
 
@@ -271,113 +289,62 @@ poset = poset.transitiveClosure();
 	 */
 	public static <T extends Comparable<T>> Poset<T> generatingPosetOne(List<ArrayList<T>> linearOrders, boolean timePruesseRuskey) {
 		
-		//Ensure there actually are linear orders
-		if (linearOrders.size() > 0) {
-			
-			ClosureEdge<T> edge;
-			Poset<T> p = new Poset<T>(linearOrders.get(0).size());
-			Iterator<ArrayList<T>> orderIt = linearOrders.iterator();
-			HashMap<T, Integer> vertexMap = new HashMap<T, Integer>();
-			HashSet<EdgeIndexWrapper<T>> edgeSet = new HashSet<EdgeIndexWrapper<T>>();
-			HashSet<EdgeIndexWrapper<T>> finalEdgeSet = new HashSet<EdgeIndexWrapper<T>>();
-			
-			//Iterate over the linear orders
-			//O(m)
-			//Total: O(2mn^2)
-			int k = 0;
-			while(orderIt.hasNext()) {
-
-				ArrayList<T> linearOrder = orderIt.next();
-
-				//O(n)
-				//Total: O(n^2)
-				for (int i = 0; i < linearOrder.size(); i++) {
-	
-					//O(n) - i
-					for (int j = i; j < linearOrder.size(); j++) {
+		LinearOrderSet<T> orders = toOrderSet(linearOrders, false);
+		
+		return (orders == null) ? null : generatingPosetOne(orders, timePruesseRuskey);
+	}
 	
-						//If on first run, add vertices to poset
-						if (i == 0 && k == 0) {
-							
-							p.addVertex(linearOrder.get(j));
-							vertexMap.put(linearOrder.get(j), j);
-						}
-
-						//If the vertices are adjacent, then add a Cover Edge
-						if (i + 1 == j) {
-
-							edge = new CoverEdge<T>(1, linearOrder.get(i), linearOrder.get(j));
-						}
-						//Non-adjacent, add a Closure Edge
-						else {
-
-							edge = new ClosureEdge<T>(1, linearOrder.get(i), linearOrder.get(j));
-						}
-
-						edgeSet.add(new EdgeIndexWrapper<T>(vertexMap.get(linearOrder.get(i)), vertexMap.get(linearOrder.get(j)), edge));
-					}
-				}
+	/**
+	 * generatingPosetOne on linear orders kept as permutations of ints.
+	 * 
+	 * Each linear order's comparabilities are ANDed into one bit matrix through its positions,
+	 * word by word, leaving the relations every linear order agrees on. Chunks of the linear orders
+	 * are intersected in parallel and merged, stopping early if they leave an antichain.
+	 * The cover edges are that relation's transitive reduction, also worked out 64 columns at a time.
+	 * 
+	 *  @param orders the linear orders.
+	 *  @param timePruesseRuskey boolean flag, if true the pruesse ruskey algorithm 
+	 *  		being run for verification will be timed and have its time outputted.
+	 *  @return a poset generated from the passed in linearOrders.
+	 *  
+	 *  Big O analysis:
+	 *  O(mn^2 / 64) for the intersection and O(n^3 / 64) for the reduction,
+	 *  with m = orders.size() and n = orders.length(), making no edge objects
+	 */
+	public static <T extends Comparable<T>> Poset<T> generatingPosetOne(LinearOrderSet<T> orders, boolean timePruesseRuskey) {
+		
+		//Ensure there actually are linear orders
+		if (orders.size() > 0) {
+			
+			int n = orders.length();
+			
+			//The poset indices are the ids
+			Poset<T> p = new Poset<T>(n);
+			for (int id = 0; id < n; id++) {
 				
-				//O(n)
-				//If first run, add whole set
-				if (finalEdgeSet.isEmpty()) {
+				p.addVertex(orders.getElement(id));
+			}
+			
+			//O(mn^2 / 64), spread over the common pool
+			BitMatrix relation = orders.comparabilitiesParallel();
+			//O(n^3 / 64)
+			BitMatrix covers = relation.transitiveReduction();
+
+			//Add the intersection of edges to the poset, each element is also related to itself
+			//O(n^2)
+			for (int a = 0; a < n; a++) {
 				
-					finalEdgeSet.addAll(edgeSet);
-				}
-				else {
-
-					//Essentially the retainAll operation on sets, except CoverEdges are taken in favor of ClosureEdges
-					Iterator<EdgeIndexWrapper<T>> it = edgeSet.iterator();
-					while (it.hasNext()) {
-						
-						EdgeIndexWrapper<T> element = it.next();
-
-						//Check for containment and remove if not
-						if (!finalEdgeSet.contains(element)) {
-
-							finalEdgeSet.remove(element);
-						}
-						//convert ClosureEdge to CoverEdge if one is found
-						else if (element.getEdge() instanceof CoverEdge<?>) {
-
-							finalEdgeSet.remove(element);				
-							finalEdgeSet.add(element);
-						}
+				for (int b = relation.nextSetBit(a, 0); b != -1; b = relation.nextSetBit(a, b + 1)) {
+					
+					if (covers.get(a, b)) {
 						
+						p.addEdge(a, b, 1);
 					}
-					it = finalEdgeSet.iterator();
-					while(it.hasNext()) {
+					else {
 						
-						EdgeIndexWrapper<T> element = it.next();
-						
-						if (!edgeSet.contains(element)) {
-							
-							it.remove();
-						}
+						p.addClosureEdge(a, b, 1);
 					}
 				}
-
-				edgeSet = new HashSet<EdgeIndexWrapper<T>>();
-				k++;
-			}
-						
-
-			//Add the intersection of edges to the poset
-			Iterator<EdgeIndexWrapper<T>> edgeIt = finalEdgeSet.iterator();
-			EdgeIndexWrapper<T> wrap;
-			//O(n^2) (worst case)
-			while (edgeIt.hasNext()) {
-				
-				wrap = edgeIt.next();
-				edge = wrap.getEdge();
-				if (edge instanceof CoverEdge<?>) {
-					
-					p.addEdge(wrap.getFromIndex(), wrap.getToIndex(), edge);
-				}
-				else {					
-					
-					p.addClosureEdge(wrap.getFromIndex(), wrap.getToIndex(), edge);
-				}
 			}
 
 			//Verify with Pruesse & Ruskey Algorithm
@@ -385,7 +352,7 @@ poset = poset.transitiveClosure();
 			if (timePruesseRuskey) {
 				
 				long begTime = System.currentTimeMillis();
-				if (prLinearExtensionsCheck(linearOrders, p, false)) {
+				if (prLinearExtensionsCheck(orders, p, false)) {
 					
 					long endTime = System.currentTimeMillis();
 					System.out.println("Pruesse & Ruskey time == " + (endTime - begTime));
@@ -395,7 +362,7 @@ poset = poset.transitiveClosure();
 			}
 			else {
 				
-				if (prLinearExtensionsCheck(linearOrders, p, false)) {
+				if (prLinearExtensionsCheck(orders, p, false)) {
 					
 					return p;
 				}
@@ -417,69 +384,64 @@ poset = poset.transitiveClosure();
 	 * 			True to suppress the output, false to output it to stdout.
 	 */
 	public static <T extends Comparable<T>> Poset<T> generatingPosetTwo(List<ArrayList<T>> linearOrders, boolean timePruesseRuskey, boolean suppressErrors) {
-
-		Poset<T> p;
 		
-		Iterator<ArrayList<T>> it = linearOrders.iterator();
-		if (it.hasNext()) {
+		LinearOrderSet<T> orders = toOrderSet(linearOrders, suppressErrors);
 		
-			p = new Poset<T>(it.next());
-			p = p.transitiveClosure();
-		}
-		else {
+		return (orders == null) ? null : generatingPosetTwo(orders, timePruesseRuskey, suppressErrors);
+	}
+	
+	/**
+	 * generatingPosetTwo on linear orders kept as permutations of ints.
+	 * The linear orders are fed one at a time to a GeneratingPosetBuilder, which ANDs each one's
+	 * comparabilities into the running candidate, so no Poset is built or edited per linear order.
+	 * The candidate is the intersection of the linear orders, the only poset that can generate them,
+	 * and it generates them if it has as many linear extensions as there are linear orders.
+	 * A linear order passed in twice is rejected, as prLinearExtensionsCheck and generatingPosetOne do.
+	 * 
+	 * @param orders the linear orders.
+	 * @param suppressErrors boolean falg indicating whether to suppressError output to stdout. 
+	 * 			True to suppress the output, false to output it to stdout.
+	 * 
+	 * Big O analysis:
+	 * O(mn^2 / 64) for the linear orders and O(n^3 / 64) for the reduction,
+	 * with m = orders.size() and n = orders.length(), plus generating at most m + 1 extensions
+	 */
+	public static <T extends Comparable<T>> Poset<T> generatingPosetTwo(LinearOrderSet<T> orders, boolean timePruesseRuskey, boolean suppressErrors) {
+
+		if (orders.size() == 0) {
 			
 			return null;
 		}
-System.out.println("initial Poset p == \n" + p.toString());
-System.out.println("with cover edges == \n" + p.printCoverEdges());
-		//Iterate over all Linear Orders passed in
-		while(it.hasNext()) {
-
-			List<T> linearOrder = it.next();
-			Poset<T> tempPoset = new Poset<T>(linearOrder);
-
-			for (CoverEdge<T> edge : tempPoset.getCoverEdges()) {
-
-				//If inverse edge is present, it must be removed
-				if (p.hasClosureEdge(edge.getTo(), edge.getFrom()) 
-						|| p.hasEdge(edge.getTo(), edge.getFrom())) {
-System.out.println("removing edge at indices... " + p.getIndexOf(edge.getTo()) + ",,,, " + p.getIndexOf(edge.getFrom()));
-					p.removeEdge(edge.getTo(), edge.getFrom());
-				}
-				
-				//If edge is present but is not cover edge, swap it out
-				if (p.hasClosureEdge(edge.getFrom(), edge.getTo())) {
-					
-					p.swapEdgeToCover(edge.getFrom(), edge.getTo());
-System.out.println("SWAPPPPINGG edge at indices... " + p.getIndexOf(edge.getFrom()) + ",,,, " + p.getIndexOf(edge.getTo()));
-				}
-			}
+		
+		GeneratingPosetBuilder<T> builder = new GeneratingPosetBuilder<T>(orders.getElements());
+		int[] ids = new int[orders.length()];
+		for (int k = 0; k < orders.size(); k++) {
+			
+			builder.accept(orders.getIds(k, ids));
 		}
-p = p.transitiveReduction();
-p = p.transitiveClosure();
-		//The below statements do the same things, 
-		//the first one simply times the Pruesse & Ruskey algorithm and prints its time
+		
+		//The verification generates at most one extension more than there are linear orders,
+		//timing it if asked to
+		long begTime = System.currentTimeMillis();
+		boolean generating = builder.isGenerating();
 		if (timePruesseRuskey) {
 			
-			long begTime = System.currentTimeMillis();
-			//Check gamma against linear extensions
-			if (prLinearExtensionsCheck(linearOrders, p, suppressErrors)) {
-				
-				long endTime = System.currentTimeMillis();
-				System.out.println("Pruesse & Ruskey Time == " + (endTime - begTime));
-				return p;
-			}
+			long endTime = System.currentTimeMillis();
+			System.out.println("Linear Extensions Verification Time == " + (endTime - begTime));
+		}
+		
+		if (generating) {
 			
+			return builder.getPoset();
 		}
-		else {
-System.out.println("LINEAR ORDERS PASSED TO GENERATING POSET TWO%^%^%^%^%^%^%^%^%^&%^&%^&%^&%&%^&%^&%^&%&^%&^&^%&%&^%^&%^&^&%");
-System.out.println(linearOrders);
-System.out.println(p.toString());
-			//Check gamma against linear extensions
-			if (prLinearExtensionsCheck(linearOrders, p, suppressErrors)) {
-				
-				return p;
-			}	
+		
+		if (!suppressErrors) {
+			if (builder.distinctSize() != builder.size()) {
+				System.out.println("The same linear order was passed in more than once");
+			}
+			else {
+				System.out.println("The intersection of the linear orders has more than " + builder.size() + " linear extensions");
+			}
 		}
 		
 		return null;
@@ -492,48 +454,86 @@ System.out.println(p.toString());
 	 * @return a list of Posets that makes up an optimal Poset Cover with the predicate Kite.
 	 * 			Represented as List<Poset<T>>.
 	 */
-	@SuppressWarnings("unchecked")
 	public static <T extends Comparable<T>> List<Poset<T>> generatingKitePosetCover(List<ArrayList<T>> linearOrders) {
 		
-		AdjacencyMatrix<LinearOrderVertex<T>, PosetEdge<LinearOrderVertex<T>, T>> matrix = new AdjacencyMatrix<LinearOrderVertex<T>, PosetEdge<LinearOrderVertex<T>, T>>(linearOrders.get(0).size());
-		List<Poset<T>> posetCover = new ArrayList<Poset<T>>();
+		//Each linear order can only be paired with the n - 1 orders one adjacent swap away
+		//so there are at most m(n - 1) edges, few enough for a sparse graph once m is large.
+		long edges = (long) linearOrders.size() * (linearOrders.get(0).size() - 1);
+		
+		return generatingKitePosetCover(linearOrders, GraphBackend.forDensity(linearOrders.size(), edges));
+	}
+
+	/**
+	 * Takes in linear orders kept as permutations of ints and returns a List of Posets that make up
+	 * an optimal Poset Cover with the predicate Kite.
+	 * 
+	 * @param orders the linear orders.
+	 * @return a list of Posets that makes up an optimal Poset Cover with the predicate Kite.
+	 * 			Represented as List<Poset<T>>.
+	 */
+	public static <T extends Comparable<T>> List<Poset<T>> generatingKitePosetCover(LinearOrderSet<T> orders) {
+		
+		long edges = (long) orders.size() * (orders.length() - 1);
+		
+		return generatingKitePosetCover(orders, GraphBackend.forDensity(orders.size(), edges));
+	}
+
+	/**
+	 * Takes in linear orders kept as permutations of ints and returns a List of Posets that make up
+	 * an optimal Poset Cover with the predicate Kite, the graph of linear orders stored as backend says.
+	 * Each vertex of the graph holds its own list of elements.
+	 * 
+	 * @param orders the linear orders.
+	 * @param backend the way to store the graph of linear orders.
+	 * @return a list of Posets that makes up an optimal Poset Cover with the predicate Kite.
+	 * 			Represented as List<Poset<T>>.
+	 */
+	public static <T extends Comparable<T>> List<Poset<T>> generatingKitePosetCover(LinearOrderSet<T> orders, GraphBackend backend) {
+		
+		return generatingKitePosetCover(orders.toLists(), orders, backend);
+	}
+
+	/**
+	 * Takes in a List of linear orders and returns a List of Posets that make up an optimal Poset Cover with the predicate Kite.
+	 * The graph of linear orders the matching is run on is stored as backend says.
+	 * 
+	 * @param linearOrders List of linearOrders, represented as List<ArrayList<T>>
+	 * @param backend the way to store the graph of linear orders.
+	 * @return a list of Posets that makes up an optimal Poset Cover with the predicate Kite.
+	 * 			Represented as List<Poset<T>>.
+	 */
+	public static <T extends Comparable<T>> List<Poset<T>> generatingKitePosetCover(List<ArrayList<T>> linearOrders, GraphBackend backend) {
+		
+		return generatingKitePosetCover(linearOrders, toOrderSet(linearOrders, true), backend);
+	}
+
+	/**
+	 * generatingKitePosetCover with the linear orders also kept as permutations of ints, so pairs
+	 * that can't be generated by a poset are passed over before a PosetEdge is made for them.
+	 * The graph of linear orders is built by a LinearOrderGraphBuilder on the common pool.
+	 * 
+	 * @param linearOrders List of linearOrders, represented as List<ArrayList<T>>
+	 * @param orders the same linear orders in the same order, null to try every pair.
+	 * @param backend the way to store the graph of linear orders.
+	 * @return a list of Posets that makes up an optimal Poset Cover with the predicate Kite.
+	 * 			Represented as List<Poset<T>>.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T extends Comparable<T>> List<Poset<T>> generatingKitePosetCover(List<ArrayList<T>> linearOrders, LinearOrderSet<T> orders, GraphBackend backend) {
 		
 		//m = |linearOrders|
 		//n = |linearOrders[0]|
 		
-		//O(m)
-		//Add all linear orders to the graph
-		for (ArrayList<T> linearOrder : linearOrders) {
-			
-			//matrix.addVertex(new LinearOrderVertex<T>(linearOrder));
-			matrix.addVertex(new LinearOrderVertex<T>(linearOrder));
-		}
-		
+		//O(m^2n / threads) to filter the pairs, O(n^2) more for each of the O(mn) pairs left
+		//Each unordered pair is looked at once, both directions of its edge share the poset
+		Graph<LinearOrderVertex<T>, PosetEdge<LinearOrderVertex<T>, T>> matrix 
+				= new LinearOrderGraphBuilder<T>(linearOrders, orders, backend).build();
+		List<Poset<T>> posetCover = new ArrayList<Poset<T>>();
 		PosetEdge<LinearOrderVertex<T>, T> posetEdge;
-		//O(m^3n^2)
-		//Iterate over all possible vertex combinations
-		for (int i = 0; i < matrix.getCapacity(); i++) {
-			
-			//O(m)
-			for (int j = 0; j < matrix.getCapacity(); j++) {
-				
-				//If there are vertices for these....and the orders aren't the same
-				if (i != j && matrix.getVertex(i) != null && matrix.getVertex(j) != null) {
-				
-					//If there is a generating poset for the two linear orders
-					//O(mn^2)
-					posetEdge = new PosetEdge<LinearOrderVertex<T>, T>(matrix.getVertex(i), matrix.getVertex(j));
-					if (posetEdge.getGeneratingPoset() != null) {
-						
-						matrix.addEdge(i, j, posetEdge);
-					}
-				}
-			}
-		}
 
 		//O(m^4)
 		//Take the maximum matching
-		AdjacencyMatrix<LinearOrderVertex<T>, PosetEdge<LinearOrderVertex<T>, T>> matchedGraph = MyEdmondsMatching.maximumMatching(matrix);
+		Graph<LinearOrderVertex<T>, PosetEdge<LinearOrderVertex<T>, T>> matchedGraph = MyEdmondsMatching.maximumMatching(matrix);
 
 		//O(m^2) (because adjacency matrix implementation)
 		//Get all of the edges from the maxmimum matching
@@ -571,9 +571,9 @@ System.out.println(p.toString());
 	
 	/**
 	 * Takes in a Poset and a list of linear orders parsed from the Pruesse and Ruskey program, so the linear orders are strings, and maps the values stored in
-	 * string values to the corresponding string values depending on the curMapping contained in the poset object.
+	 * string values to the corresponding string values depending on the poset's Pruesse & Ruskey encoding.
 	 * 
-	 * @param poset The Poset containing the current mapping to apply to the parsedLinearOrders.
+	 * @param poset The Poset whose encoding's mapping is applied to the parsedLinearOrders.
 	 * @param parsedLinearOrders the linear orders parsed from the Pruesse & Ruskey program output to apply the mapping to.
 	 * @param suppressErrors boolean flag indicating whether error messages to stdout should be suppressed. True to suppress, false otherwise.
 	 * @return A list of linear orders that reflect the mapping in poset.
@@ -582,7 +582,7 @@ System.out.println(p.toString());
 		
 		ArrayList<ArrayList<String>> mappedParsedLinearOrders = new ArrayList<ArrayList<String>>();
 		ArrayList<String> mappedParsedLinearOrder;
-		Map<Integer, Integer> mapping = poset.getCurMapping();
+		PruesseRuskeyEncoding encoding = poset.pruesseRuskeyEncoding();
 		
 		for (ArrayList<String> parsedLinearOrder : parsedLinearOrders) {
 			
@@ -591,7 +591,7 @@ System.out.println(p.toString());
 				
 				//Map the value in the parsed linear order to its corresponding element in the poset, making necessary conversions
 				String parsedLinearOrderElement = parsedLinearOrder.get(i);
-				Integer mapped = mapping.get(Integer.parseInt(parsedLinearOrderElement));
+				int mapped = encoding.indexOf(Integer.parseInt(parsedLinearOrderElement));
 				String strVertex = String.valueOf(poset.getVertex(mapped));
 				mappedParsedLinearOrder.add(strVertex);
 			}
@@ -602,7 +602,8 @@ System.out.println(p.toString());
 	}
 	
 	/**
-	 * Writes the passed in poset to TempPosetFile and runs Pruesse & Ruskey's algorithm on it.
+	 * Checks that the linear extensions of poset are exactly the passed in linear orders,
+	 * by generating them (VerificationMode.ENUMERATE).
 	 * 
 	 * @param linearOrders a list of linear orders.
 	 * @param poset a poset.
@@ -611,103 +612,229 @@ System.out.println(p.toString());
 	 * @return true if the poset produces the linear orders from its linear extensions.
 	 */
 	public static <T extends Comparable<T>> boolean prLinearExtensionsCheck(List<ArrayList<T>> linearOrders, Poset<T> poset, boolean suppressErrors) {
+		
+		return prLinearExtensionsCheck(linearOrders, poset, suppressErrors, VerificationMode.ENUMERATE);
+	}
+	
+	/**
+	 * Checks that the linear extensions of poset are exactly the passed in linear orders.
+	 * 
+	 * With ENUMERATE the extensions are pulled one at a time from LinearExtensions, and pulling stops at
+	 * the first one that isn't among the linear orders or once there are more extensions
+	 * than linear orders, so a wrong poset with a huge number of extensions is cheap to reject.
+	 * With COUNT each linear order is checked against the poset's edges through an array of
+	 * positions, O(n^2) per order, and the number of linear orders is compared with
+	 * LinearExtensions.count, so no extension is ever generated.
+	 * ESTIMATE does the same, but when the poset is too wide for the exact count to be the cheaper,
+	 * compares the number of linear orders with an ApproximateCounter estimate first and rejects
+	 * the poset if it is outside bounds ESTIMATE_Z standard errors out.
+	 * 
+	 * @param linearOrders a list of linear orders.
+	 * @param poset a poset.
+	 * @param suppressErrors boolean falg indicating whether to suppressError output to stdout.
+	 * @param mode whether to generate the extensions or to count them.
+	 * 
+	 * @return true if the poset produces the linear orders from its linear extensions.
+	 */
+	public static <T extends Comparable<T>> boolean prLinearExtensionsCheck(List<ArrayList<T>> linearOrders, Poset<T> poset, boolean suppressErrors, VerificationMode mode) {
 
-		//Run the pruesse Ruskey program
-		ArrayList<ArrayList<String>> parsedLinearOrders = runPruesseRuskey(poset, linearOrders.get(0).size(), "PruesseRuskeyLinearExtensionsCheckPosetFile");
+		LinearOrderSet<T> orders = toOrderSet(linearOrders, suppressErrors);
+		
+		return orders != null && prLinearExtensionsCheck(orders, poset, suppressErrors, mode);
+	}
+	
+	/**
+	 * Checks that the linear extensions of poset are exactly the passed in linear orders,
+	 * by generating them (VerificationMode.ENUMERATE).
+	 * 
+	 * @param orders the linear orders.
+	 * @param poset a poset.
+	 * @param suppressErrors boolean falg indicating whether to suppressError output to stdout.
+	 * 
+	 * @return true if the poset produces the linear orders from its linear extensions.
+	 */
+	public static <T extends Comparable<T>> boolean prLinearExtensionsCheck(LinearOrderSet<T> orders, Poset<T> poset, boolean suppressErrors) {
+		
+		return prLinearExtensionsCheck(orders, poset, suppressErrors, VerificationMode.ENUMERATE);
+	}
+	
+	/**
+	 * Checks that the linear extensions of poset are exactly the passed in linear orders,
+	 * as prLinearExtensionsCheck on lists does. Each extension is looked up among the
+	 * linear orders through its ids, with no list or boxed element made per extension.
+	 * 
+	 * @param orders the linear orders.
+	 * @param poset a poset.
+	 * @param suppressErrors boolean falg indicating whether to suppressError output to stdout.
+	 * @param mode whether to generate the extensions or to count them.
+	 * 
+	 * @return true if the poset produces the linear orders from its linear extensions.
+	 */
+	public static <T extends Comparable<T>> boolean prLinearExtensionsCheck(LinearOrderSet<T> orders, Poset<T> poset, boolean suppressErrors, VerificationMode mode) {
 
-		parsedLinearOrders = mapParsedPruesseRuskey(poset, parsedLinearOrders, suppressErrors);
+		LinearExtensions extensions = new LinearExtensions(poset);
+		int n = orders.length();
 		
-		//Compare linearOrder size
-		if (linearOrders.size() != parsedLinearOrders.size()) {
+		//idOf[index] is the id of the element at that poset index, indexOf the other way around
+		int[] idOf = new int[poset.getCapacity()];
+		int[] indexOf = new int[n];
+		for (int id = 0; id < n; id++) {
+			
+			indexOf[id] = poset.getIndexOf(orders.getElement(id));
+			if (indexOf[id] == -1) {
+				
+				if (!suppressErrors) {
+					System.out.println("The linear order " + orders.order(0) + " holds " + orders.getElement(id) + " which isn't in the poset");
+				}
+				return false;
+			}
+			idOf[indexOf[id]] = id;
+		}
 		
+		if (orders.size() > 0 && n != extensions.size()) {
+			
 			if (!suppressErrors) {
-				System.out.println("\n\nPassed linear orders:");
-				System.out.println(linearOrders.toString());
-				System.out.println("Parsed linear orders:");
-				System.out.println(parsedLinearOrders.toString());
-				System.out.println("The Poset PR rep is:\n" + poset.pruesseRuskeyString());
-				System.out.println("Linear orders counts differ in size....");
-				System.out.println("Poset passed was:\n" + poset.toString());
-				System.out.println("Cover edges in poset are:\n" + poset.printCoverEdges() + "\n\n\n");
+				System.out.println("The linear orders differed in size from the poset");
 			}
 			return false;
 		}
 		
-		//Sort both lists of linear orders--------------------------------
-		//Sort linearOrders, (holding T type)
-		Collections.sort(linearOrders, new Comparator<ArrayList<T>>() {
-
-			@Override
-			public int compare(ArrayList<T> o1, ArrayList<T> o2) {
+		if (mode != VerificationMode.ENUMERATE) {
+			
+			return countCheck(orders, indexOf, poset, extensions, mode == VerificationMode.ESTIMATE, suppressErrors);
+		}
+		
+		//Pull the extensions one at a time, stopping at the first one that isn't one of the linear orders
+		//or once there are more of them than linear orders
+		long extensionCount = 0;
+		int[] ids = new int[n];
+		for (Iterator<int[]> extensionIt = extensions.iterator(); extensionIt.hasNext();) {
+			
+			int[] extension = extensionIt.next();
+			extensionCount++;
+			
+			for (int i = 0; i < extension.length; i++) {
 				
-				for (int i = 0; i < o1.size(); i++) {
-					
-					if (o1.get(i).compareTo(o2.get(i)) > 0) {
-						
-						return 1;
-					}
-					else if (o1.get(i).compareTo(o2.get(i)) < 0) {
+				ids[i] = idOf[extension[i]];
+			}
+			
+			if (extension.length != n || !orders.contains(ids)) {
+				
+				if (!suppressErrors) {
+					ArrayList<T> unexpected = new ArrayList<T>();
+					for (int index : extension) {
 						
-						return -1;
+						unexpected.add(poset.getVertex(index));
 					}
+					System.out.println("The linear orders were not the same....");
+					System.out.println("linear extension not passed in:\n" + unexpected + "\npassed linear orders:\n" + orders);
 				}
+				return false;
+			}
+			if (extensionCount > orders.size()) {
 				
-				return 0;
+				break;
 			}
-		});
-		//sort parsedLinearOrders (holding Strings)
-		Collections.sort(parsedLinearOrders, new Comparator<ArrayList<String>>() {
+		}
+		
+		//Every extension is a distinct linear order, so with as many extensions as linear orders they're the same
+		if (extensionCount != orders.size()) {
+		
+			if (!suppressErrors) {
+				System.out.println("\n\nPassed linear orders:");
+				System.out.println(orders.toString());
+				System.out.println("Linear orders counts differ in size....");
+				System.out.println("Number of linear extensions: " + extensionCount);
+				System.out.println("Poset passed was:\n" + poset.toString());
+				System.out.println("Cover edges in poset are:\n" + poset.printCoverEdges() + "\n\n\n");
+			}
+			return false;
+		}
 
-			@Override
-			public int compare(ArrayList<String> o1, ArrayList<String> o2) {
+		return true;
+	}
+	
+	/**
+	 * The COUNT half of prLinearExtensionsCheck, checks every linear order is an extension of poset
+	 * and that there are as many distinct linear orders as extensions.
+	 * 
+	 * @param orders the linear orders.
+	 * @param indexOf the poset index of each id in orders.
+	 * @param poset the poset.
+	 * @param extensions the linear extensions of poset.
+	 * @param estimateFirst true to reject the poset on an approximate count before working out the exact one.
+	 * @param suppressErrors boolean flag indicating whether to suppress error output to stdout.
+	 * @return true if the poset produces the linear orders from its linear extensions.
+	 */
+	private static <T extends Comparable<T>> boolean countCheck(LinearOrderSet<T> orders, int[] indexOf, 
+			Poset<T> poset, LinearExtensions extensions, boolean estimateFirst, boolean suppressErrors) {
+		
+		//Every edge has to go forward in every linear order
+		int n = orders.length();
+		int[] positions = new int[poset.getCapacity()];
+		for (int k = 0; k < orders.size(); k++) {
+			
+			for (int i = 0; i < n; i++) {
 				
-				for (int i = 0; i < o1.size(); i++) {
+				positions[indexOf[orders.get(k, i)]] = i;
+			}
+			
+			for (int id = 0; id < n; id++) {
+				
+				int from = indexOf[id];
+				for (int to = poset.nextSuccessor(from, 0); to != -1; to = poset.nextSuccessor(from, to + 1)) {
 					
-					if (o1.get(i).compareTo(o2.get(i)) > 0) {
-						
-						return 1;
-					}
-					else if (o1.get(i).compareTo(o2.get(i)) < 0) {
+					if (to != from && positions[to] < positions[from]) {
 						
-						return -1;
+						if (!suppressErrors) {
+							System.out.println("The linear orders were not the same....");
+							System.out.println("The linear order with " + poset.getVertex(to) + " before " 
+									+ poset.getVertex(from) + " isn't a linear extension");
+						}
+						return false;
 					}
 				}
-				
-				return 0;
 			}
-		});
+		}
 		
-		//Iterate over linear orders
-		ArrayList<T> passedLinearOrder;
-		ArrayList<String> parsedLinearOrder;
-		for (int i = 0; i < linearOrders.size(); i++) {
+		if (orders.distinctSize() != orders.size()) {
 			
-			passedLinearOrder = linearOrders.get(i);
-			parsedLinearOrder = parsedLinearOrders.get(i);
+			if (!suppressErrors) {
+				System.out.println("The same linear order was passed in more than once");
+			}
+			return false;
+		}
+		
+		//Clearly too many or too few extensions, anything closer is left to the exact count,
+		//as is a poset narrow enough that the exact count is the cheaper of the two
+		ApproximateCounter counter = new ApproximateCounter(ApproximateCounter.DEFAULT_SAMPLES, ESTIMATE_Z);
+		if (estimateFirst && counter.isCheaperThanCount(extensions)) {
 			
-			//Check sizes match
-			if (passedLinearOrder.size() != parsedLinearOrder.size()) {
+			ApproximateCount estimate = counter.estimate(poset, new SplittableRandom(ESTIMATE_SEED));
+			if (estimate.excludes(orders.size())) {
 				
 				if (!suppressErrors) {
-					System.out.println("The " + i + "th linear order differed in size");
+					System.out.println("Linear orders counts differ in size....");
+					System.out.println("Estimated number of linear extensions: " + estimate);
 				}
 				return false;
 			}
+		}
+		
+		BigInteger extensionCount = extensions.count();
+		
+		//Every linear order is a distinct extension, so with as many linear orders as extensions they're the same
+		if (!extensionCount.equals(BigInteger.valueOf(orders.size()))) {
 			
-			//Iterate over each element of the current linear order
-			for (int j = 0; j < passedLinearOrder.size(); j++) {
-				
-				if (!parsedLinearOrder.get(j).equals(passedLinearOrder.get(j).toString())) {
-					
-					if (!suppressErrors) {
-						System.out.println("The linear orders were not the same....");
-						System.out.println("parsedLinearOrder:\n" + parsedLinearOrder + "\npassedLinearOrder:\n" + passedLinearOrder);
-					}
-					return false;
-				}
+			if (!suppressErrors) {
+				System.out.println("\n\nPassed linear orders:");
+				System.out.println(orders.toString());
+				System.out.println("Linear orders counts differ in size....");
+				System.out.println("Number of linear extensions: " + extensionCount);
 			}
+			return false;
 		}
-
+		
 		return true;
 	}
 	
@@ -715,101 +842,82 @@ System.out.println(p.toString());
 	 * Runs the Pruesse & Ruskey C program. Parses the output from it,
 	 * and stores it in an ArrayList<ArrayList<Integer>> 
 	 * 
+	 * The poset goes to a temp file of its own, named from filename, so calls
+	 * from different threads don't overwrite each other's poset.
+	 * 
 	 * @param poset the poset to generate linear orders from.
 	 * @param orderLength the expected length of the linear orders.
-	 * @param filename the filename to save the poset's representation to.
+	 * @param filename the start of the name of the temp file to save the poset's representation to.
 	 * @return all of the linear orders produced from running the pruesse & ruskey algorithm.
 	 */
 	public static <T extends Comparable<T>> ArrayList<ArrayList<String>> runPruesseRuskey(Poset<T> poset, int orderLength, String filename) {
 		
-		ArrayList<ArrayList<String>> parsedLinearOrders = null;
+		return PRUESSE_RUSKEY.run(poset, orderLength, filename);
+	}
+	
+	/**
+	 * Runs the Pruesse & Ruskey C program, reading its output straight into Integers
+	 * in the program's numbering, as parsedPruesseRuskeyToInteger(runPruesseRuskey(...)) does
+	 * without making a String per element first.
+	 * 
+	 * @param poset the poset to generate linear orders from.
+	 * @param orderLength the expected length of the linear orders.
+	 * @param filename the start of the name of the temp file to save the poset's representation to.
+	 * @return all of the linear orders produced from running the pruesse & ruskey algorithm, null if it couldn't be run.
+	 */
+	public static <T extends Comparable<T>> ArrayList<ArrayList<Integer>> runPruesseRuskeyToInteger(Poset<T> poset, int orderLength, String filename) {
 		
-		if (writePosetToFile(poset, filename)) {
+		final ArrayList<ArrayList<Integer>> numericalLinearOrders = new ArrayList<ArrayList<Integer>>();
 		
-			//Read from file, take as arg
-			Runtime rt = Runtime.getRuntime();
-			String[] args = new String[3];
-			args[0] = "PruessseRuskeyLinearExtensions";
-			args[1] = "-p";
-			args[2] = filename;
-			
+		long read = PRUESSE_RUSKEY.run(poset, orderLength, filename, false, new LinearExtensions.Visitor() {
 			
-			Process pr;
-			try {
+			@Override
+			public boolean visit(int[] order) {
 				
-				pr = rt.exec(args);
-
-				InputStream is = pr.getInputStream();
-				BufferedReader br = null;
-				StringBuilder sb = new StringBuilder();
-		 
-				String line;
-				try {
-					br = new BufferedReader(new InputStreamReader(is));
-					while ((line = br.readLine()) != null) {
-						sb.append(line);
-					}
-				} 
-				catch (IOException e) {
-					e.printStackTrace();
-				} 
-				finally {
-					if (br != null) {	
-						try {
-							br.close();
-						} 
-						catch (IOException e) {
-							e.printStackTrace();
-						}
-					}
+				ArrayList<Integer> numericalLinearOrder = new ArrayList<Integer>(order.length);
+				for (int element : order) {
+					
+					numericalLinearOrder.add(element);
 				}
-				pr.destroy();
-		 
-				String readString = sb.toString().trim();
-
-				char[] readChars = readString.toCharArray();
-				int begIndex = 0;
+				numericalLinearOrders.add(numericalLinearOrder);
 				
-				ArrayList<String> linearOrder = new ArrayList<String>();
-				parsedLinearOrders = new ArrayList<ArrayList<String>>();
-				
-				//Parse output text into linear orders
-				for (int i = 0; i < readString.length(); i++) {
+				return true;
+			}
+		});
 		
-					//Add linear order to the list of linear orders
-					if ((i + 1) == readString.length() 
-							|| (linearOrder.size() + 1 == orderLength && readChars[i] == ' ')) {
+		return (read == -1) ? null : numericalLinearOrders;
+	}
+	
+	/**
+	 * Runs the Pruesse & Ruskey C program, mapping its output to the poset's elements as it is read,
+	 * as poset.applyMapping(runPruesseRuskey(...)) does without making a String per element first.
+	 * 
+	 * @param poset the poset to generate linear orders from.
+	 * @param orderLength the expected length of the linear orders.
+	 * @param filename the start of the name of the temp file to save the poset's representation to.
+	 * @return all of the linear orders produced from running the pruesse & ruskey algorithm, null if it couldn't be run.
+	 */
+	public static <T extends Comparable<T>> ArrayList<ArrayList<T>> runPruesseRuskeyMapped(final Poset<T> poset, int orderLength, String filename) {
 		
-						//For case where we're at the end
-						if (i + 1 == readString.length()) {
-						
-							linearOrder.add(readString.substring(begIndex, i + 1));
-						}
-						//Normal case
-						else {
-							
-							linearOrder.add(readString.substring(begIndex, i));
-						}
-						parsedLinearOrders.add(linearOrder);
-						begIndex = i + 1;
-						
-						linearOrder = new ArrayList<String>();
-					}
-					//Add to the current linear order
-					else if (readChars[i] == ' ') {
-										
-						//Add data
-						linearOrder.add(readString.substring(begIndex, i));
-						begIndex = i + 1;
-					}
+		final ArrayList<ArrayList<T>> mappedLinearOrders = new ArrayList<ArrayList<T>>();
+		
+		long read = PRUESSE_RUSKEY.run(poset, orderLength, filename, true, new LinearExtensions.Visitor() {
+			
+			@Override
+			public boolean visit(int[] order) {
+				
+				ArrayList<T> mappedLinearOrder = new ArrayList<T>(order.length);
+				for (int index : order) {
+					
+					mappedLinearOrder.add(poset.getVertex(index));
 				}
-			} 
-			catch (IOException e1) {
-				e1.printStackTrace();
+				mappedLinearOrders.add(mappedLinearOrder);
+				
+				return true;
 			}
-		}
-System.out.println("parsedLinearOrders == " + parsedLinearOrders);
-		return parsedLinearOrders;
+		});
+		
+		return (read == -1) ? null : mappedLinearOrders;
 	}
 	
 	/**
@@ -862,4 +970,26 @@ System.out.println("parsedLinearOrders == " + parsedLinearOrders);
 		
 		return numericalLinearOrders;
 	}
+	
+	/**
+	 * Interns linear orders into a LinearOrderSet for the methods that work on one.
+	 * 
+	 * @param linearOrders a list of linear orders.
+	 * @param suppressErrors boolean flag indicating whether to suppress error output to stdout.
+	 * @return the LinearOrderSet, null if the linear orders aren't all orders of the same elements.
+	 */
+	private static <T> LinearOrderSet<T> toOrderSet(List<ArrayList<T>> linearOrders, boolean suppressErrors) {
+		
+		try {
+			
+			return new LinearOrderSet<T>(linearOrders);
+		}
+		catch (IllegalArgumentException e) {
+			
+			if (!suppressErrors) {
+				System.out.println(e.getMessage());
+			}
+			return null;
+		}
+	}
 }
\ No newline at end of file
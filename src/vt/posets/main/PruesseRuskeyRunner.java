@@ -0,0 +1,287 @@
+package vt.posets.main;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.Semaphore;
+
+import vt.posets.extensions.LinearExtensions;
+import vt.posets.poset.Poset;
+import vt.posets.poset.PruesseRuskeyEncoding;
+
+/**
+ * Runs the Pruesse & Ruskey C program on posets, any number of threads at once.
+ *
+ * Each run writes the poset to its own temp file, so runs never read each other's input,
+ * and the temp file is deleted once the program is done with it. The program's output is
+ * read as it comes, byte by byte out of one reused buffer, and each linear order can be handed
+ * on in one reused int[] rather than as Strings. At most maxProcesses programs run at the same
+ * time, the rest wait their turn.
+ *
+ * @author Ethan Gaebel (egaebel)
+ *
+ */
+public class PruesseRuskeyRunner {
+
+	//~Constants----------------------------------------------
+	/**
+	 * The name of the Pruesse & Ruskey executable, looked up on the PATH.
+	 */
+	public static final String EXECUTABLE = "PruessseRuskeyLinearExtensions";
+
+	/**
+	 * The size of the buffer the program's output is read through.
+	 */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	//~Data Fields--------------------------------------------
+	/**
+	 * The executable to run.
+	 */
+	private final String executable;
+
+	/**
+	 * One permit for each program that can run at the same time.
+	 */
+	private final Semaphore processes;
+
+	//~Constructors--------------------------------------------
+	/**
+	 * Creates a runner for EXECUTABLE that runs as many programs at once as there are processors.
+	 */
+	public PruesseRuskeyRunner() {
+
+		this(EXECUTABLE, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates a runner.
+	 *
+	 * @param executable the executable to run, it's passed -p and the name of the poset file.
+	 * @param maxProcesses the most programs to run at the same time.
+	 */
+	public PruesseRuskeyRunner(String executable, int maxProcesses) {
+
+		this.executable = executable;
+		this.processes = new Semaphore(Math.max(maxProcesses, 1), true);
+	}
+
+	//~Methods-------------------------------------------------
+	/**
+	 * Runs the program on poset and parses its output into linear orders.
+	 * The returned orders hold the indices of the program's own numbering,
+	 * poset.pruesseRuskeyEncoding maps them back.
+	 *
+	 * @param poset the poset to generate linear orders from.
+	 * @param orderLength the length of each linear order.
+	 * @param prefix the start of the temp file's name, to tell the runs apart when looking at them.
+	 * @return all of the linear orders the program printed, null if it couldn't be run.
+	 */
+	public <T extends Comparable<T>> ArrayList<ArrayList<String>> run(Poset<T> poset, int orderLength, String prefix) {
+
+		StringCollector collector = new StringCollector();
+
+		return (run(poset, orderLength, prefix, false, collector) == -1) ? null : collector.orders;
+	}
+
+	/**
+	 * Runs the program on poset and hands each linear order to visitor as soon as it is read.
+	 * Nothing is kept per order: the same array is refilled for every order, so visitor has
+	 * to copy it to hold on to it.
+	 *
+	 * @param poset the poset to generate linear orders from.
+	 * @param orderLength the length of each linear order.
+	 * @param prefix the start of the temp file's name, to tell the runs apart when looking at them.
+	 * @param toPosetIndices true to map the program's numbering to poset's indices
+	 * 			through poset.pruesseRuskeyEncoding, false to leave it as the program printed it.
+	 * @param visitor gets each linear order, returning false stops the program early.
+	 * @return the number of linear orders visited, -1 if the program couldn't be run.
+	 */
+	public <T extends Comparable<T>> long run(Poset<T> poset, int orderLength, String prefix,
+			boolean toPosetIndices, LinearExtensions.Visitor visitor) {
+
+		Path posetFile = null;
+
+		try {
+
+			//The mapping goes with the text it was made for, whatever other threads do with poset
+			PruesseRuskeyEncoding encoding = poset.pruesseRuskeyEncoding();
+			int[] mapping = (toPosetIndices) ? encoding.getMapping() : null;
+
+			posetFile = Files.createTempFile(prefix, ".poset");
+			Files.write(posetFile, encoding.getBytes());
+
+			processes.acquire();
+			try {
+
+				Process pr = new ProcessBuilder(executable, "-p", posetFile.toString())
+						.redirectError(Redirect.INHERIT)
+						.start();
+
+				try (ReadableByteChannel in = Channels.newChannel(pr.getInputStream())) {
+
+					return parse(in, orderLength, mapping, visitor);
+				}
+				finally {
+
+					//Also stops a program whose output was only partly wanted
+					pr.destroy();
+				}
+			}
+			finally {
+
+				processes.release();
+			}
+		}
+		catch (IOException e) {
+
+			e.printStackTrace();
+			return -1;
+		}
+		catch (InterruptedException e) {
+
+			Thread.currentThread().interrupt();
+			return -1;
+		}
+		finally {
+
+			if (posetFile != null) {
+
+				try {
+
+					Files.deleteIfExists(posetFile);
+				}
+				catch (IOException e) {
+
+					e.printStackTrace();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads linear orders from in into Strings, as the program printed them.
+	 *
+	 * @param in the output of the program.
+	 * @param orderLength the length of each linear order.
+	 * @return the linear orders read, a partial order at the end is dropped.
+	 * @throws IOException if in can't be read.
+	 */
+	public static ArrayList<ArrayList<String>> parse(InputStream in, int orderLength) throws IOException {
+
+		StringCollector collector = new StringCollector();
+		parse(Channels.newChannel(in), orderLength, null, collector);
+
+		return collector.orders;
+	}
+
+	/**
+	 * Reads linear orders from in as it comes, through one reused buffer, without making
+	 * a String or an Integer. Any run of digits is a number and any other byte separates numbers,
+	 * every orderLength numbers make up a linear order, which is passed to visitor in one reused array.
+	 *
+	 * @param in the output of the program.
+	 * @param orderLength the length of each linear order.
+	 * @param mapping mapping[k] is put in the linear order in place of k, null to leave the numbers as they are.
+	 * @param visitor gets each linear order, returning false stops the reading.
+	 * @return the number of linear orders visited, a partial order at the end is dropped.
+	 * @throws IOException if in can't be read, or if mapping is given and a number has no mapping,
+	 * 			which means the program printed something other than linear orders of the poset.
+	 */
+	public static long parse(ReadableByteChannel in, int orderLength, int[] mapping,
+			LinearExtensions.Visitor visitor) throws IOException {
+
+		ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		byte[] bytes = buffer.array();
+		int[] order = new int[orderLength];
+		int filled = 0;
+		long orders = 0;
+
+		int value = 0;
+		boolean inNumber = false;
+
+		for (;;) {
+
+			int read = in.read(buffer);
+			boolean done = (read == -1);
+
+			//The end of the output ends the last number
+			if (done) {
+
+				bytes[0] = ' ';
+				read = 1;
+			}
+
+			for (int i = 0; i < read; i++) {
+
+				int b = bytes[i];
+				if (b >= '0' && b <= '9') {
+
+					//Once a number is too big to map it stays too big, without overflowing
+					if (mapping == null || value < mapping.length) {
+
+						value = value * 10 + (b - '0');
+					}
+					inNumber = true;
+				}
+				else if (inNumber) {
+
+					if (mapping != null && (value >= mapping.length || mapping[value] == -1)) {
+
+						throw new IOException("The Pruesse & Ruskey output holds a vertex number outside 1 to " + (mapping.length - 1));
+					}
+					order[filled++] = (mapping == null) ? value : mapping[value];
+					if (filled == orderLength) {
+
+						filled = 0;
+						orders++;
+						if (!visitor.visit(order)) {
+
+							return orders;
+						}
+					}
+					value = 0;
+					inNumber = false;
+				}
+			}
+
+			if (done) {
+
+				return orders;
+			}
+			buffer.clear();
+		}
+	}
+
+	/**
+	 * Collects every linear order as Strings, for the callers that want them all at once.
+	 */
+	private static class StringCollector implements LinearExtensions.Visitor {
+
+		//~Data Fields--------------------------------------------
+		/**
+		 * The linear orders so far.
+		 */
+		private final ArrayList<ArrayList<String>> orders = new ArrayList<ArrayList<String>>();
+
+		//~Methods-------------------------------------------------
+		@Override
+		public boolean visit(int[] order) {
+
+			ArrayList<String> linearOrder = new ArrayList<String>(order.length);
+			for (int element : order) {
+
+				linearOrder.add(String.valueOf(element));
+			}
+			orders.add(linearOrder);
+
+			return true;
+		}
+	}
+}
@@ -0,0 +1,210 @@
+package vt.posets.matching;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import vt.posets.extensions.GeneratingPosetBuilder;
+import vt.posets.extensions.LinearOrderSet;
+import vt.posets.graph.Graph;
+import vt.posets.graph.GraphBackend;
+import vt.posets.main.PosetAlgorithms;
+import vt.posets.poset.Poset;
+
+/**
+ * Builds the undirected graph of linear orders that generatingKitePosetCover runs MyEdmondsMatching on:
+ * a vertex per linear order, and an edge between two linear orders holding the poset that generates both.
+ *
+ * Each unordered pair is looked at once, its poset is shared by both directions of its edge,
+ * and the pairs are spread over a ForkJoinPool ROWS_PER_TASK rows at a time, so idle threads
+ * steal rows from busy ones as the rows get shorter. When the linear orders are also kept as a
+ * LinearOrderSet, pairs that aren't one adjacent swap apart, copies of the same linear order among them,
+ * are passed over without building anything.
+ * The graph is only touched once every pair is done, in the order of the pairs, so it comes out
+ * the same however the pairs were spread over the threads.
+ *
+ * @author Ethan Gaebel (egaebel)
+ *
+ * @param <V> the type of the elements of the linear orders.
+ */
+public class LinearOrderGraphBuilder<V extends Comparable<V>> {
+
+	//~Constants----------------------------------------------
+	/**
+	 * The most rows a task works on without splitting them up.
+	 */
+	private static final int ROWS_PER_TASK = 8;
+
+	//~Data Fields--------------------------------------------
+	/**
+	 * The linear orders, one vertex each.
+	 */
+	private final List<ArrayList<V>> linearOrders;
+
+	/**
+	 * The same linear orders in the same order, null if they couldn't be interned.
+	 */
+	private final LinearOrderSet<V> orders;
+
+	/**
+	 * The way to store the graph.
+	 */
+	private final GraphBackend backend;
+
+	//~Constructors--------------------------------------------
+	/**
+	 * Creates a builder for the graph of linear orders.
+	 *
+	 * @param linearOrders the linear orders, the vertex at index i holds linearOrders.get(i).
+	 * @param orders the same linear orders in the same order, null to try every pair.
+	 * @param backend the way to store the graph.
+	 */
+	public LinearOrderGraphBuilder(List<ArrayList<V>> linearOrders, LinearOrderSet<V> orders, GraphBackend backend) {
+
+		this.linearOrders = linearOrders;
+		this.orders = orders;
+		this.backend = backend;
+	}
+
+	//~Methods-------------------------------------------------
+	/**
+	 * Builds the graph on the common pool.
+	 *
+	 * @return a new undirected graph of the linear orders.
+	 * @see #build(ForkJoinPool)
+	 */
+	public Graph<LinearOrderVertex<V>, PosetEdge<LinearOrderVertex<V>, V>> build() {
+
+		return build(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Builds the graph, working out the pairs on pool.
+	 *
+	 * @param pool the pool to work out the pairs on.
+	 * @return a new undirected graph of the linear orders.
+	 */
+	public Graph<LinearOrderVertex<V>, PosetEdge<LinearOrderVertex<V>, V>> build(ForkJoinPool pool) {
+
+		int m = linearOrders.size();
+		Graph<LinearOrderVertex<V>, PosetEdge<LinearOrderVertex<V>, V>> graph = backend.newGraph(false, m);
+
+		List<LinearOrderVertex<V>> vertices = new ArrayList<LinearOrderVertex<V>>(m);
+		for (ArrayList<V> linearOrder : linearOrders) {
+
+			LinearOrderVertex<V> vertex = new LinearOrderVertex<V>(linearOrder);
+			graph.addVertex(vertex);
+			vertices.add(vertex);
+		}
+
+		//Each row is only ever written by the task that works on it
+		List<Row> rows = new ArrayList<Row>(m);
+		for (int i = 0; i < m; i++) {
+
+			rows.add(new Row());
+		}
+		pool.invoke(new RowTask(0, m, rows));
+
+		//O(edges), adding an edge to an undirected graph adds both directions, sharing the poset
+		for (int i = 0; i < m; i++) {
+
+			Row row = rows.get(i);
+			for (int e = 0; e < row.partners.size(); e++) {
+
+				int j = row.partners.get(e);
+				graph.addEdge(i, j, new PosetEdge<LinearOrderVertex<V>, V>(vertices.get(i), vertices.get(j), row.posets.get(e)));
+			}
+		}
+
+		return graph;
+	}
+
+	/**
+	 * Works out the poset that generates linear orders i and j.
+	 *
+	 * @return the poset, null if there's none.
+	 */
+	private Poset<V> generatingPoset(int i, int j) {
+
+		if (orders == null) {
+
+			List<ArrayList<V>> pair = new ArrayList<ArrayList<V>>(2);
+			pair.add(linearOrders.get(i));
+			pair.add(linearOrders.get(j));
+
+			return PosetAlgorithms.generatingPosetTwo(pair, false, true);
+		}
+
+		//The only orders a poset can generate together
+		if (!orders.oneSwapApart(i, j)) {
+
+			return null;
+		}
+
+		int[] ids = new int[orders.length()];
+		GeneratingPosetBuilder<V> builder = new GeneratingPosetBuilder<V>(orders.getElements());
+		builder.accept(orders.getIds(i, ids));
+		builder.accept(orders.getIds(j, ids));
+
+		return builder.isGenerating() ? builder.getPoset() : null;
+	}
+
+	/**
+	 * The partners after i that linear order i has an edge to, with the poset of each edge.
+	 */
+	private class Row {
+
+		private final ArrayList<Integer> partners = new ArrayList<Integer>();
+
+		private final ArrayList<Poset<V>> posets = new ArrayList<Poset<V>>();
+	}
+
+	/**
+	 * Works out the pairs (i, j) with i in a range of rows and i < j,
+	 * splitting the range in half while it's longer than ROWS_PER_TASK.
+	 */
+	private class RowTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int from;
+
+		private final int to;
+
+		private final List<Row> rows;
+
+		RowTask(int from, int to, List<Row> rows) {
+
+			this.from = from;
+			this.to = to;
+			this.rows = rows;
+		}
+
+		@Override
+		protected void compute() {
+
+			if (to - from > ROWS_PER_TASK) {
+
+				int middle = (from + to) >>> 1;
+				invokeAll(new RowTask(from, middle, rows), new RowTask(middle, to, rows));
+				return;
+			}
+
+			int m = linearOrders.size();
+			for (int i = from; i < to; i++) {
+
+				Row row = rows.get(i);
+				for (int j = i + 1; j < m; j++) {
+
+					Poset<V> poset = generatingPoset(i, j);
+					if (poset != null) {
+
+						row.partners.add(j);
+						row.posets.add(poset);
+					}
+				}
+			}
+		}
+	}
+}
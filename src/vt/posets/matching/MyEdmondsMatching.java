@@ -114,6 +114,8 @@ package vt.posets.matching;
 import java.util.*; // For ArrayDeque, HashMap, HashSet, LinkedList
 
 import vt.posets.graph.AdjacencyMatrix;
+import vt.posets.graph.Edge;
+import vt.posets.graph.Graph;
 import vt.posets.graph.EmptyEdge;
 
 public final class MyEdmondsMatching {
@@ -127,18 +129,31 @@ public final class MyEdmondsMatching {
      */
     public static <T extends LinearOrderVertex<V>, V extends Comparable<V>> AdjacencyMatrix<T, PosetEdge<T, V>> maximumMatching(AdjacencyMatrix<T, PosetEdge<T, V>> g) {
     
+    	return (AdjacencyMatrix<T, PosetEdge<T, V>>) maximumMatching((Graph<T, PosetEdge<T, V>>) g);
+    }
+    
+    /**
+     * Given an undirected graph, returns a graph containing the edges of a
+     * maximum matching in that graph. The matching is stored the same way as g
+     * (see Graph.makeEmptyCopy), so it works on either a dense or a sparse graph.
+     *
+     * @param g The graph in which a maximum matching should be found.
+     * @return A graph containing a maximum matching in that graph.
+     */
+    public static <T extends LinearOrderVertex<V>, V extends Comparable<V>> Graph<T, PosetEdge<T, V>> maximumMatching(Graph<T, PosetEdge<T, V>> g) {
+    
     	/* Edge case - if the graph is empty, just hand back an empty graph as
          * the matching.
          */
         if (g.isEmpty()) {
          
-        	return new AdjacencyMatrix<T, PosetEdge<T, V>>();
+        	return g.makeEmptyCopy();
         }
 
         /* Construct a new graph to hold the matching.  Fill it with the nodes
          * from the original graph, but not the edges.
          */
-        AdjacencyMatrix<T, PosetEdge<T, V>> result = new AdjacencyMatrix<T, PosetEdge<T, V>>();
+        Graph<T, PosetEdge<T, V>> result = g.makeEmptyCopy();
         for (T node: g) {
             
         	result.addVertex(node);
@@ -160,7 +175,7 @@ public final class MyEdmondsMatching {
             }
 
             /* If not, update the graph using this alternating path. */
-            updateMatching(path, result);
+            updateMatching(path, g, result);
         }
     }
 
@@ -171,10 +186,16 @@ public final class MyEdmondsMatching {
      * means that the edges [0, 1], [2, 3], ..., [n-2, n-1] are assumed not to
      * be in the matching.
      *
+     * Edges flipped into the matching are copied from g, so they share the
+     * generating poset g's edge already holds instead of building it again.
+     *
      * @param path The alternating path linking the exposed endpoints.
+     * @param g The graph the matching is being found in.
      * @param m The matching to update, which is an in/out parameter.
      */
-    private static <T extends LinearOrderVertex<V>, V extends Comparable<V>> void updateMatching(List<T> path, AdjacencyMatrix<T, PosetEdge<T, V>> m) {
+    @SuppressWarnings("unchecked")
+    private static <T extends LinearOrderVertex<V>, V extends Comparable<V>> void updateMatching(List<T> path, Graph<T, PosetEdge<T, V>> g, 
+    																								Graph<T, PosetEdge<T, V>> m) {
        
     	/* Scan across the edges in the path, flipping whether or not they're
          * in the matching.  This iteration counts up to the size of the list
@@ -188,7 +209,10 @@ public final class MyEdmondsMatching {
             }
             else {
             	
-            	PosetEdge<T, V> posetEdge = new PosetEdge<T, V>(path.get(i), path.get(i + 1));
+            	Edge<T> edge = g.getEdge(path.get(i), path.get(i + 1));
+            	PosetEdge<T, V> posetEdge = (edge instanceof PosetEdge<?, ?>) 
+            			? ((PosetEdge<T, V>) edge).clone() 
+            			: new PosetEdge<T, V>(path.get(i), path.get(i + 1));
                 m.addEdge(path.get(i), path.get(i + 1), posetEdge);
             }
         }
@@ -287,8 +311,8 @@ public final class MyEdmondsMatching {
      * @param m A matching in that graph.
      * @return An alternating path in g, or null if none exists.
      */
-    private static <T extends LinearOrderVertex<V>, V extends Comparable<V>> List<T> findAlternatingPath(AdjacencyMatrix<T, PosetEdge<T, V>> g,
-    																										AdjacencyMatrix<T, PosetEdge<T, V>> m) {
+    private static <T extends LinearOrderVertex<V>, V extends Comparable<V>> List<T> findAlternatingPath(Graph<T, PosetEdge<T, V>> g,
+    																										Graph<T, PosetEdge<T, V>> m) {
     	
         /* We need to maintain as state all of the forests that are currently
          * being considered.  To do this, we'll create a map associating each
@@ -311,7 +335,7 @@ public final class MyEdmondsMatching {
         	/* Check if the node is a singleton by seeing if it has no edges
              * leaving it in the matching.
              */
-            if (!m.getEdgesTo(node).isEmpty()) {
+            if (m.nextSuccessor(m.findVertex(node), 0) != -1) {
                 continue;
             }
 
@@ -321,9 +345,10 @@ public final class MyEdmondsMatching {
             forest.put(node, new NodeInformation<T, V>(null, node, true));
 
             /* Add to the worklist all edges leaving this node. */
-            for (T endpoint: g.getEdgesTo(node)) {
+            int nodeIndex = g.findVertex(node);
+            for (int i = g.nextSuccessor(nodeIndex, 0); i != -1; i = g.nextSuccessor(nodeIndex, i + 1)) {
              
-            	worklist.add(new PosetEdge<T, V>(node, endpoint));
+            	worklist.add(new PosetEdge<T, V>(node, g.getVertex(i)));
             }
         }
 
@@ -445,7 +470,7 @@ public final class MyEdmondsMatching {
                  * endpoint is the node that will become an outer node of this
                  * tree.
                  */
-                T endpoint = m.getEdgesTo(curr.getTo()).iterator().next();
+                T endpoint = m.getVertex(m.nextSuccessor(m.findVertex(curr.getTo()), 0));
                 forest.put(endpoint, new NodeInformation<T, V>(curr.getTo(),
                                                             startInfo.treeRoot,
                                                             true));
@@ -453,8 +478,9 @@ public final class MyEdmondsMatching {
                 /* Add all outgoing edges from this endpoint to the work
                  * list.
                  */
-                for (T fringeNode: g.getEdgesTo(endpoint))
-                    worklist.add(new PosetEdge<T, V>(endpoint, fringeNode));
+                int endpointIndex = g.findVertex(endpoint);
+                for (int i = g.nextSuccessor(endpointIndex, 0); i != -1; i = g.nextSuccessor(endpointIndex, i + 1))
+                    worklist.add(new PosetEdge<T, V>(endpoint, g.getVertex(i)));
             }
         }
 
@@ -533,7 +559,7 @@ public final class MyEdmondsMatching {
      * @param blossom The set of nodes in the blossom.
      * @return The contraction g / blossom.
      */
-    private static <T extends LinearOrderVertex<V>, V extends Comparable<V>> AdjacencyMatrix<T, PosetEdge<T, V>> contractGraph(AdjacencyMatrix<T, PosetEdge<T, V>> g,
+    private static <T extends LinearOrderVertex<V>, V extends Comparable<V>> Graph<T, PosetEdge<T, V>> contractGraph(Graph<T, PosetEdge<T, V>> g,
     																															Blossom<T, V> blossom) {
        
     	/* The contraction of the graph is the modified graph where:
@@ -543,7 +569,7 @@ public final class MyEdmondsMatching {
          * 4. All edges between nodes out of the blossom and nodes in the
          *    blossom are replaced by an edge to the pseudonode.
          */
-        AdjacencyMatrix<T, PosetEdge<T, V>> result = new AdjacencyMatrix<T, PosetEdge<T, V>>();
+        Graph<T, PosetEdge<T, V>> result = g.makeEmptyCopy();
 
         /* Begin by adding all nodes not in the blossom. */
         for (T node: g) {
@@ -567,8 +593,11 @@ public final class MyEdmondsMatching {
             }
 
             /* Explore all nodes connected to this one. */
-            for (T endpoint: g.getEdgesTo(node)/*g.edgesFrom(node)*/) {
+            int nodeIndex = g.findVertex(node);
+            for (int i = g.nextSuccessor(nodeIndex, 0); i != -1; i = g.nextSuccessor(nodeIndex, i + 1)) {
             
+                T endpoint = g.getVertex(i);
+
             	/* If this endpoint is in the blossom, pretend that it's now
                  * an edge to the pseudonode.
                  */
@@ -601,7 +630,7 @@ public final class MyEdmondsMatching {
      * @return An alternating path in the original graph.
      */
     private static <T extends LinearOrderVertex<V>, V extends Comparable<V>> List<T> expandPath(List<T> path,
-														                                          AdjacencyMatrix<T, PosetEdge<T, V>> g,
+														                                          Graph<T, PosetEdge<T, V>> g,
 														                                          Map<T, NodeInformation<T, V>> forest,
 														                                          Blossom<T, V> blossom) {
         
@@ -731,7 +760,7 @@ public final class MyEdmondsMatching {
      * @return Some node in the blossom with an edge in g to the indicated
      *         node.
      */
-    private static <T extends LinearOrderVertex<V>, V extends Comparable<V>> T findNodeLeavingCycle(AdjacencyMatrix<T, PosetEdge<T, V>> g,
+    private static <T extends LinearOrderVertex<V>, V extends Comparable<V>> T findNodeLeavingCycle(Graph<T, PosetEdge<T, V>> g,
 														                                              Blossom<T, V> blossom,
 														                                              T node) {
         /* Check each node in the blossom for a matching edge. */
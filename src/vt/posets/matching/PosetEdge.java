@@ -21,13 +21,20 @@ public class PosetEdge<T extends LinearOrderVertex<V>, V extends Comparable<V>>
 	//~Data Fields--------------------------------------------
 	
 	/**
-	 * The poset that generates the two linear orders this edge joins.
+	 * The poset that generates the two linear orders this edge joins, null if there's none.
 	 */
 	private Poset<V> generatingPoset;
 
+	/**
+	 * Whether generatingPoset has been worked out yet.
+	 */
+	private boolean resolved;
+
 	//~Constructors--------------------------------------------
 	/**
 	 * Takes two linear orders and sets the contained vertices to them.
+	 * The generating poset isn't worked out until getGeneratingPoset asks for it,
+	 * so edges made only to walk the graph never build one.
 	 * 
 	 * @param newLinearOrder1 the new LinearOrderVertex to store.
 	 * @param newLinearOrder2 the new LinearOrderVertex to store.
@@ -35,20 +42,42 @@ public class PosetEdge<T extends LinearOrderVertex<V>, V extends Comparable<V>>
 	public PosetEdge(T newLinearOrder1, T newLinearOrder2) {
 		
 		super(newLinearOrder1, newLinearOrder2);
+	}
+
+	/**
+	 * Takes two linear orders and the poset already found to generate them.
+	 * 
+	 * @param newLinearOrder1 the new LinearOrderVertex to store.
+	 * @param newLinearOrder2 the new LinearOrderVertex to store.
+	 * @param generatingPoset the poset that generates both linear orders, null if there's none.
+	 */
+	public PosetEdge(T newLinearOrder1, T newLinearOrder2, Poset<V> generatingPoset) {
 		
-		List<ArrayList<V>> linearOrders = new ArrayList<ArrayList<V>>();
-		linearOrders.add(newLinearOrder1.getLinearOrder());
-		linearOrders.add(newLinearOrder2.getLinearOrder());
+		super(newLinearOrder1, newLinearOrder2);
 		
-		//Suppress error output, because it's fine if it fails here, that case is handled
-		generatingPoset = PosetAlgorithms.generatingPosetTwo(linearOrders, false, true);
+		this.generatingPoset = generatingPoset;
+		this.resolved = true;
 	}
 
 	//~Methods-------------------------------------------------
 	/**
-	 * @return the generatingPoset
+	 * Gets the poset that generates both linear orders, working it out the first time.
+	 * 
+	 * @return the generatingPoset, null if no poset generates both linear orders.
 	 */
 	public Poset<V> getGeneratingPoset() {
+		
+		if (!resolved) {
+			
+			List<ArrayList<V>> linearOrders = new ArrayList<ArrayList<V>>();
+			linearOrders.add(getFrom().getLinearOrder());
+			linearOrders.add(getTo().getLinearOrder());
+			
+			//Suppress error output, because it's fine if it fails here, that case is handled
+			generatingPoset = PosetAlgorithms.generatingPosetTwo(linearOrders, false, true);
+			resolved = true;
+		}
+		
 		return generatingPoset;
 	}
 
@@ -62,7 +91,16 @@ public class PosetEdge<T extends LinearOrderVertex<V>, V extends Comparable<V>>
 		return 1;
 	}
 
+	/**
+	 * Copies this edge, sharing its generating poset if it has been worked out,
+	 * so the two directions of an undirected edge build it at most once.
+	 */
 	public PosetEdge<T, V> clone() {
+		
+		if (resolved) {
+			
+			return new PosetEdge<T, V>(this.getFrom(), this.getTo(), generatingPoset);
+		}
 		return new PosetEdge<T, V>(this.getFrom(), this.getTo());
 	}
 	
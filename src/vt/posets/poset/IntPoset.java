@@ -0,0 +1,441 @@
+package vt.posets.poset;
+
+import java.util.Arrays;
+
+import vt.posets.graph.*;
+
+/**
+ * A partial order over int elements, the int specialization of Poset.
+ *
+ * Built on IntAdjacencyMatrix, so the elements and the edge weights are primitive arrays.
+ * Whether an edge is a cover edge or a closure edge is kept in a byte[] laid out the
+ * same way as the weights, kinds[i * capacity + j] is the kind of the edge from i to j.
+ * CoverEdge and ClosureEdge objects are only made when getEdge or getEdges is called.
+ *
+ * Convert from a Poset<Integer> with the constructor and back with toPoset,
+ * both keep every vertex at the same index.
+ *
+ * @author Ethan Gaebel (egaebel)
+ *
+ */
+public class IntPoset extends IntAdjacencyMatrix {
+
+	//~Constants----------------------------------------------
+	/**
+	 * There is no edge.
+	 */
+	private static final byte NONE = 0;
+
+	/**
+	 * The edge is a cover edge.
+	 */
+	private static final byte COVER = 1;
+
+	/**
+	 * The edge is a closure edge that is not a cover edge.
+	 */
+	private static final byte CLOSURE = 2;
+
+	//~Data Fields--------------------------------------------
+	/**
+	 * The kind of each edge, NONE, COVER or CLOSURE, laid out the same as weights.
+	 */
+	private byte[] kinds;
+
+	//~Constructors--------------------------------------------
+	/**
+	 * Creates an empty IntPoset.
+	 */
+	public IntPoset() {
+
+		this(DEFAULT_SIZE);
+	}
+
+	/**
+	 * Creates an empty IntPoset with room for capacity elements.
+	 *
+	 * @param capacity the number of elements to make room for.
+	 */
+	public IntPoset(int capacity) {
+
+		super(true, capacity);
+
+		kinds = new byte[capacity * capacity];
+	}
+
+	/**
+	 * Creates an IntPoset holding the linear order linearOrder, each element has a
+	 * cover edge to the element after it.
+	 *
+	 * @param linearOrder the elements of a linear order, in order.
+	 */
+	public IntPoset(int[] linearOrder) {
+
+		this(linearOrder.length);
+
+		int prevIndex = -1;
+		for (int element : linearOrder) {
+
+			int index = addVertex(element);
+
+			if (prevIndex != -1 && index != -1) {
+
+				addEdge(prevIndex, index);
+			}
+
+			prevIndex = index;
+		}
+	}
+
+	/**
+	 * Creates an IntPoset holding all of the same vertices, at the same indices,
+	 * and edges as the passed in Poset.
+	 *
+	 * @param poset the Poset to convert.
+	 */
+	public IntPoset(Poset<Integer> poset) {
+
+		this(poset.getCapacity());
+
+		for (int i = 0; i < capacity; i++) {
+
+			Integer element = poset.getVertex(i);
+			if (element != null) {
+
+				placeVertex(i, element);
+			}
+		}
+
+		for (int i = 0; i < capacity; i++) {
+
+			for (int j = poset.nextSuccessor(i, 0); j != -1; j = poset.nextSuccessor(i, j + 1)) {
+
+				if (poset.hasClosureEdge(i, j) && !poset.hasEdge(i, j)) {
+
+					addClosureEdge(i, j);
+				}
+				else {
+
+					addEdge(i, j);
+				}
+			}
+		}
+	}
+
+	//~Methods-------------------------------------------------
+	/**
+	 * Makes a Poset<Integer> holding the same vertices, at the same indices, and edges.
+	 *
+	 * @return the new Poset.
+	 */
+	public Poset<Integer> toPoset() {
+
+		return new Poset<Integer>(this);
+	}
+
+	@Override
+	public IntPoset makeCopy() {
+
+		IntPoset copy = makeEmptyCopy();
+		copyInto(copy);
+
+		return copy;
+	}
+
+	@Override
+	public IntPoset makeEmptyCopy() {
+
+		return new IntPoset(capacity);
+	}
+
+	@Override
+	protected void copyInto(IntAdjacencyMatrix copy) {
+
+		super.copyInto(copy);
+
+		((IntPoset) copy).kinds = kinds.clone();
+	}
+
+	/**
+	 * Adds a cover edge from index1 to index2, replacing a closure edge if there is one.
+	 * All edge weights in the partial order are 1, so weight is ignored.
+	 *
+	 * @param index1 the index of the from vertex.
+	 * @param index2 the index of the to vertex.
+	 * @param weight ignored.
+	 * @return true if the cover edge was added, false if it already existed or an index is invalid.
+	 */
+	@Override
+	public boolean addEdge(int index1, int index2, int weight) {
+
+		if (inBounds(index1, index2) && kindAt(index1, index2) != COVER) {
+
+			storeWeight(index1, index2, 1);
+			kinds[index1 * capacity + index2] = COVER;
+
+			return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Adds an edge of the kind edge is from index1 to index2, a closure edge for a
+	 * ClosureEdge and a cover edge otherwise.
+	 *
+	 * @param index1 the index of the from vertex.
+	 * @param index2 the index of the to vertex.
+	 * @param edge the edge whose kind to store, its weight has to be 1.
+	 * @return true if the edge was added, false otherwise.
+	 */
+	@Override
+	public boolean addEdge(int index1, int index2, IntEdge<Integer> edge) {
+
+		if (edge == null || edge.getWeight() != 1 || !inBounds(index1, index2)) {
+
+			return false;
+		}
+
+		storeWeight(index1, index2, 1);
+		kinds[index1 * capacity + index2] =
+				(edge instanceof ClosureEdge<?> && !(edge instanceof CoverEdge<?>)) ? CLOSURE : COVER;
+
+		return true;
+	}
+
+	/**
+	 * Adds a closure edge from index1 to index2.
+	 *
+	 * @param index1 the index of the from vertex.
+	 * @param index2 the index of the to vertex.
+	 * @return true if the edge was added, false if there already is an edge or an index is invalid.
+	 */
+	public boolean addClosureEdge(int index1, int index2) {
+
+		if (inBounds(index1, index2) && weightAt(index1, index2) == 0) {
+
+			storeWeight(index1, index2, 1);
+			kinds[index1 * capacity + index2] = CLOSURE;
+
+			return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Returns whether there is a cover edge from index1 to index2.
+	 *
+	 * @param index1 index of the from vertex.
+	 * @param index2 index of the to vertex.
+	 * @return true if the cover edge exists, false otherwise.
+	 */
+	public boolean hasEdge(int index1, int index2) {
+
+		return inBounds(index1, index2) && kindAt(index1, index2) == COVER;
+	}
+
+	/**
+	 * Returns whether there is a closure edge (or a cover edge) from index1 to index2.
+	 *
+	 * @param index1 index of the from vertex.
+	 * @param index2 index of the to vertex.
+	 * @return true if the edge exists, false otherwise.
+	 */
+	public boolean hasClosureEdge(int index1, int index2) {
+
+		return inBounds(index1, index2) && kindAt(index1, index2) != NONE;
+	}
+
+	/**
+	 * Finds the lowest index, at least from, that the vertex at index has a cover edge to.
+	 *
+	 * @param index the index of the vertex the edges go from.
+	 * @param from the lowest index to consider.
+	 * @return the index of the next vertex index covers, -1 if there is none.
+	 */
+	public int nextCoverSuccessor(int index, int from) {
+
+		if (index < 0 || index >= capacity) {
+
+			return -1;
+		}
+
+		int row = index * capacity;
+
+		for (int i = Math.max(from, 0); i < capacity; i++) {
+
+			if (kinds[row + i] == COVER) {
+
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Finds the lowest index, at least from, that has a cover edge to the vertex at index.
+	 *
+	 * @param index the index of the vertex the edges go to.
+	 * @param from the lowest index to consider.
+	 * @return the index of the next vertex that covers index, -1 if there is none.
+	 */
+	public int nextCoverPredecessor(int index, int from) {
+
+		if (index < 0 || index >= capacity) {
+
+			return -1;
+		}
+
+		for (int i = Math.max(from, 0); i < capacity; i++) {
+
+			if (kinds[i * capacity + index] == COVER) {
+
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Takes the transitive closure of this IntPoset in a single packed Warshall pass.
+	 * Edges already in this IntPoset are carried over as is, every vertex gets a
+	 * closure edge to itself, and the pairs the closure added get closure edges.
+	 *
+	 * @return a new IntPoset holding the same vertices at the same indices, and the closure's edges.
+	 */
+	public IntPoset transitiveClosure() {
+
+		return transitiveClosure(BitMatrix.DEFAULT_PARALLEL_THRESHOLD);
+	}
+
+	/**
+	 * Takes the transitive closure of this IntPoset, running the Warshall pass on the
+	 * common ForkJoinPool when the IntPoset has at least parallelThreshold vertex slots.
+	 *
+	 * @param parallelThreshold the capacity below which the closure runs sequentially.
+	 * @return a new IntPoset holding the same vertices at the same indices, and the closure's edges.
+	 */
+	public IntPoset transitiveClosure(int parallelThreshold) {
+
+		BitMatrix closure = new BitMatrix(capacity);
+
+		for (int i = 0; i < capacity; i++) {
+
+			for (int j = nextSuccessor(i, 0); j != -1; j = nextSuccessor(i, j + 1)) {
+
+				closure.set(i, j);
+			}
+			if (hasVertexAt(i)) {
+
+				closure.set(i, i);
+			}
+		}
+
+		closure.transitiveClosure(parallelThreshold);
+
+		IntPoset result = makeCopy();
+
+		for (int i = 0; i < capacity; i++) {
+
+			for (int j = closure.nextSetBit(i, 0); j != -1; j = closure.nextSetBit(i, j + 1)) {
+
+				//The self edges are always closure edges
+				if (i == j) {
+
+					result.storeWeight(i, j, 1);
+					result.kinds[i * capacity + j] = CLOSURE;
+				}
+				else {
+
+					result.addClosureEdge(i, j);
+				}
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Clears the kind of an edge when its weight is cleared,
+	 * an edge stored without a kind is a cover edge.
+	 */
+	@Override
+	protected void storeWeight(int index1, int index2, int weight) {
+
+		super.storeWeight(index1, index2, weight);
+
+		int cell = index1 * capacity + index2;
+
+		if (weight == 0) {
+
+			kinds[cell] = NONE;
+		}
+		else if (kinds[cell] == NONE) {
+
+			kinds[cell] = COVER;
+		}
+	}
+
+	@Override
+	protected void resize(int newCapacity) {
+
+		byte[] grown = new byte[newCapacity * newCapacity];
+
+		for (int i = 0; i < capacity; i++) {
+
+			System.arraycopy(kinds, i * capacity, grown, i * newCapacity, capacity);
+		}
+
+		kinds = grown;
+
+		super.resize(newCapacity);
+	}
+
+	@Override
+	protected void clearEdgesOf(int index) {
+
+		super.clearEdgesOf(index);
+
+		Arrays.fill(kinds, index * capacity, (index + 1) * capacity, NONE);
+		for (int i = index; i < kinds.length; i += capacity) {
+
+			kinds[i] = NONE;
+		}
+	}
+
+	/**
+	 * Makes the CoverEdge or ClosureEdge from index1 to index2 without bounds checking.
+	 *
+	 * @param index1 the index of the from vertex.
+	 * @param index2 the index of the to vertex.
+	 * @return the edge from index1 to index2, the empty edge if there is none.
+	 */
+	@Override
+	protected Edge<Integer> edgeAt(int index1, int index2) {
+
+		switch (kindAt(index1, index2)) {
+
+			case COVER:
+				return new CoverEdge<Integer>(1, elements[index1], elements[index2]);
+			case CLOSURE:
+				return new ClosureEdge<Integer>(1, elements[index1], elements[index2]);
+			default:
+				return empty;
+		}
+	}
+
+	/**
+	 * Gets the kind of the edge from index1 to index2 without bounds checking.
+	 *
+	 * @param index1 the index of the from vertex.
+	 * @param index2 the index of the to vertex.
+	 * @return NONE, COVER or CLOSURE.
+	 */
+	private byte kindAt(int index1, int index2) {
+
+		return kinds[index1 * capacity + index2];
+	}
+}
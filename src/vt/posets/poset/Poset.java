@@ -1,23 +1,24 @@
 package vt.posets.poset;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
-import java.util.Set;
+import java.util.function.IntConsumer;
 
 import vt.posets.graph.*;
 
 /**
- * A class representing a partial order. 
- * Contains set objects that can be used to quickly check for containment of
- * edges and vertices and extends the AdjacencyMatrix class.
+ * A class representing a partial order, extends the AdjacencyMatrix class.
  * 
  * The rows are the FROM vertices, and the columns are the TO vertices. 
  * 
+ * The edges are kept as two packed bit planes. The graph's own bits hold every
+ * edge (cover or closure) and covers holds the cover edges, so telling a cover
+ * edge from a closure edge is a bit test. CoverEdge and ClosureEdge objects are
+ * only made when an edge is asked for.
+ * 
  * @author Ethan Gaebel (egaebel)
  *
  * @param <T> the data type that is being modeled by the partial order.
@@ -28,17 +29,27 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
 
 	//~Data Fields--------------------------------------------
 	/**
-	 * A set object used to quickly check for vertex containment on the partial order.
+	 * Bit (i, j) is set if the edge from i to j is a cover edge.
+	 * Every cover edge is also set in bits, which holds all of the edges.
 	 */
-	private Set<T> vertexSet;
+	private BitMatrix covers;
 	/**
-	 * A set object used to quickly check for edge containment on the partial order.
+	 * The Pruesse & Ruskey encoding of this Poset, or null if it
+	 * hasn't been made since the Poset last changed.
 	 */
-	private Set<IntEdge<T>> edgeSet;
+	private PruesseRuskeyEncoding encodingCache;
+	
 	/**
-	 * 
+	 * The reflexive transitive closure of the relations in this Poset, or null if it
+	 * hasn't been computed since the Poset last changed.
+	 */
+	private BitMatrix closureCache;
+	
+	/**
+	 * The transitive reduction (the cover relation) of this Poset, or null if it
+	 * hasn't been computed since the Poset last changed.
 	 */
-	private Map<Integer, Integer> curMapping;
+	private BitMatrix reductionCache;
 	
 	//~Constructors--------------------------------------------
 	/**
@@ -46,10 +57,7 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
 	 */
 	public Poset() {
 		
-		super(true);
-		
-		edgeSet = new HashSet<IntEdge<T>>();
-		vertexSet = new HashSet<T>();
+		this(DEFAULT_SIZE);
 	}
 	
 	/**
@@ -59,37 +67,39 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
 	 */
 	public Poset(int capacity) {
 		
-		super(true, capacity);
+		super(true, capacity, true);
 		
-		edgeSet = new HashSet<IntEdge<T>>();
-		vertexSet = new HashSet<T>();
+		covers = new BitMatrix(capacity);
 	}
 	
 	/**
-	 * Constructor that creates a new Poset holding all of the same vertices
-	 * and edges as the passed in AdjacencyMatrix.
+	 * Constructor that creates a new Poset holding all of the same vertices,
+	 * at the same indices, and edges as the passed in Graph.
+	 * The Graph may be stored either way (see GraphBackend), the Poset
+	 * itself is always stored as a matrix.
 	 * 
-	 * @param adjMatrix an AdjacencyMatrix to use to create this Poset.
+	 * @param graph a Graph to use to create this Poset.
 	 */
-	public Poset(AdjacencyMatrix<T, IntEdge<T>> adjMatrix) {
-		
-		super(true, adjMatrix.getCapacity());
+	public Poset(Graph<T, ? extends IntEdge<T>> graph) {
 		
-		edgeSet = new HashSet<IntEdge<T>>();
-		vertexSet = new HashSet<T>();
+		this(graph.getCapacity());
 		
 		//Copy over vertices
-		for (T vertex : adjMatrix.getVertices()) {
+		for (int i = 0; i < graph.getCapacity(); i++) {
 			
-			this.addVertex(vertex);
+			T vertex = graph.getVertex(i);
+			if (vertex != null) {
+				
+				placeVertex(i, vertex);
+			}
 		}
 		
 		//Copy over edges
-		for (int i = 0; i < adjMatrix.getCapacity(); i++) {
+		for (int i = 0; i < graph.getCapacity(); i++) {
 			
-			for (int j = 0; j < adjMatrix.getCapacity(); j++) {
+			for (int j = graph.nextSuccessor(i, 0); j != -1; j = graph.nextSuccessor(i, j + 1)) {
 				
-				matrix[i][j] = adjMatrix.getEdge(i, j);
+				storeEdge(i, j, graph.getEdge(i, j));
 			}
 		}
 	}
@@ -107,10 +117,7 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
 	 */
 	public Poset(List<T> linearOrder) {
 
-		super(true, linearOrder.size());
-		
-		edgeSet = new HashSet<IntEdge<T>>();
-		vertexSet = new HashSet<T>();
+		this(linearOrder.size());
 		
 		T prevElement = null;
 		for (T element : linearOrder) {
@@ -124,18 +131,6 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
 			
 			prevElement = element;
 		}
-		
-		//Initialize un-set edges to be empty.
-		for (int i = 0; i < capacity; i++) {
-			
-			for (int j = 0; j < capacity; j++) {
-		
-				if (!this.hasEdge(i, j)) {
-				
-					matrix[i][j] = empty;
-				}
-			}
-		}
 	}
 	
 	/**
@@ -147,41 +142,23 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
 	 */
 	public Poset(List<T> vertexList, int size) {
 		
-		super(true, size);
-		
-		edgeSet = new HashSet<IntEdge<T>>();
-		vertexSet = new HashSet<T>();
+		this(size);
 		
 		for (T element : vertexList) {
 			
 			addVertex(element);
 		}
-		
-		//Initialize edges to be empty
-		for (int i = 0; i < capacity; i++) {
-			
-			for (int j = 0; j < capacity; j++) {
-				
-				matrix[i][j] = empty;
-			}
-		}
 	}
 
 	//~Methods-------------------------------------------------
 	@Override
 	public int addVertex(T element) {
 		
-		curMapping = null;
+		invalidate();
 		
-		if (!vertexSet.contains(element)) {
-			
-			int elementIndex = super.addVertex(element);
+		if (!containsVertex(element)) {
 			
-			if (elementIndex > -1) {
-				vertexSet.add(element);
-			}
-			
-			return elementIndex;
+			return super.addVertex(element);
 		}
 		else {
 			
@@ -192,37 +169,17 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
 	@Override
 	public boolean removeVertex(T element) {
 		
-		curMapping = null;
+		invalidate();
 		
-		if (vertexSet.contains(element)) {
-			
-			boolean removeSuccessful = super.removeVertex(element);
-			
-			if (removeSuccessful) {
-				
-				vertexSet.remove(element);
-			}
-			
-			return removeSuccessful;
-		}
-		
-		return false;
+		return super.removeVertex(element);
 	}
 	
 	@Override
 	public boolean removeVertex(int index) {
 		
-		curMapping = null;
-		
-		T removedVertex = super.getVertex(index);
-		boolean removeSuccessful = super.removeVertex(index);
-		
-		if (removeSuccessful) {
-			
-			vertexSet.remove(removedVertex);
-		}
+		invalidate();
 		
-		return removeSuccessful;
+		return super.removeVertex(index);
 	}
 	
 	/**
@@ -232,7 +189,7 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
 	 */
 	public void addLinearOrder(ArrayList<T> linearOrder) {
 	
-		curMapping = null;
+		invalidate();
 		
 		if (linearOrder.size() > 0) {
 			
@@ -278,7 +235,7 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
 	@Override
 	public boolean addEdge(T element1, T element2) {
 		
-		curMapping = null;
+		invalidate();
 
 		return super.addEdge(element1, element2);
 	}
@@ -287,25 +244,24 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
      * Adds a CoverEdge between index1 and index2 of weight weight.
      * If it's directed, adds the edge from index1 to index 2. 
      * Returns true if the edge doesn't exist, (the new edge was created) and false otherwise.
+     * A closure edge between index1 and index2 is turned into a cover edge.
      * 
      * @param index1 the number of the first vertex (the from vertex)
      * @param index2 the number of the second vertex (the to vertex)
      * @return true if an edge doesn't exist, false otherwise.
      */
 	@Override
-    @SuppressWarnings("unchecked")
 	public boolean addEdge(int index1, int index2, int weight) {
 
-		curMapping = null;
+		invalidate();
 
         if (index1 > -1 && index2 > -1 
                 && index1 < this.getCapacity() && index2 < this.getCapacity()
-                && (((Edge<T>) matrix[index1][index2]).getWeight() == 0 || matrix[index1][index2] instanceof ClosureEdge)) {
+                && !covers.get(index1, index2)) {
 
         	//All edge weights in the partial order are 1
-            CoverEdge<T> newEdge = new CoverEdge<T>(1, (T) elements[index1], (T) elements[index2]);
-            matrix[index1][index2] = newEdge;
-            edgeSet.add(newEdge);
+            bits.set(index1, index2);
+            covers.set(index1, index2);
             
             return true;
         }
@@ -315,6 +271,7 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
     
     /**
      * Returns true if the edge is successfully added, false if it is not.
+     * A ClosureEdge is added as a closure edge, any other edge as a cover edge.
      * 
      * @param index1 the number of the first vertex (the from vertex).
      * @param index2 the number of the second vertex (the to vertex).
@@ -323,7 +280,7 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
     @Override
     public boolean addEdge(int index1, int index2, IntEdge<T> edge) {
         
-    	curMapping = null;
+    	invalidate();
     	
     	//All edge weights in the partial order are 1
     	if (edge.getWeight() != 1) {
@@ -333,8 +290,7 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
         if (index1 > -1 && index1 < this.getCapacity()
                 && index2 > -1 && index2 < this.getCapacity() && edge != null) {
                     	
-            matrix[index1][index2] = edge;
-            edgeSet.add(edge);
+            storeEdge(index1, index2, edge);
             
             return true;
         }
@@ -352,7 +308,7 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
      */
     public boolean addClosureEdge(int index1, int index2) {
     	
-    	curMapping = null;
+    	invalidate();
     	
     	return addClosureEdge(index1, index2, 1);
     }
@@ -366,19 +322,16 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
      * @param newEdge the edge to add
      * @return true if an edge doesn't exist, false otherwise.
      */
-    @SuppressWarnings("unchecked")
 	public boolean addClosureEdge(int index1, int index2, ClosureEdge<T> newEdge) {
 
-    	curMapping = null;
+    	invalidate();
     	
         if (index1 > -1 && index2 > -1 
                 && index1 < this.getCapacity() && index2 < this.getCapacity()
-                && ((Edge<T>) matrix[index1][index2]).getWeight() == 0
-                && !edgeSet.contains(newEdge)
-                && vertexSet.contains(newEdge.getFrom()) && vertexSet.contains(newEdge.getTo())) {
+                && weightAt(index1, index2) == 0
+                && containsVertex(newEdge.getFrom()) && containsVertex(newEdge.getTo())) {
 
-            matrix[index1][index2] = newEdge;
-            edgeSet.add(newEdge);
+            bits.set(index1, index2);
             
             return true;
         }
@@ -395,19 +348,16 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
      * @param index2 the number of the second vertex (the to vertex)
      * @return true if an edge doesn't exist, false otherwise.
      */
-    @SuppressWarnings("unchecked")
 	public boolean addClosureEdge(int index1, int index2, int weight) {
 
-    	curMapping = null;
+    	invalidate();
     	
         if (index1 > -1 && index2 > -1 
                 && index1 < this.getCapacity() && index2 < this.getCapacity()
-                && ((Edge<T>) matrix[index1][index2]).getWeight() == 0) {
+                && !bits.get(index1, index2)) {
 
         	//All edge weights in the partial order are 1
-            ClosureEdge<T> newEdge = new ClosureEdge<T>(1, (T) elements[index1], (T) elements[index2]);
-            matrix[index1][index2] = newEdge;
-            edgeSet.add(newEdge);
+            bits.set(index1, index2);
             
             return true;
         }
@@ -424,7 +374,7 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
      */
     public boolean addClosureEdge(T from, T to) {
     	
-    	curMapping = null;
+    	invalidate();
     	
     	if (from != null && to != null) {
     	
@@ -446,11 +396,12 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
      */
     public boolean hasEdge(T element1, T element2) {
 
-    	return edgeSet.contains(new CoverEdge<T>(1, element1, element2));
+    	return hasEdge(findVertex(element1), findVertex(element2));
     }
     
     /**
-     * Returns whether there exists a ClosureEdge that goes from element1 to element2.
+     * Returns whether there exists a ClosureEdge (or a CoverEdge, since a CoverEdge
+     * IS a ClosureEdge) that goes from element1 to element2.
      * 
      * @param element1 the vertex the edge comes from.
      * @param element2 the vertex the edge goes to.
@@ -458,7 +409,7 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
      */
     public boolean hasClosureEdge(T element1, T element2) {
 
-    	return edgeSet.contains(new ClosureEdge<T>(1, element1, element2));
+    	return hasClosureEdge(findVertex(element1), findVertex(element2));
     }
     
     /**
@@ -472,15 +423,15 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
     public boolean hasEdge(int index1, int index2) {
     	
     	if (index1 >= 0 && index1 < capacity && index2 >= 0 && index2 < capacity) {
-    		return matrix[index1][index2] instanceof CoverEdge;
+    		return covers.get(index1, index2);
     	}
     	
     	return false;
     }
     
     /**
-     * Returns whether there exists a ClosureEdge that goes from the element at index1 to
-     * the element at index2.
+     * Returns whether there exists a ClosureEdge (or a CoverEdge) that goes from the element
+     * at index1 to the element at index2.
      * 
      * @param index1 index of the from vertex.
      * @param index2 index of the to vertex.
@@ -489,7 +440,7 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
     public boolean hasClosureEdge(int index1, int index2) {
     	
     	if (index1 >= 0 && index1 < capacity && index2 >= 0 && index2 < capacity) {
-    		return matrix[index1][index2] instanceof ClosureEdge;
+    		return bits.get(index1, index2);
     	}
     	
     	return false;
@@ -504,27 +455,15 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
      * @param element the element to find the edges for.
      * @return the List of vertices that element has edges TO
      */
-    @SuppressWarnings("unchecked")
     public List<T> getClosureEdgesTo(T element) {
 
         int index = findVertex(element);
         
         List<T> closureEdges = new LinkedList<T>();
         
-        //if the passed element exists
-        if (index != -1) {
-            
-            //Loop over all possible edges and if there isn't a 0
-                //adds them to the edges List
-            for (int i = 0; i < capacity; i++) {
-                
-                //if the edge HAS a weight
-            	if (((Edge<T>) matrix[index][i]).getWeight() != 0 
-                		&& matrix[index][i] instanceof ClosureEdge<?>) { 
-                 
-                    closureEdges.add(elements[i]);
-                }
-            }
+        for (int i = nextClosureSuccessor(index, 0); i != -1; i = nextClosureSuccessor(index, i + 1)) {
+        	
+        	closureEdges.add(elements[i]);
         }
         
         return closureEdges;
@@ -539,27 +478,15 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
      * @param element the element to find the edges for.
      * @return the List of vertices that element has edges TO
      */
-    @SuppressWarnings("unchecked")
     public List<T> getCoverEdgesTo(T element) {
 
         int index = findVertex(element);
         
         List<T> coverEdges = new LinkedList<T>();
         
-        //if the passed element exists
-        if (index != -1) {
-            
-            //Loop over all possible edges and if there isn't a 0
-                //adds them to the edges List
-            for (int i = 0; i < capacity; i++) {
-                
-                //if the edge HAS a weight and is a cover edge
-                if (((Edge<T>) matrix[index][i]).getWeight() != 0 
-                		&& matrix[index][i] instanceof CoverEdge<?>) { 
-                 
-                    coverEdges.add(elements[i]);
-                }
-            }
+        for (int i = nextCoverSuccessor(index, 0); i != -1; i = nextCoverSuccessor(index, i + 1)) {
+        	
+        	coverEdges.add(elements[i]);
         }
         
         return coverEdges;
@@ -580,19 +507,9 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
         
         List<T> edges = new LinkedList<T>();
         
-        //if the passed element exists
-        if (index != -1) {
+        for (int i = nextCoverPredecessor(index, 0); i != -1; i = nextCoverPredecessor(index, i + 1)) {
         	
-            //Loop over all possible edges and if there isn't a 0
-                //adds them to the edges List
-            for (int i = 0; i < capacity; i++) {
-                
-                //if the edge is a cover edge
-                if (matrix[i][index] instanceof CoverEdge<?>) { 
-                 
-                    edges.add(elements[i]);
-                }
-            }
+        	edges.add(elements[i]);
         }
         
         return edges;
@@ -623,29 +540,227 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
      * @param index the index that the element is at
      * @return the List of vertices that element has edges FROM.
      */
-    @SuppressWarnings("unchecked")
 	public List<T> getClosureEdgesFrom(int index) {
     	
     	List<T> edges = new LinkedList<T>();
     	
-    	//if the passed element exists
-        if (index != -1) {
-            //Loop over all possible edges and if there isn't a 0
-                //adds them to the edges List
-            for (int i = 0; i < capacity; i++) {
-                
-                //if the edge HAS a weight
-                if (((Edge<T>) matrix[i][index]).getWeight() != 0
-                		&& matrix[i][index] instanceof ClosureEdge<?>) {
-                 
-                    edges.add(elements[i]);
-                }
-            }
+        for (int i = nextClosurePredecessor(index, 0); i != -1; i = nextClosurePredecessor(index, i + 1)) {
+        	
+        	edges.add(elements[i]);
         }
         
         return edges;
     }
     
+    /**
+     * Finds the lowest index, at least from, that the vertex at index has a cover edge to.
+     * 
+     * @param index the index of the vertex the edges go from.
+     * @param from the lowest index to consider.
+     * @return the index of the next vertex index covers, -1 if there is none.
+     */
+    public int nextCoverSuccessor(int index, int from) {
+    	
+    	return nextOfKind(index, from, true, true);
+    }
+    
+    /**
+     * Finds the lowest index, at least from, that has a cover edge to the vertex at index.
+     * 
+     * @param index the index of the vertex the edges go to.
+     * @param from the lowest index to consider.
+     * @return the index of the next vertex that covers index, -1 if there is none.
+     */
+    public int nextCoverPredecessor(int index, int from) {
+    	
+    	return nextOfKind(index, from, false, true);
+    }
+    
+    /**
+     * Finds the lowest index, at least from, that the vertex at index has a closure edge 
+     * (or a cover edge, since a CoverEdge IS a ClosureEdge) to.
+     * 
+     * @param index the index of the vertex the edges go from.
+     * @param from the lowest index to consider.
+     * @return the index of the next vertex above index, -1 if there is none.
+     */
+    public int nextClosureSuccessor(int index, int from) {
+    	
+    	return nextOfKind(index, from, true, false);
+    }
+    
+    /**
+     * Finds the lowest index, at least from, that has a closure edge 
+     * (or a cover edge) to the vertex at index.
+     * 
+     * @param index the index of the vertex the edges go to.
+     * @param from the lowest index to consider.
+     * @return the index of the next vertex below index, -1 if there is none.
+     */
+    public int nextClosurePredecessor(int index, int from) {
+    	
+    	return nextOfKind(index, from, false, false);
+    }
+    
+    /**
+     * Scans the row (successors) or column (predecessors) of index for the next
+     * cover edge, or the next closure edge. Rows are scanned a word at a time.
+     * 
+     * @param index the index of the vertex to scan the edges of.
+     * @param from the lowest index to consider.
+     * @param successors true to scan edges from index, false to scan edges to index.
+     * @param coverOnly true to only accept cover edges, false to accept any closure edge.
+     * @return the next index with an edge of the kind asked for, -1 if there is none.
+     */
+    private int nextOfKind(int index, int from, boolean successors, boolean coverOnly) {
+    	
+    	if (index < 0 || index >= capacity) {
+    		
+    		return -1;
+    	}
+    	
+    	BitMatrix plane = coverOnly ? covers : bits;
+    	
+    	if (successors) {
+    		
+    		return plane.nextSetBit(index, from);
+    	}
+    	
+    	for (int i = Math.max(from, 0); i < capacity; i++) {
+    		
+    		if (plane.get(i, index)) {
+    			
+    			return i;
+    		}
+    	}
+    	
+    	return -1;
+    }
+    
+    /**
+     * Passes the index of every vertex that the vertex at index covers, lowest first, to action.
+     * 
+     * @param index the index of the vertex the cover edges go from.
+     * @param action what to do with each index.
+     */
+    public void forEachCoverSuccessor(int index, IntConsumer action) {
+    	
+    	for (int i = nextCoverSuccessor(index, 0); i != -1; i = nextCoverSuccessor(index, i + 1)) {
+    		
+    		action.accept(i);
+    	}
+    }
+    
+    /**
+     * Passes the index of every vertex that covers the vertex at index, lowest first, to action.
+     * 
+     * @param index the index of the vertex the cover edges go to.
+     * @param action what to do with each index.
+     */
+    public void forEachCoverPredecessor(int index, IntConsumer action) {
+    	
+    	for (int i = nextCoverPredecessor(index, 0); i != -1; i = nextCoverPredecessor(index, i + 1)) {
+    		
+    		action.accept(i);
+    	}
+    }
+    
+    /**
+     * Passes the index of every vertex the vertex at index has a closure edge to, lowest first, to action.
+     * 
+     * @param index the index of the vertex the closure edges go from.
+     * @param action what to do with each index.
+     */
+    public void forEachClosureSuccessor(int index, IntConsumer action) {
+    	
+    	for (int i = nextClosureSuccessor(index, 0); i != -1; i = nextClosureSuccessor(index, i + 1)) {
+    		
+    		action.accept(i);
+    	}
+    }
+    
+    /**
+     * Passes the index of every vertex with a closure edge to the vertex at index, lowest first, to action.
+     * 
+     * @param index the index of the vertex the closure edges go to.
+     * @param action what to do with each index.
+     */
+    public void forEachClosurePredecessor(int index, IntConsumer action) {
+    	
+    	for (int i = nextClosurePredecessor(index, 0); i != -1; i = nextClosurePredecessor(index, i + 1)) {
+    		
+    		action.accept(i);
+    	}
+    }
+    
+    /**
+     * Makes a cursor over the vertices that a vertex covers.
+     * 
+     * @return a new NeighborCursor, reset it to a vertex before use.
+     */
+    public NeighborCursor coverSuccessorCursor() {
+    	
+    	return new NeighborCursor() {
+    		
+    		@Override
+    		protected int nextNeighbor(int vertex, int from) {
+    			
+    			return nextCoverSuccessor(vertex, from);
+    		}
+    	};
+    }
+    
+    /**
+     * Makes a cursor over the vertices that cover a vertex.
+     * 
+     * @return a new NeighborCursor, reset it to a vertex before use.
+     */
+    public NeighborCursor coverPredecessorCursor() {
+    	
+    	return new NeighborCursor() {
+    		
+    		@Override
+    		protected int nextNeighbor(int vertex, int from) {
+    			
+    			return nextCoverPredecessor(vertex, from);
+    		}
+    	};
+    }
+    
+    /**
+     * Makes a cursor over the vertices that a vertex has closure edges to.
+     * 
+     * @return a new NeighborCursor, reset it to a vertex before use.
+     */
+    public NeighborCursor closureSuccessorCursor() {
+    	
+    	return new NeighborCursor() {
+    		
+    		@Override
+    		protected int nextNeighbor(int vertex, int from) {
+    			
+    			return nextClosureSuccessor(vertex, from);
+    		}
+    	};
+    }
+    
+    /**
+     * Makes a cursor over the vertices that have closure edges to a vertex.
+     * 
+     * @return a new NeighborCursor, reset it to a vertex before use.
+     */
+    public NeighborCursor closurePredecessorCursor() {
+    	
+    	return new NeighborCursor() {
+    		
+    		@Override
+    		protected int nextNeighbor(int vertex, int from) {
+    			
+    			return nextClosurePredecessor(vertex, from);
+    		}
+    	};
+    }
+    
     /**
      * Retrieves the CoverEdge that goes from element1 to element2.
      * If no such edge exists, return null.
@@ -658,10 +773,9 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
     @Override
     public Edge<T> getEdge(T element1, T element2) {
     	
-    	CoverEdge<T> theEdge = new CoverEdge<T>(1, element1, element2);
-    	if (edgeSet.contains(theEdge)) {
+    	if (hasEdge(element1, element2)) {
     		
-    		return theEdge;
+    		return new CoverEdge<T>(1, element1, element2);
     	}
     	else {
     		
@@ -681,10 +795,12 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
      */
     public ClosureEdge<T> getClosureEdge(T element1, T element2) {
     	
-    	ClosureEdge<T> theClosureEdge = new ClosureEdge<T>(1, element1, element2);
-    	if (edgeSet.contains(theClosureEdge)) {
+    	int index1 = findVertex(element1);
+    	int index2 = findVertex(element2);
+    	
+    	if (hasClosureEdge(index1, index2)) {
     		
-    		return theClosureEdge;
+    		return (ClosureEdge<T>) edgeAt(index1, index2);
     	}
     	else {
     		
@@ -697,19 +813,15 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
      * 
      * @return List of all existant edges in this adjacency matrix.
      */
-    @SuppressWarnings("unchecked")
     public List<CoverEdge<T>> getCoverEdges() {
         
         List<CoverEdge<T>> edges = new LinkedList<CoverEdge<T>>();
         
         for (int i = 0; i < capacity; i++) {
             
-            for (int j = 0; j < capacity; j++) {
+            for (int j = covers.nextSetBit(i, 0); j != -1; j = covers.nextSetBit(i, j + 1)) {
 
-                if ((matrix[i][j] instanceof CoverEdge<?>)) {
-                    
-                    edges.add((CoverEdge<T>) matrix[i][j]);
-                }
+                edges.add(new CoverEdge<T>(1, elements[i], elements[j]));
             }
         }
         
@@ -717,23 +829,19 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
     }
 
     /**
-     * Gets a list of all the edges of type ClosureEdge.
+     * Gets a list of all the edges of type ClosureEdge (cover edges included).
      * 
      * @return List of all existant edges in this adjacency matrix.
      */
-    @SuppressWarnings("unchecked")
     public List<ClosureEdge<T>> getClosureEdges() {
         
         List<ClosureEdge<T>> edges = new LinkedList<ClosureEdge<T>>();
         
         for (int i = 0; i < capacity; i++) {
             
-            for (int j = 0; j < capacity; j++) {
+            for (int j = bits.nextSetBit(i, 0); j != -1; j = bits.nextSetBit(i, j + 1)) {
                 
-                if ((matrix[i][j] instanceof ClosureEdge<?>)) {
-                    
-                    edges.add((ClosureEdge<T>) matrix[i][j]);
-                }
+                edges.add((ClosureEdge<T>) edgeAt(i, j));
             }
         }
         
@@ -748,15 +856,7 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
      */
     public int getIndexOf(T element) {
     	
-    	for (int i = 0; i < capacity; i++) {
-    		
-    		if (elements[i] != null && element.equals(elements[i])) {
-    			
-    			return i;
-    		}
-    	}
-    	
-    	return -1;
+    	return findVertex(element);
     }
     
     /**
@@ -764,7 +864,6 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
      * 
      * @return A List<T> of vertices that have no edges going into them.
      */
-    @SuppressWarnings("unchecked")
 	public List<T> getStarterVertices() {
 
     	List<T> starterVertices = new ArrayList<T>();
@@ -775,8 +874,7 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
     		
     		for (int j = 0; j < capacity; j++) {
     			
-    			if (((Edge<T>) matrix[j][i]).getWeight() != 0 
-    					&& j != i) {
+    			if (bits.get(j, i) && j != i) {
     			
     				tos++;
     			}
@@ -799,16 +897,19 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
      * Returns the current mapping used for translating the resulting string from the
      * Pruesse & Ruskey String method.
      * 
-     * @return curMapping the mapping of the indices in the Pruesse & RUskey string to the actual indices.
+     * @return curMapping the mapping of the indices in the Pruesse & RUskey string to the actual indices,
+     * 			null if the String hasn't been made since this Poset last changed.
      */
     public Map<Integer, Integer> getCurMapping() {
     	
-    	return curMapping;
+    	PruesseRuskeyEncoding encoding = encodingCache;
+    	
+    	return (encoding == null) ? null : encoding.toMap();
     }
     
     /**
      * Takes a List of linear orders, in the form ArrayList<ArrayList<String>> and maps them according to the
-     * current mapping Map.
+     * mapping of pruesseRuskeyEncoding.
      * 
      * @param linearOrders the linear orders to map.
      * @return the mapped linear orders.
@@ -816,6 +917,7 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
     public ArrayList<ArrayList<T>> applyMapping(ArrayList<ArrayList<String>> linearOrders) {
     	
     	ArrayList<ArrayList<T>> mappedLinearOrders = new ArrayList<ArrayList<T>>();
+    	PruesseRuskeyEncoding encoding = pruesseRuskeyEncoding();
     	
     	for (ArrayList<String> linearOrder : linearOrders) {
     		
@@ -825,7 +927,7 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
     		for (int i = 0; i < linearOrder.size(); i++) {
     			
     			int toMapIndex = Integer.parseInt(linearOrder.get(i));
-    			int index = curMapping.get(toMapIndex);
+    			int index = encoding.indexOf(toMapIndex);
     			
     			mappedLinearOrder.add(elements[index]);
     		}
@@ -860,13 +962,12 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
      */
     public boolean swapEdgeToCover(int index1, int index2) {
     	
+    	invalidate();
+    	
     	if (index1 < capacity && index2 < capacity && index1 >= 0 && index2 >= 0 
-    			&& !(matrix[index1][index2] instanceof EmptyEdge<?>)) {
+    			&& bits.get(index1, index2)) {
     		
-	    	edgeSet.remove(new ClosureEdge<T>(1, elements[index1], elements[index2]));
-	    	CoverEdge<T> newCoverEdge = new CoverEdge<T>(1, elements[index1], elements[index2]);
-	    	edgeSet.add(newCoverEdge);
-	    	matrix[index1][index2] = newCoverEdge;
+	    	covers.set(index1, index2);
 	    	
 	    	return true;
     	}
@@ -877,9 +978,9 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
     @Override
     public boolean removeEdge(T element1, T element2) {
 
-    	curMapping = null;
+    	invalidate();
     	
-    	if (vertexSet.contains(element1) && vertexSet.contains(element2)) {
+    	if (containsVertex(element1) && containsVertex(element2)) {
 	        
     		int index1 = findVertex(element1);
 	        int index2 = findVertex(element2);
@@ -906,69 +1007,44 @@ public class Poset<T> extends AdjacencyMatrix<T, IntEdge<T>> {
      * @param index2 the second vertex number.
      * @return true if the edge exists, false otherwise.
      */
-    @SuppressWarnings("unchecked")
     public boolean removeEdge(int index1, int index2) {
-//System.out.println("==================removeEdge called on=================(" + index1 + ", " + index2 + ")");
-    	curMapping = null;
+
+    	invalidate();
     	
-		if (((Edge<T>) matrix[index1][index2]).getWeight() != 0 
-                && index1 > -1 && index1 < this.capacity && index2 > -1 
-                && index2 < capacity) {
+		if (index1 > -1 && index1 < this.capacity && index2 > -1 
+                && index2 < capacity && bits.get(index1, index2)) {
 
 			//if removing a True CoverEdge
-			if (matrix[index1][index2] instanceof CoverEdge<?>) {
-
-				List<T> coversFromCovers = this.getCoverEdgesFrom(elements[index1]);
+			if (covers.get(index1, index2)) {
 
 				//Iterate over all elements that m has a cover edge from, they will always have a closure edge to w, make it a cover edge
-				for (int i = 0; i < coversFromCovers.size(); i++) {
-
-					int indexOfElement = this.getIndexOf(coversFromCovers.get(i));
+				for (int indexOfElement = nextCoverPredecessor(index1, 0); indexOfElement != -1; 
+						indexOfElement = nextCoverPredecessor(index1, indexOfElement + 1)) {
 
-					if (indexOfElement != index1 && matrix[indexOfElement][index2] instanceof ClosureEdge<?>) {
+					if (indexOfElement != index1 && bits.get(indexOfElement, index2)) {
 
-						ClosureEdge<T> tempClosure = (ClosureEdge<T>) matrix[indexOfElement][index2];
-						CoverEdge<T> tempCover = new CoverEdge<T>(1, tempClosure.getFrom(), tempClosure.getTo());
-						
-						edgeSet.remove(tempClosure);
-System.out.println("-------after recursive removeEdge THE FIRST OPTION.........................................................");
-						matrix[indexOfElement][index2] = tempCover; 
-						edgeSet.add(tempCover);
+						covers.set(indexOfElement, index2);
 					}
 				}
 				
 				
 				//Iterate over all elements that w has a closure edge to, if 
-				List<T> coversToCovers = this.getCoverEdgesTo(elements[index2]);
-				for (int j = 0; j < coversToCovers.size(); j++) {
-					
-					int indexOfElement = this.getIndexOf(coversToCovers.get(j));
+				for (int indexOfElement = nextCoverSuccessor(index2, 0); indexOfElement != -1; 
+						indexOfElement = nextCoverSuccessor(index2, indexOfElement + 1)) {
 					
-					if (indexOfElement != index2 && matrix[index1][indexOfElement] instanceof ClosureEdge<?>) {
+					if (indexOfElement != index2 && bits.get(index1, indexOfElement)) {
 						
-						ClosureEdge<T> tempClosure = (ClosureEdge<T>) matrix[index1][indexOfElement];
-						CoverEdge<T> tempCover = new CoverEdge<T>(1, tempClosure.getFrom(), tempClosure.getTo());
-
-						edgeSet.remove(tempClosure);
-System.out.println("-------after recursive removeEdge THE SECOND OPTION.........................................................");
-System.out.println("adding edge to:" + indexOfElement + "  " + index2);
-						matrix[index1][indexOfElement] = tempCover;
-						edgeSet.add(tempCover);
+						covers.set(index1, indexOfElement);
 					}
 				}
 			}
 			
 			
-			edgeSet.remove(matrix[index1][index2]);
-            matrix[index1][index2] = this.empty;
-System.out.println("================================================================================");
-System.out.println(this.toString());
-System.out.println(this.printCoverEdges());
+            storeEdge(index1, index2, null);
+
             return true;
         }
-System.out.println("================================================================================");
-System.out.println(this.toString());
-System.out.println(this.printCoverEdges());
+
         return false;
     }
     
@@ -982,9 +1058,9 @@ System.out.println(this.printCoverEdges());
      */
     public int popEdge(T element1, T element2) {
         
-    	curMapping = null;
+    	invalidate();
     	
-    	if (edgeSet.contains(element1) && edgeSet.contains(element2)) {
+    	if (containsVertex(element1) && containsVertex(element2)) {
 	     
     		int index1 = findVertex(element1);
 	        int index2 = findVertex(element2);
@@ -1008,14 +1084,13 @@ System.out.println(this.printCoverEdges());
      * @param index2 the number of vertex2.
      * @return the weight of the edge that got removed.
      */
-    @SuppressWarnings("unchecked")
     public int popEdge(int index1, int index2) {
         
-    	curMapping = null;
+    	invalidate();
     	
         if ((index1 > -1 && index1 < this.capacity) && (index2 > -1 && index2 < this.capacity)) {
 
-            int weight = ((Edge<T>) matrix[index1][index2]).getWeight();
+            int weight = weightAt(index1, index2);
             
             removeEdge(index1, index2);
             
@@ -1025,68 +1100,185 @@ System.out.println(this.printCoverEdges());
         return -1;
     }
     
+    /**
+     * Makes a copy of this Poset, the copy's vertices and edges are independent of this one's.
+     * 
+     * @return the copy of the Poset.
+     */
+    @Override
+    public Poset<T> makeCopy() {
+    	
+    	Poset<T> copy = (Poset<T>) super.makeCopy();
+    	copy.covers = covers.makeCopy();
+    	
+    	return copy;
+    }
+    
+    @Override
+    public Poset<T> makeEmptyCopy() {
+    	
+    	return new Poset<T>(capacity);
+    }
+    
+    @Override
+    protected void resize(int newCapacity) {
+    	
+    	super.resize(newCapacity);
+    	
+    	covers.resize(capacity);
+    }
+    
+    @Override
+    protected void clearEdgesOf(int index) {
+    	
+    	invalidate();
+    	super.clearEdgesOf(index);
+    	
+    	covers.clearRow(index);
+    	covers.clearColumn(index);
+    }
+    
+    /**
+     * Makes the edge from index1 to index2 from the bit planes, without bounds checking.
+     * 
+     * @param index1 the index of the from vertex.
+     * @param index2 the index of the to vertex.
+     * @return a new CoverEdge or ClosureEdge, the empty edge if there is no edge.
+     */
+    @Override
+    protected Edge<T> edgeAt(int index1, int index2) {
+    	
+    	if (!bits.get(index1, index2)) {
+    		
+    		return empty;
+    	}
+    	
+    	if (covers.get(index1, index2)) {
+    		
+    		return new CoverEdge<T>(1, elements[index1], elements[index2]);
+    	}
+    	
+    	return new ClosureEdge<T>(1, elements[index1], elements[index2]);
+    }
+    
+    /**
+     * Stores edge from index1 to index2 in the bit planes, without bounds checking.
+     * A ClosureEdge is stored as a closure edge, any other edge as a cover edge,
+     * and null or an empty edge clears the cell.
+     * 
+     * @param index1 the index of the from vertex.
+     * @param index2 the index of the to vertex.
+     * @param edge the edge to store, null to clear the cell.
+     */
+    @Override
+    protected void storeEdge(int index1, int index2, Edge<T> edge) {
+    	
+    	invalidate();
+    	super.storeEdge(index1, index2, edge);
+    	
+    	if (edge != null && edge.getWeight() != 0
+    			&& (edge instanceof CoverEdge<?> || !(edge instanceof ClosureEdge<?>))) {
+    		
+    		covers.set(index1, index2);
+    	}
+    	else {
+    		
+    		covers.clear(index1, index2);
+    	}
+    }
+    
+    /**
+     * Drops everything worked out from the current edges (the Pruesse & Ruskey mapping,
+     * the closure and the reduction), called whenever this Poset changes.
+     */
+    private void invalidate() {
+    	
+    	encodingCache = null;
+    	closureCache = null;
+    	reductionCache = null;
+    }
+    
+    /**
+     * Gets the reflexive transitive closure of this Poset as a BitMatrix, bit (i, j) is set
+     * if the vertex at index i is below or equal to the vertex at index j.
+     * 
+     * @return a copy of the closure, indexed the same as this Poset.
+     */
+    public BitMatrix getClosureBits() {
+    	
+    	return closure(BitMatrix.DEFAULT_PARALLEL_THRESHOLD).makeCopy();
+    }
+    
+    /**
+     * Gets the closure of this Poset, working it out only if it isn't kept from before.
+     * 
+     * @param parallelThreshold the capacity below which the closure runs sequentially.
+     * @return the kept closure, not a copy.
+     */
+    private BitMatrix closure(int parallelThreshold) {
+    	
+    	if (closureCache == null) {
+    		
+    		closureCache = closureBits(parallelThreshold);
+    	}
+    	
+    	return closureCache;
+    }
+    
     @Override
     public boolean isDirected() {
     	
     	return true;
     }
     
-    @SuppressWarnings("unchecked")
+    /**
+     * Takes the transitive closure of this Poset in a single packed Warshall pass
+     * (see BitMatrix.transitiveClosure). Edges already in this Poset are carried over as is,
+     * every vertex gets a ClosureEdge to itself, and a ClosureEdge is only created for
+     * a pair that the closure added.
+     * 
+     * @return a new Poset holding the same vertices at the same indices, and the closure's edges.
+     */
     @Override
     public Poset<T> transitiveClosure() {
+    	
+    	return transitiveClosure(BitMatrix.DEFAULT_PARALLEL_THRESHOLD);
+    }
+    
+    /**
+     * Takes the transitive closure of this Poset, running the Warshall pass on the
+     * common ForkJoinPool when the Poset has at least parallelThreshold vertex slots.
+     * The closure is kept until this Poset changes, so taking it again is a copy.
+     * 
+     * @param parallelThreshold the capacity below which the closure runs sequentially.
+     * @return a new Poset holding the same vertices at the same indices, and the closure's edges.
+     */
+    @Override
+    public Poset<T> transitiveClosure(int parallelThreshold) {
         
-    	curMapping = null;
+    	BitMatrix closure = closure(parallelThreshold);
     	
-        Poset<T> adjMatrix = new Poset<T>(this.getVertices(), capacity);
+        Poset<T> adjMatrix = makeEmptyCopy();
         
-        //Copy over Poset, and add edges to each vertex's self
         for (int i = 0; i < capacity; i++) {
-        
-            for (int j = 0; j < capacity; j++) {
-                
-            	//Add a Closure Edge
-                if (i == j && elements[i] != null) {
-                	
-                	adjMatrix.addClosureEdge(i, j);
-                }
-                //Copy the edge from this matrix
-                else if (((Edge<T>) this.matrix[i][j]).getWeight() != 0) {
-                	
-                    adjMatrix.addEdge(i, j, (IntEdge<T>) this.matrix[i][j]);
-                }
-            }
+        	
+        	if (elements[i] != null) {
+        		
+        		adjMatrix.placeVertex(i, elements[i]);
+        	}
         }
         
-        Poset<T> newAdjMatrix;
-        
-        //Iterate over each element
-        for (int k = 0; k < elements.length; k++) {
-            
-        	//Create new poset
-            newAdjMatrix = new Poset<T>(this.getVertices(), capacity);
-
-            //iterate over matrix--------------------------------
-            //Over rows
-            for (int i = 0; i < capacity; i++) {
-                
-            	//Over columns
-                for (int j = 0; j < capacity; j++) {
-
-                	//If prev matrix has an edge
-                    if (adjMatrix.getEdgeWeight(i, j) != 0) {
-
-                    	newAdjMatrix.addEdge(i, j, (IntEdge<T>) adjMatrix.getEdge(i, j));
-                    }
-                    //If prev matrix has an edge by the transitive property
-                    else if (adjMatrix.getEdgeWeight(i, k) != 0 && adjMatrix.getEdgeWeight(k, j) != 0) {
-                        
-                        newAdjMatrix.addClosureEdge(i, j);
-                    }
-                }
-            }
-            adjMatrix = newAdjMatrix;
+        //The cover edges are carried over, apart from the self edges which are always closure edges
+        adjMatrix.bits = closure.makeCopy();
+        adjMatrix.covers = covers.makeCopy();
+        for (int i = 0; i < capacity; i++) {
+        	
+        	adjMatrix.covers.clear(i, i);
         }
         
+        //The closure is already closed
+        adjMatrix.closureCache = closure.makeCopy();
+        
         return adjMatrix;
     }
     
@@ -1097,80 +1289,104 @@ System.out.println(this.printCoverEdges());
      */
     public String pruesseRuskeyString() {
 
+    	return pruesseRuskeyEncoding().getText();
+    }
+    
+    /**
+     * Gets the input to the Pruesse & Ruskey program along with the mapping from its numbering
+     * back to this Poset's indices. It's made once and kept until this Poset changes, and
+     * it never changes itself, so threads sharing an unchanging Poset can all use it.
+     * 
+     * @return the encoding of this Poset.
+     */
+    public PruesseRuskeyEncoding pruesseRuskeyEncoding() {
+    	
+    	PruesseRuskeyEncoding encoding = encodingCache;
+    	if (encoding == null) {
+    		
+    		encoding = encode();
+    		encodingCache = encoding;
+    	}
+    	
+    	return encoding;
+    }
+    
+    /**
+     * Makes the Pruesse & Ruskey encoding, numbering the vertices from 1 as a breadth first
+     * search over the cover edges from the starter vertices first reaches them.
+     * 
+     * @return a new encoding of this Poset.
+     */
+    private PruesseRuskeyEncoding encode() {
+    	
     	StringBuilder build = new StringBuilder();
     	
     	build.append(size);
     	build.append("\n");
-    
-    	Map<Integer, Integer> mapping = new HashMap<Integer, Integer>();
-    	Map<Integer, Integer> reverseMapping = new HashMap<Integer, Integer>();
-    	Set<String> presentEdges = new HashSet<String>();
     	
-		Queue<T> q = new LinkedList<T>();
-		q.addAll(this.getStarterVertices());
-
-		T curEl;
+    	//numberOf[index] is the vertex's number, 0 if it hasn't got one yet
+    	int[] numberOf = new int[capacity];
+    	int[] mapping = new int[capacity + 1];
+    	BitMatrix presentEdges = new BitMatrix(capacity);
+    	
+    	//Each cover edge queues its upper vertex at most once
+    	int[] q = new int[capacity];
+    	int head = 0;
+    	int tail = 0;
+    	for (T starter : getStarterVertices()) {
+    		
+    		q[tail++] = getIndexOf(starter);
+    	}
+    	
 		int i = 1;
 
 		//Breadth first search
-		while(!q.isEmpty()) {
+		while (head != tail) {
 			
-			curEl = q.remove();
+			int curElIndex = q[head++];
 	
-			//Iterate over all vertices with an edge from the current one
-			for (T adjacentEls : this.getEdgesTo(curEl)) {
-
-				//If the vertices aren't equal and the edge is a cover edge
-				if (!curEl.equals(adjacentEls) && this.getEdge(curEl, adjacentEls) != null) { 
+			//Iterate over the cover edges from the current vertex
+			for (int adjElIndex = covers.nextSetBit(curElIndex, 0); adjElIndex != -1; adjElIndex = covers.nextSetBit(curElIndex, adjElIndex + 1)) {
 
-					Integer curIndex = reverseMapping.get(getIndexOf(curEl));
-					Integer adjIndex = reverseMapping.get(getIndexOf(adjacentEls));
+				if (adjElIndex == curElIndex) {
 					
-					//The curEl is not contained in reverseMapping
-					if (curIndex == null) {
-						
-						curIndex = i;
-						i++;
-					}
+					continue;
+				}
+				
+				if (numberOf[curElIndex] == 0) {
 					
-					//The adjEls is not contained in reverseMapping
-					if (adjIndex == null) {
-
-						adjIndex = i;
-						i++;
-					}
-
-					String edgeString = curIndex + " " + adjIndex;
+					numberOf[curElIndex] = i;
+					mapping[i] = curElIndex;
+					i++;
+				}
+				if (numberOf[adjElIndex] == 0) {
 					
-					//If the edge isn't a repeat
-					if (!presentEdges.contains(edgeString)) {
+					numberOf[adjElIndex] = i;
+					mapping[i] = adjElIndex;
+					i++;
+				}
+				
+				//If the edge isn't a repeat
+				if (!presentEdges.get(curElIndex, adjElIndex)) {
 
-						//Append 
-						build.append(edgeString).append("\n");
-						presentEdges.add(edgeString);
+					build.append(numberOf[curElIndex]).append(' ').append(numberOf[adjElIndex]).append("\n");
+					presentEdges.set(curElIndex, adjElIndex);
+					
+					if (tail == q.length) {
 						
-						//Add adjacent el to the queue
-						q.add(adjacentEls);
+						q = Arrays.copyOf(q, q.length * 2);
 					}
-					
-					//Add curIndex & adjIndex to mapping 
-					//to map to the index of curEl & adjacentEls
-					mapping.put(curIndex, getIndexOf(curEl));
-					mapping.put(adjIndex, getIndexOf(adjacentEls));
-					
-					//Add curEl & adjacentEls indices to mapping
-					//to map to the curIndex & adjIndex
-					reverseMapping.put(getIndexOf(curEl), curIndex);
-					reverseMapping.put(getIndexOf(adjacentEls), adjIndex);
+					q[tail++] = adjElIndex;
 				}
 			}
 		}
 		
 		build.append("0 0");
 		
-		curMapping = mapping;
+		mapping = Arrays.copyOf(mapping, i);
+		mapping[0] = -1;
 
-    	return build.toString();
+    	return new PruesseRuskeyEncoding(build.toString(), mapping);
     }
     
     @SuppressWarnings("unchecked")
@@ -1217,7 +1433,6 @@ System.out.println(this.printCoverEdges());
      * 
      * @return String holding the string of all cover edges.
      */
-    @SuppressWarnings("unchecked")
 	public String printClosureEdges() {
         
         StringBuilder build = new StringBuilder();
@@ -1244,8 +1459,8 @@ System.out.println(this.printCoverEdges());
             
             for (int j = 0; j < capacity; j++) {
 
-            	if (matrix[i][j] instanceof ClosureEdge<?>) {
-            		build.append("|").append(((Edge<T>)matrix[i][j]).printEdgeWeight());
+            	if (bits.get(i, j)) {
+            		build.append("|").append(1);
             	}
             	else {
             		build.append("|").append(0);
@@ -1269,7 +1484,6 @@ System.out.println(this.printCoverEdges());
      * 
      * @return String holding the string of all cover edges.
      */
-    @SuppressWarnings("unchecked")
 	public String printCoverEdges() {
         
         StringBuilder build = new StringBuilder();
@@ -1296,8 +1510,8 @@ System.out.println(this.printCoverEdges());
             
             for (int j = 0; j < capacity; j++) {
 
-            	if (matrix[i][j] instanceof CoverEdge<?>) {
-            		build.append("|").append(((Edge<T>)matrix[i][j]).printEdgeWeight());
+            	if (covers.get(i, j)) {
+            		build.append("|").append(1);
             	}
             	else {
             		build.append("|").append(0);
@@ -1331,48 +1545,37 @@ System.out.println(this.printCoverEdges());
     
     /**
      * Takes the transitive reduction of this poset and returns a new Poset representing it.
+     * The reduction is worked out from the closure's packed rows (see BitMatrix.transitiveReduction)
+     * and is kept until this Poset changes, as is the closure, so that taking the closure of
+     * the reduction right after is a copy rather than another Warshall pass.
      * 
-     * @return p a new Poset<T> that is the transitive reduction of this one.
+     * @return p a new Poset<T> that is the transitive reduction of this one,
+     * 			holding the same vertices at the same indices.
      */
 	public Poset<T> transitiveReduction() {
     	
-        Poset<T> p = new Poset<T>(this.getVertices(), capacity);
-        
-        boolean notCoverEdge = false;
+		BitMatrix closure = closure(BitMatrix.DEFAULT_PARALLEL_THRESHOLD);
+		if (reductionCache == null) {
+			
+			reductionCache = closure.transitiveReduction();
+		}
+		
+        Poset<T> p = makeEmptyCopy();
         
-        //Iterate over each Node, k
-        for (int k = 0; k < capacity; k++) {
-        	
-        	if (elements[k] != null) {
+        for (int i = 0; i < capacity; i++) {
         	
-        		//Iterate all vertices k goes to, j
-	        	for (int j = 0; j < capacity; j++) {
-	        		
-	        		//If there is an edge from k to j
-	        		if (!(matrix[k][j] instanceof EmptyEdge<?>) && k != j) {
-		        	
-	        			//Iterate over all vertices j goes to, i
-	        			for (int i = 0; i < capacity; i++) {
-		        			
-	        				//If there is an edge from i to j AND an edge from k to i
-	        				if (!(matrix[i][j] instanceof EmptyEdge<?>) && !(matrix[k][i] instanceof EmptyEdge<?>) && i != j && i != k) {
-	        					 
-	        					notCoverEdge = true;
-	        				}
-		        		}
-	        			
-	        			//If this is a cover edge
-	        			if (!notCoverEdge) {
-	        				
-	        				//Add it
-	        				p.addEdge(k, j, 1);
-	        			}
-	        			notCoverEdge = false;
-	        		}
-	        	}
+        	if (elements[i] != null) {
+        		
+        		p.placeVertex(i, elements[i]);
         	}
         }
         
+        //Every edge of the reduction is a cover edge
+        p.bits = reductionCache.makeCopy();
+        p.covers = reductionCache.makeCopy();
+        p.closureCache = closure.makeCopy();
+        p.reductionCache = reductionCache.makeCopy();
+        
         return p;
     }
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package vt.posets.poset;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The input to the Pruesse & Ruskey program for a Poset, together with the mapping
+ * from the program's numbering of the vertices back to the Poset's indices.
+ *
+ * The program numbers the vertices from 1 in the order a breadth first search over
+ * the cover edges reaches them, so its output has to be mapped back through this.
+ * An encoding never changes once made, so it can be shared between threads and kept
+ * by the Poset until the Poset changes.
+ *
+ * @author Ethan Gaebel (egaebel)
+ *
+ */
+public final class PruesseRuskeyEncoding {
+
+	//~Data Fields--------------------------------------------
+	/**
+	 * The text to give to the program.
+	 */
+	private final String text;
+
+	/**
+	 * mapping[k] is the Poset index of the vertex numbered k, -1 if no vertex is.
+	 * mapping[0] is always -1, the numbering starts at 1.
+	 */
+	private final int[] mapping;
+
+	//~Constructors--------------------------------------------
+	/**
+	 * Creates an encoding, keeping mapping as it is.
+	 *
+	 * @param text the text to give to the program.
+	 * @param mapping mapping[k] is the Poset index of the vertex numbered k, -1 if no vertex is.
+	 */
+	PruesseRuskeyEncoding(String text, int[] mapping) {
+
+		this.text = text;
+		this.mapping = mapping;
+	}
+
+	//~Methods-------------------------------------------------
+	/**
+	 * Gets the text to give to the program.
+	 *
+	 * @return the number of vertices, a line per cover edge, and "0 0".
+	 */
+	public String getText() {
+
+		return text;
+	}
+
+	/**
+	 * Gets the text to give to the program as bytes.
+	 *
+	 * @return a new array of the text in ASCII.
+	 */
+	public byte[] getBytes() {
+
+		return text.getBytes(StandardCharsets.US_ASCII);
+	}
+
+	/**
+	 * Gets the highest number the program can print for this encoding.
+	 *
+	 * @return the number of vertices that were numbered.
+	 */
+	public int getNumbered() {
+
+		return mapping.length - 1;
+	}
+
+	/**
+	 * Maps a number the program printed to the Poset index of its vertex.
+	 *
+	 * @param number a vertex number from the program's output.
+	 * @return the Poset index, -1 if no vertex has that number.
+	 */
+	public int indexOf(int number) {
+
+		return (number > 0 && number < mapping.length) ? mapping[number] : -1;
+	}
+
+	/**
+	 * Gets the whole mapping as an array, for mapping many numbers quickly.
+	 *
+	 * @return a new array, element k is the Poset index of the vertex numbered k, -1 if no vertex is.
+	 */
+	public int[] getMapping() {
+
+		return Arrays.copyOf(mapping, mapping.length);
+	}
+
+	/**
+	 * Gets the mapping as a Map, the way Poset.getCurMapping has it.
+	 *
+	 * @return a new Map from each vertex number to its Poset index.
+	 */
+	public Map<Integer, Integer> toMap() {
+
+		Map<Integer, Integer> map = new HashMap<Integer, Integer>();
+		for (int number = 1; number < mapping.length; number++) {
+
+			map.put(number, mapping[number]);
+		}
+
+		return map;
+	}
+
+	@Override
+	public String toString() {
+
+		return text;
+	}
+}
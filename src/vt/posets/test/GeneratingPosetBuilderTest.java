@@ -0,0 +1,185 @@
+package vt.posets.test;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import vt.posets.extensions.GeneratingPosetBuilder;
+import vt.posets.extensions.LinearExtensions;
+import vt.posets.extensions.LinearOrderSet;
+import vt.posets.main.PosetAlgorithms;
+import vt.posets.poset.Poset;
+
+public class GeneratingPosetBuilderTest {
+
+	//~Constants----------------------------------------------
+
+	//~Data Fields--------------------------------------------
+
+	//~Constructors--------------------------------------------
+
+	//~Methods-------------------------------------------------
+	@Test
+	public void testGeneratingPosetBuilder() {
+
+		GeneratingPosetBuilder<Integer> empty = new GeneratingPosetBuilder<Integer>();
+		assertNull(empty.getPoset());
+		assertEquals(BigInteger.ZERO, empty.count());
+		assertFalse(empty.isGenerating());
+
+		Random random = new Random(29);
+		for (int trial = 0; trial < 30; trial++) {
+
+			int n = 1 + random.nextInt(7);
+			Poset<Integer> poset = TestPosets.randomPoset(random, n, 3);
+
+			List<ArrayList<Integer>> linearOrders = TestPosets.extensionsOf(poset);
+			Collections.shuffle(linearOrders, random);
+
+			//Each order can only loosen the candidate, so the count grows toward the number of extensions
+			GeneratingPosetBuilder<Integer> builder = new GeneratingPosetBuilder<Integer>();
+			BigInteger lastCount = BigInteger.ONE;
+			BigInteger extensions = BigInteger.valueOf(linearOrders.size());
+			for (int k = 0; k < linearOrders.size(); k++) {
+
+				builder.accept(linearOrders.get(k));
+				BigInteger count = builder.count();
+				assertTrue(count.compareTo(lastCount) >= 0);
+				assertTrue(count.compareTo(BigInteger.valueOf(k + 1)) >= 0);
+				assertTrue(count.compareTo(extensions) <= 0);
+				assertEquals(k == linearOrders.size() - 1 || count.longValue() == k + 1, builder.isGenerating());
+				lastCount = count;
+			}
+
+			//A repeat leaves the candidate alone but isn't generated twice
+			Poset<Integer> beforeRepeat = builder.getPoset();
+			builder.accept(linearOrders.get(0));
+			assertEquals(linearOrders.size() + 1, builder.size());
+			assertEquals(linearOrders.size(), builder.distinctSize());
+			assertEquals(beforeRepeat, builder.getPoset());
+			assertFalse(builder.isGenerating());
+
+			LinearOrderSet<Integer> orders = new LinearOrderSet<Integer>(linearOrders);
+			Poset<Integer> generated = builder.getPoset();
+			assertEquals(PosetAlgorithms.generatingPosetOne(orders, false), generated);
+			assertEquals(generated, PosetAlgorithms.generatingPosetTwo(orders, false, true));
+			assertEquals(generated, PosetAlgorithms.generatingPosetTwo(linearOrders, false, true));
+
+			//One order short, which some other poset may still generate
+			if (linearOrders.size() > 1) {
+
+				LinearOrderSet<Integer> fewer = new LinearOrderSet<Integer>(linearOrders.subList(1, linearOrders.size()));
+				assertEquals(PosetAlgorithms.generatingPosetOne(fewer, false), PosetAlgorithms.generatingPosetTwo(fewer, false, true));
+			}
+		}
+
+		//Orders that don't fit the elements are turned away
+		GeneratingPosetBuilder<Integer> builder = new GeneratingPosetBuilder<Integer>(Arrays.asList(0, 1, 2));
+		builder.accept(new int[] {2, 0, 1});
+		try {
+
+			builder.accept(Arrays.asList(0, 1, 3));
+			fail("Expected IllegalArgumentException");
+		}
+		catch (IllegalArgumentException e) {
+
+		}
+		try {
+
+			builder.accept(new int[] {0, 0, 1});
+			fail("Expected IllegalArgumentException");
+		}
+		catch (IllegalArgumentException e) {
+
+		}
+		assertEquals(1, builder.size());
+		assertTrue(builder.isGenerating());
+
+		//A first order repeating an element leaves the builder waiting for a good one
+		builder = new GeneratingPosetBuilder<Integer>();
+		try {
+
+			builder.accept(Arrays.asList(0, 1, 0));
+			fail("Expected IllegalArgumentException");
+		}
+		catch (IllegalArgumentException e) {
+
+		}
+		assertTrue(builder.getElements().isEmpty());
+		assertNull(builder.getPoset());
+		assertFalse(builder.isGenerating());
+		builder.accept(Arrays.asList(0, 1, 2));
+		builder.accept(Arrays.asList(1, 0, 2));
+		assertEquals(Arrays.asList(0, 1, 2), builder.getElements());
+		assertEquals(2, builder.size());
+		assertTrue(builder.isGenerating());
+	}
+
+	@Test
+	public void testGeneratingPosetDuplicates() {
+
+		//Both algorithms turn away a linear order passed in twice, as prLinearExtensionsCheck does
+		List<ArrayList<Integer>> linearOrders = new ArrayList<ArrayList<Integer>>();
+		linearOrders.add(new ArrayList<Integer>(Arrays.asList(1, 2, 3)));
+		linearOrders.add(new ArrayList<Integer>(Arrays.asList(2, 1, 3)));
+		assertNotNull(PosetAlgorithms.generatingPosetOne(linearOrders, false));
+		assertNotNull(PosetAlgorithms.generatingPosetTwo(linearOrders, false, true));
+
+		linearOrders.add(new ArrayList<Integer>(Arrays.asList(1, 2, 3)));
+		LinearOrderSet<Integer> orders = new LinearOrderSet<Integer>(linearOrders);
+		assertNull(PosetAlgorithms.generatingPosetOne(linearOrders, false));
+		assertNull(PosetAlgorithms.generatingPosetOne(orders, false));
+		assertNull(PosetAlgorithms.generatingPosetTwo(linearOrders, false, true));
+		assertNull(PosetAlgorithms.generatingPosetTwo(orders, false, true));
+
+		//Even a single order twice
+		linearOrders.clear();
+		linearOrders.add(new ArrayList<Integer>(Arrays.asList(1, 2, 3)));
+		linearOrders.add(new ArrayList<Integer>(Arrays.asList(1, 2, 3)));
+		assertNull(PosetAlgorithms.generatingPosetOne(linearOrders, false));
+		assertNull(PosetAlgorithms.generatingPosetTwo(linearOrders, false, true));
+	}
+
+	@Test
+	public void testGeneratingPosetTwoWide() {
+
+		//0 then 1 to n - 1 both ways up: an antichain of n - 1 elements over 0, with (n - 1)! extensions,
+		//which the check has to turn away after generating three of them
+		int n = 40;
+		ArrayList<Integer> up = new ArrayList<Integer>();
+		ArrayList<Integer> down = new ArrayList<Integer>();
+		up.add(0);
+		down.add(0);
+		for (int i = 1; i < n; i++) {
+
+			up.add(i);
+			down.add(n - i);
+		}
+		List<ArrayList<Integer>> linearOrders = new ArrayList<ArrayList<Integer>>();
+		linearOrders.add(up);
+		linearOrders.add(down);
+
+		long begTime = System.currentTimeMillis();
+		assertNull(PosetAlgorithms.generatingPosetTwo(linearOrders, false, true));
+		GeneratingPosetBuilder<Integer> builder = new GeneratingPosetBuilder<Integer>();
+		builder.accept(up);
+		builder.accept(down);
+		assertFalse(builder.isGenerating());
+		assertTrue(System.currentTimeMillis() - begTime < 5000);
+
+		//One adjacent swap of the same length is generated
+		ArrayList<Integer> swapped = new ArrayList<Integer>(up);
+		Collections.swap(swapped, 20, 21);
+		linearOrders.set(1, swapped);
+		Poset<Integer> generated = PosetAlgorithms.generatingPosetTwo(linearOrders, false, true);
+		assertNotNull(generated);
+		assertEquals(BigInteger.valueOf(2), LinearExtensions.count(generated));
+	}
+}
@@ -0,0 +1,594 @@
+package vt.posets.test;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import vt.posets.extensions.ApproximateCount;
+import vt.posets.extensions.ApproximateCounter;
+import vt.posets.extensions.LinearExtensionSampler;
+import vt.posets.extensions.LinearExtensions;
+import vt.posets.extensions.VerificationMode;
+import vt.posets.main.PosetAlgorithms;
+import vt.posets.poset.Poset;
+
+public class LinearExtensionsTest {
+
+	//~Constants----------------------------------------------
+
+	//~Data Fields--------------------------------------------
+
+	//~Constructors--------------------------------------------
+
+	//~Methods-------------------------------------------------
+	@Test
+	public void testChainAndAntichain() {
+
+		ArrayList<Integer> linearOrder = new ArrayList<Integer>();
+		for (int i = 0; i < 6; i++) {
+
+			linearOrder.add(i);
+		}
+
+		final List<String> seen = new ArrayList<String>();
+		long count = new LinearExtensions(new Poset<Integer>(linearOrder)).forEach(new LinearExtensions.Visitor() {
+
+			@Override
+			public boolean visit(int[] extension) {
+
+				seen.add(Arrays.toString(extension));
+				return true;
+			}
+		});
+
+		assertEquals(1, count);
+		assertEquals("[0, 1, 2, 3, 4, 5]", seen.get(0));
+
+		Poset<Integer> antichain = new Poset<Integer>(5);
+		for (int i = 0; i < 5; i++) {
+
+			antichain.addVertex(i);
+		}
+
+		assertEquals(120, countDistinct(antichain));
+		assertEquals(1, countDistinct(new Poset<Integer>()));
+	}
+
+	@Test
+	public void testAgainstPermutations() {
+
+		Random random = new Random(7);
+
+		for (int trial = 0; trial < 40; trial++) {
+
+			int n = 1 + random.nextInt(7);
+			Poset<Integer> poset = TestPosets.randomPoset(random, n, 4);
+
+			int[] vertices = new int[n];
+			for (int i = 0; i < n; i++) {
+
+				vertices[i] = i;
+			}
+
+			long expected = countPermutations(poset, vertices, 0);
+			assertEquals(expected, countDistinct(poset));
+			assertEquals(BigInteger.valueOf(expected), LinearExtensions.count(poset));
+		}
+	}
+
+	@Test
+	public void testStopsEarly() {
+
+		Poset<Integer> antichain = new Poset<Integer>(4);
+		for (int i = 0; i < 4; i++) {
+
+			antichain.addVertex(i);
+		}
+
+		final int[] calls = new int[1];
+		long count = new LinearExtensions(antichain).forEach(new LinearExtensions.Visitor() {
+
+			@Override
+			public boolean visit(int[] extension) {
+
+				calls[0]++;
+				return calls[0] < 3;
+			}
+		});
+
+		assertEquals(3, count);
+		assertEquals(3, calls[0]);
+	}
+
+	@Test
+	public void testIteratorAndStream() {
+
+		//1 < 2 with 3 off to the side
+		Poset<Integer> poset = new Poset<Integer>(3);
+		poset.addVertex(1);
+		poset.addVertex(2);
+		poset.addVertex(3);
+		poset.addEdge((Integer) 1, (Integer) 2);
+
+		LinearExtensions extensions = new LinearExtensions(poset);
+		Iterator<int[]> it = extensions.iterator();
+		HashSet<String> seen = new HashSet<String>();
+
+		assertTrue(it.hasNext());
+		assertTrue(it.hasNext());
+		int[] first = it.next();
+		seen.add(Arrays.toString(first));
+		while (it.hasNext()) {
+
+			int[] next = it.next();
+			assertSame(first, next);
+			assertTrue(seen.add(Arrays.toString(next)));
+		}
+		assertEquals(3, seen.size());
+
+		try {
+
+			it.next();
+			fail("next past the last extension");
+		}
+		catch (NoSuchElementException e) {
+
+		}
+
+		assertEquals(3, extensions.stream().count());
+		assertEquals(2, extensions.stream().limit(2).count());
+		//Only 3, at index 2, can come before 1
+		assertEquals(1, extensions.stream().filter(extension -> extension[0] == 2).count());
+	}
+
+	@Test
+	public void testCount() {
+
+		//25 unrelated elements, 25! extensions
+		Poset<Integer> antichain = new Poset<Integer>(25);
+		for (int i = 0; i < 25; i++) {
+
+			antichain.addVertex(i);
+		}
+		assertEquals(factorial(25), LinearExtensions.count(antichain));
+
+		//A bottom under three chains of 21, 63! / 21!^3 extensions, too many for a long
+		Poset<Integer> chains = new Poset<Integer>(64);
+		chains.addVertex(0);
+		for (int chain = 0; chain < 3; chain++) {
+
+			int prev = 0;
+			for (int i = 0; i < 21; i++) {
+
+				int next = chains.addVertex(1 + chain * 21 + i);
+				chains.addEdge(prev, next, 1);
+				prev = next;
+			}
+		}
+		BigInteger expected = factorial(63).divide(factorial(21).pow(3));
+		assertTrue(expected.bitLength() > 63);
+		assertEquals(expected, LinearExtensions.count(chains));
+
+		//Two chains of 40 under a top, too big for a long mask
+		Poset<Integer> wide = new Poset<Integer>(81);
+		int top = wide.addVertex(0);
+		for (int chain = 0; chain < 2; chain++) {
+
+			int prev = -1;
+			for (int i = 0; i < 40; i++) {
+
+				int next = wide.addVertex(1 + chain * 40 + i);
+				if (prev != -1) {
+
+					wide.addEdge(prev, next, 1);
+				}
+				prev = next;
+			}
+			wide.addEdge(prev, top, 1);
+		}
+		assertEquals(factorial(80).divide(factorial(40).pow(2)), LinearExtensions.count(wide));
+
+		Poset<Integer> cycle = new Poset<Integer>(2);
+		cycle.addVertex(1);
+		cycle.addVertex(2);
+		cycle.addEdge(0, 1, 1);
+		cycle.addEdge(1, 0, 1);
+		assertEquals(BigInteger.ZERO, LinearExtensions.count(cycle));
+	}
+
+	@Test
+	public void testParallel() {
+
+		//Wide enough to be split three vertices deep
+		Random random = new Random(11);
+		Poset<Integer> poset = TestPosets.randomPoset(random, 11, 6);
+
+		final Poset<Integer> closure = poset.transitiveClosure();
+		LinearExtensions extensions = new LinearExtensions(poset);
+		final Set<String> seen = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+		long count = extensions.forEachParallel(new LinearExtensions.Visitor() {
+
+			@Override
+			public boolean visit(int[] extension) {
+
+				assertTrue(seen.add(Arrays.toString(extension)));
+				assertFalse(closure.hasClosureEdge(extension[1], extension[0]));
+				return true;
+			}
+		});
+
+		assertTrue("only " + count + " extensions", count > 1000);
+		assertEquals(extensions.count(), BigInteger.valueOf(count));
+		assertEquals(count, seen.size());
+		assertEquals(count, extensions.forEach(new LinearExtensions.Visitor() {
+
+			@Override
+			public boolean visit(int[] extension) {
+
+				return seen.contains(Arrays.toString(extension));
+			}
+		}));
+
+		assertEquals(count, extensions.parallelStream().map(Arrays::toString).distinct().count());
+		assertEquals(count, extensions.parallelStream().filter(extension -> seen.contains(Arrays.toString(extension))).count());
+
+		//Stopping stops every task
+		final AtomicLong visits = new AtomicLong();
+		extensions.forEachParallel(new LinearExtensions.Visitor() {
+
+			@Override
+			public boolean visit(int[] extension) {
+
+				return visits.incrementAndGet() < 10;
+			}
+		});
+		assertTrue(visits.get() < count);
+	}
+
+	@Test
+	public void testSampler() {
+
+		//1 < 2 with 3 off to the side, three extensions
+		Poset<Integer> poset = new Poset<Integer>(3);
+		poset.addVertex(1);
+		poset.addVertex(2);
+		poset.addVertex(3);
+		poset.addEdge((Integer) 1, (Integer) 2);
+
+		LinearExtensionSampler sampler = new LinearExtensionSampler(poset);
+		HashMap<String, Integer> counts = new HashMap<String, Integer>();
+		SplittableRandom random = new SplittableRandom(3);
+
+		for (int i = 0; i < 3000; i++) {
+
+			int[] sample = sampler.sample(random);
+			int one = -1;
+			int two = -1;
+			for (int position = 0; position < sample.length; position++) {
+
+				if (sample[position] == 0) {
+
+					one = position;
+				}
+				else if (sample[position] == 1) {
+
+					two = position;
+				}
+			}
+			assertTrue(one < two);
+
+			String key = Arrays.toString(sample);
+			Integer count = counts.get(key);
+			counts.put(key, count == null ? 1 : count + 1);
+		}
+
+		assertEquals(3, counts.size());
+		for (int count : counts.values()) {
+
+			assertTrue("sampled " + count + " of 3000", count > 850 && count < 1150);
+		}
+
+		//The same seed gives the same samples, in parallel or not
+		List<String> parallel = sampler.samples(new SplittableRandom(5), 50).map(Arrays::toString).collect(Collectors.toList());
+		List<String> sequential = sampler.samples(new SplittableRandom(5), 50).sequential().map(Arrays::toString).collect(Collectors.toList());
+		assertEquals(sequential, parallel);
+
+		assertEquals(0, LinearExtensionSampler.mixingSteps(1, LinearExtensionSampler.DEFAULT_EPSILON));
+		assertEquals(0, new LinearExtensionSampler(new Poset<Integer>()).sample(random).length);
+	}
+
+	@Test
+	public void testApproximateCount() {
+
+		Random random = new Random(13);
+		Poset<Integer> poset = TestPosets.randomPoset(random, 14, 5);
+
+		long exact = LinearExtensions.count(poset).longValue();
+		ApproximateCount estimate = new ApproximateCounter().estimate(poset, new SplittableRandom(17));
+
+		assertFalse(estimate.toString(), estimate.excludes(exact));
+		assertTrue(estimate.toString(), estimate.getLowerBound() <= exact && exact <= estimate.getUpperBound());
+		assertEquals(1.0, estimate.getEstimate() / exact, 0.3);
+		assertTrue(estimate.excludes(exact / 20));
+		assertTrue(estimate.excludes(exact * 20));
+
+		//No relations, the estimate is exactly n!
+		Poset<Integer> antichain = new Poset<Integer>(6);
+		for (int i = 0; i < 6; i++) {
+
+			antichain.addVertex(i);
+		}
+		ApproximateCount exactEstimate = new ApproximateCounter().estimate(antichain, new SplittableRandom(17));
+		assertFalse(exactEstimate.excludes(720));
+		assertTrue(exactEstimate.excludes(719));
+	}
+
+	@Test
+	public void testCycle() {
+
+		Poset<Integer> poset = new Poset<Integer>(2);
+		poset.addVertex(1);
+		poset.addVertex(2);
+		poset.addEdge(0, 1, 1);
+		poset.addEdge(1, 0, 1);
+
+		assertEquals(0, countDistinct(poset));
+		assertEquals(0, new LinearExtensions(poset).forEachParallel(new LinearExtensions.Visitor() {
+
+			@Override
+			public boolean visit(int[] extension) {
+
+				return true;
+			}
+		}));
+		assertEquals(0, new LinearExtensions(poset).parallelStream().count());
+		assertNull(new LinearExtensionSampler(poset).sample(new SplittableRandom(1)));
+		assertTrue(new ApproximateCounter().estimate(poset, new SplittableRandom(1)).excludes(1));
+		assertFalse(new ApproximateCounter().estimate(poset, new SplittableRandom(1)).excludes(0));
+	}
+
+	@Test
+	public void testLinearExtensionsCheck() {
+
+		//The diamond 1 < 2, 3 < 4
+		Poset<Integer> diamond = new Poset<Integer>(4);
+		for (int i = 1; i <= 4; i++) {
+
+			diamond.addVertex(i);
+		}
+		diamond.addEdge((Integer) 1, (Integer) 2);
+		diamond.addEdge((Integer) 1, (Integer) 3);
+		diamond.addEdge((Integer) 2, (Integer) 4);
+		diamond.addEdge((Integer) 3, (Integer) 4);
+
+		List<ArrayList<Integer>> linearOrders = new ArrayList<ArrayList<Integer>>();
+		linearOrders.add(new ArrayList<Integer>(Arrays.asList(1, 3, 2, 4)));
+		linearOrders.add(new ArrayList<Integer>(Arrays.asList(1, 2, 3, 4)));
+
+		assertTrue(PosetAlgorithms.prLinearExtensionsCheck(linearOrders, diamond, true));
+
+		linearOrders.remove(1);
+		assertFalse(PosetAlgorithms.prLinearExtensionsCheck(linearOrders, diamond, true));
+
+		linearOrders.add(new ArrayList<Integer>(Arrays.asList(1, 2, 4, 3)));
+		assertFalse(PosetAlgorithms.prLinearExtensionsCheck(linearOrders, diamond, true));
+
+		linearOrders.clear();
+		linearOrders.add(new ArrayList<Integer>(Arrays.asList(1, 2, 3, 4)));
+		linearOrders.add(new ArrayList<Integer>(Arrays.asList(1, 3, 2, 4)));
+		assertTrue(PosetAlgorithms.prLinearExtensionsCheck(linearOrders, diamond, true, VerificationMode.COUNT));
+		assertTrue(PosetAlgorithms.prLinearExtensionsCheck(linearOrders, diamond, true, VerificationMode.ESTIMATE));
+
+		linearOrders.add(new ArrayList<Integer>(Arrays.asList(1, 2, 3, 4)));
+		assertFalse(PosetAlgorithms.prLinearExtensionsCheck(linearOrders, diamond, true, VerificationMode.COUNT));
+
+		linearOrders.remove(2);
+		linearOrders.remove(1);
+		assertFalse(PosetAlgorithms.prLinearExtensionsCheck(linearOrders, diamond, true, VerificationMode.COUNT));
+		assertFalse(PosetAlgorithms.prLinearExtensionsCheck(linearOrders, diamond, true, VerificationMode.ESTIMATE));
+
+		linearOrders.add(new ArrayList<Integer>(Arrays.asList(1, 2, 4, 3)));
+		assertFalse(PosetAlgorithms.prLinearExtensionsCheck(linearOrders, diamond, true, VerificationMode.COUNT));
+	}
+
+	@Test
+	public void testEstimateKeepsCorrectCounts() {
+
+		//{0, 1} < 2 < 3 < {4, 5}, with 4 extensions the estimate used to put outside its bounds
+		Poset<Integer> poset = new Poset<Integer>(6);
+		for (int i = 0; i < 6; i++) {
+
+			poset.addVertex(i);
+		}
+		poset.addEdge((Integer) 0, (Integer) 2);
+		poset.addEdge((Integer) 1, (Integer) 2);
+		poset.addEdge((Integer) 2, (Integer) 3);
+		poset.addEdge((Integer) 3, (Integer) 4);
+		poset.addEdge((Integer) 3, (Integer) 5);
+
+		List<ArrayList<Integer>> linearOrders = TestPosets.extensionsOf(poset);
+		assertEquals(4, linearOrders.size());
+		for (VerificationMode mode : VerificationMode.values()) {
+
+			assertTrue(mode.toString(), PosetAlgorithms.prLinearExtensionsCheck(linearOrders, poset, true, mode));
+		}
+
+		//One short is left to the exact count, which still rejects it
+		assertFalse(PosetAlgorithms.prLinearExtensionsCheck(linearOrders.subList(1, 4), poset, true, VerificationMode.ESTIMATE));
+
+		//The estimate never turns away a right answer
+		Random random = new Random(41);
+		int excluded = 0;
+		for (int trial = 0; trial < 300; trial++) {
+
+			int n = 2 + random.nextInt(6);
+			Poset<Integer> trialPoset = TestPosets.randomPoset(random, n, 3);
+
+			assertTrue(PosetAlgorithms.prLinearExtensionsCheck(TestPosets.extensionsOf(trialPoset), trialPoset, true, VerificationMode.ESTIMATE));
+
+			//Small enough that the estimate is skipped, but its bounds still have to hold the count nearly every time
+			assertFalse(new ApproximateCounter().isCheaperThanCount(new LinearExtensions(trialPoset)));
+			ApproximateCount estimate = new ApproximateCounter().estimate(trialPoset, new SplittableRandom(random.nextLong()));
+			long exact = LinearExtensions.count(trialPoset).longValue();
+			if (estimate.excludes(exact)) {
+
+				excluded++;
+			}
+			assertFalse(estimate.toString(), new ApproximateCount(estimate.getLogEstimate(), estimate.getLogStandardError(), 6).excludes(exact));
+		}
+		assertTrue("Excluded " + excluded, excluded <= 3);
+	}
+
+	@Test
+	public void testEstimateOnlyWhenCheaper() {
+
+		//Narrow posets, and an antichain whose components are counted one at a time
+		Poset<Integer> chain = new Poset<Integer>(40);
+		Poset<Integer> antichain = new Poset<Integer>(40);
+		for (int i = 0; i < 40; i++) {
+
+			chain.addVertex(i);
+			antichain.addVertex(i);
+		}
+		for (int i = 0; i + 1 < 40; i++) {
+
+			chain.addEdge((Integer) i, (Integer) (i + 1));
+		}
+		assertFalse(new ApproximateCounter().isCheaperThanCount(new LinearExtensions(chain)));
+		assertFalse(new ApproximateCounter().isCheaperThanCount(new LinearExtensions(antichain)));
+		assertFalse(new ApproximateCounter().isCheaperThanCount(new LinearExtensions(kite(4))));
+
+		//A bottom and a top around an antichain of 20, with 2^20 + 2 downsets
+		Poset<Integer> wide = kite(20);
+		assertTrue(new ApproximateCounter().isCheaperThanCount(new LinearExtensions(wide)));
+
+		List<ArrayList<Integer>> linearOrders = new ArrayList<ArrayList<Integer>>();
+		ArrayList<Integer> up = new ArrayList<Integer>();
+		for (int i = 0; i < 22; i++) {
+
+			up.add(i);
+		}
+		linearOrders.add(up);
+		ArrayList<Integer> swapped = new ArrayList<Integer>(up);
+		Collections.swap(swapped, 1, 2);
+		linearOrders.add(swapped);
+		assertFalse(PosetAlgorithms.prLinearExtensionsCheck(linearOrders, wide, true, VerificationMode.ESTIMATE));
+	}
+
+	/**
+	 * Makes the poset of width + 2 elements with 0 below 1 to width, which are below width + 1.
+	 */
+	private static Poset<Integer> kite(int width) {
+
+		Poset<Integer> poset = new Poset<Integer>(width + 2);
+		for (int i = 0; i < width + 2; i++) {
+
+			poset.addVertex(i);
+		}
+		for (int i = 1; i <= width; i++) {
+
+			poset.addEdge((Integer) 0, (Integer) i);
+			poset.addEdge((Integer) i, (Integer) (width + 1));
+		}
+
+		return poset;
+	}
+
+	/**
+	 * Works out n!.
+	 */
+	private static BigInteger factorial(int n) {
+
+		BigInteger result = BigInteger.ONE;
+		for (int i = 2; i <= n; i++) {
+
+			result = result.multiply(BigInteger.valueOf(i));
+		}
+
+		return result;
+	}
+
+	/**
+	 * Counts the extensions of poset, checking each one is a new extension that respects every edge.
+	 */
+	private static long countDistinct(Poset<Integer> poset) {
+
+		final Poset<Integer> closure = poset.transitiveClosure();
+		final HashSet<String> seen = new HashSet<String>();
+
+		long count = new LinearExtensions(poset).forEach(new LinearExtensions.Visitor() {
+
+			@Override
+			public boolean visit(int[] extension) {
+
+				assertTrue(seen.add(Arrays.toString(extension)));
+				for (int i = 0; i < extension.length; i++) {
+
+					for (int j = i + 1; j < extension.length; j++) {
+
+						assertFalse(closure.hasClosureEdge(extension[j], extension[i]));
+					}
+				}
+				return true;
+			}
+		});
+
+		assertEquals(seen.size(), count);
+
+		return count;
+	}
+
+	/**
+	 * Counts the orderings of vertices from start on that don't put any vertex above one it is below.
+	 */
+	private static long countPermutations(Poset<Integer> poset, int[] vertices, int start) {
+
+		if (start == vertices.length) {
+
+			Poset<Integer> closure = poset.transitiveClosure();
+			for (int i = 0; i < vertices.length; i++) {
+
+				for (int j = i + 1; j < vertices.length; j++) {
+
+					if (closure.hasClosureEdge(vertices[j], vertices[i])) {
+
+						return 0;
+					}
+				}
+			}
+			return 1;
+		}
+
+		long count = 0;
+		for (int i = start; i < vertices.length; i++) {
+
+			int swap = vertices[start];
+			vertices[start] = vertices[i];
+			vertices[i] = swap;
+
+			count += countPermutations(poset, vertices, start + 1);
+
+			vertices[i] = vertices[start];
+			vertices[start] = swap;
+		}
+
+		return count;
+	}
+}
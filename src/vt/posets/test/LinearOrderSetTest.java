@@ -0,0 +1,290 @@
+package vt.posets.test;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import vt.posets.extensions.GeneratingPosetBuilder;
+import vt.posets.extensions.LinearExtensions;
+import vt.posets.extensions.LinearOrderSet;
+import vt.posets.extensions.VerificationMode;
+import vt.posets.graph.BitMatrix;
+import vt.posets.main.PosetAlgorithms;
+import vt.posets.poset.Poset;
+
+public class LinearOrderSetTest {
+
+	//~Constants----------------------------------------------
+
+	//~Data Fields--------------------------------------------
+
+	//~Constructors--------------------------------------------
+
+	//~Methods-------------------------------------------------
+	@Test
+	public void testLinearOrderSet() {
+
+		List<ArrayList<String>> linearOrders = new ArrayList<ArrayList<String>>();
+		linearOrders.add(new ArrayList<String>(Arrays.asList("b", "a", "c")));
+		linearOrders.add(new ArrayList<String>(Arrays.asList("c", "b", "a")));
+		linearOrders.add(new ArrayList<String>(Arrays.asList("b", "a", "c")));
+		LinearOrderSet<String> orders = new LinearOrderSet<String>(linearOrders);
+
+		assertEquals(3, orders.size());
+		assertEquals(2, orders.distinctSize());
+		assertEquals(3, orders.length());
+		assertEquals(Arrays.asList("b", "a", "c"), orders.getElements());
+		assertEquals(1, orders.idOf("a"));
+		assertEquals(-1, orders.idOf("d"));
+		assertEquals(Arrays.asList("c", "b", "a"), orders.order(1));
+		assertEquals(linearOrders, orders.toLists());
+		assertEquals(linearOrders.toString(), orders.toString());
+		assertArrayEquals(new int[] {2, 0, 1}, orders.getIds(1, new int[3]));
+		assertArrayEquals(new int[] {1, 2, 0}, orders.positions(1, new int[3]));
+
+		//Ranks count the permutations of ids in lexicographic order
+		assertEquals(0, orders.rank(0));
+		assertEquals(4, orders.rank(1));
+		assertEquals(1, orders.indexOf(new int[] {2, 0, 1}));
+		assertEquals(0, orders.indexOf(new int[] {0, 1, 2}));
+		assertFalse(orders.contains(new int[] {1, 0, 2}));
+		assertFalse(orders.contains(new int[] {0, 1}));
+
+		int k = 0;
+		for (List<String> order : orders) {
+
+			assertEquals(linearOrders.get(k++), order);
+		}
+		assertEquals(3, k);
+
+		//Every permutation of 8 elements has its own rank, and is found again
+		List<ArrayList<Integer>> permutations = new ArrayList<ArrayList<Integer>>();
+		permute(new ArrayList<Integer>(), 8, permutations);
+		LinearOrderSet<Integer> all = new LinearOrderSet<Integer>(permutations);
+		assertEquals(40320, all.distinctSize());
+		int[] ids = new int[8];
+		for (k = 0; k < all.size(); k++) {
+
+			assertEquals(k, all.rank(k));
+			assertEquals(k, all.indexOf(all.getIds(k, ids)));
+		}
+
+		linearOrders.add(new ArrayList<String>(Arrays.asList("a", "a", "c")));
+		try {
+
+			new LinearOrderSet<String>(linearOrders);
+			fail("A repeated element should be rejected");
+		}
+		catch (IllegalArgumentException e) {
+		}
+		assertFalse(PosetAlgorithms.prLinearExtensionsCheck(linearOrders, new Poset<String>(linearOrders.get(0)), true));
+	}
+
+	@Test
+	public void testComparabilities() {
+
+		Random random = new Random(23);
+		for (int n : new int[] {1, 5, 63, 64, 65, 130}) {
+
+			List<ArrayList<Integer>> linearOrders = new ArrayList<ArrayList<Integer>>();
+			ArrayList<Integer> linearOrder = new ArrayList<Integer>();
+			for (int i = 0; i < n; i++) {
+
+				linearOrder.add(i);
+			}
+			for (int k = 0; k < 6; k++) {
+
+				//Swap a few adjacent pairs, so the orders agree on most of their pairs
+				linearOrder = new ArrayList<Integer>(linearOrder);
+				for (int swap = 0; n > 1 && swap < 3; swap++) {
+
+					Collections.swap(linearOrder, random.nextInt(n - 1), random.nextInt(n - 1) + 1);
+				}
+				linearOrders.add(linearOrder);
+			}
+			LinearOrderSet<Integer> orders = new LinearOrderSet<Integer>(linearOrders);
+
+			BitMatrix all = orders.comparabilities(0, orders.size());
+			BitMatrix some = orders.comparabilities(2, 4);
+			BitMatrix none = orders.comparabilities(3, 3);
+			int[][] positions = new int[orders.size()][n];
+			for (int k = 0; k < orders.size(); k++) {
+
+				orders.positions(k, positions[k]);
+			}
+
+			for (int a = 0; a < n; a++) {
+
+				for (int b = 0; b < n; b++) {
+
+					boolean allBefore = true;
+					boolean someBefore = true;
+					for (int k = 0; k < orders.size(); k++) {
+
+						if (positions[k][a] > positions[k][b]) {
+
+							allBefore = false;
+							someBefore &= (k < 2 || k >= 4);
+						}
+					}
+					assertEquals(allBefore, all.get(a, b));
+					assertEquals(someBefore, some.get(a, b));
+					assertTrue(none.get(a, b));
+				}
+				assertEquals(-1, none.nextSetBit(a, n));
+			}
+		}
+	}
+
+	@Test
+	public void testComparabilitiesParallel() {
+
+		Random random = new Random(29);
+		for (int n : new int[] {3, 40, 70}) {
+
+			//Orders of a poset split into a few chains, so the intersection isn't an antichain
+			List<ArrayList<Integer>> linearOrders = new ArrayList<ArrayList<Integer>>();
+			for (int k = 0; k < 700; k++) {
+
+				ArrayList<Integer> linearOrder = new ArrayList<Integer>();
+				int[] next = new int[3];
+				while (linearOrder.size() < n) {
+
+					int chain = random.nextInt(3);
+					int element = 3 * next[chain] + chain;
+					if (element < n) {
+
+						linearOrder.add(element);
+						next[chain]++;
+					}
+				}
+				linearOrders.add(linearOrder);
+			}
+			LinearOrderSet<Integer> orders = new LinearOrderSet<Integer>(linearOrders);
+
+			assertEquals(orders.comparabilities(0, orders.size()), orders.comparabilitiesParallel());
+			assertEquals(orders.comparabilities(0, orders.size()), orders.comparabilitiesParallel(new ForkJoinPool(3)));
+
+			//With its reverse in there nothing is comparable
+			ArrayList<Integer> reversed = new ArrayList<Integer>(linearOrders.get(0));
+			Collections.reverse(reversed);
+			linearOrders.add(350, reversed);
+			orders = new LinearOrderSet<Integer>(linearOrders);
+
+			BitMatrix relation = orders.comparabilitiesParallel();
+			assertEquals(orders.comparabilities(0, orders.size()), relation);
+			for (int a = 0; a < n; a++) {
+
+				assertEquals(1, relation.cardinality(a));
+				assertTrue(relation.get(a, a));
+			}
+		}
+	}
+
+	@Test
+	public void testOrderSetAlgorithms() {
+
+		Random random = new Random(17);
+		for (int trial = 0; trial < 30; trial++) {
+
+			int n = 1 + random.nextInt(7);
+			Poset<Integer> poset = TestPosets.randomPoset(random, n, 3);
+
+			List<ArrayList<Integer>> linearOrders = TestPosets.extensionsOf(poset);
+			Collections.shuffle(linearOrders, random);
+			LinearOrderSet<Integer> orders = new LinearOrderSet<Integer>(linearOrders);
+
+			for (VerificationMode mode : VerificationMode.values()) {
+
+				assertTrue(PosetAlgorithms.prLinearExtensionsCheck(orders, poset, true, mode));
+			}
+
+			Poset<Integer> generated = PosetAlgorithms.generatingPosetOne(orders, false);
+			assertNotNull(generated);
+			assertEquals(generated, PosetAlgorithms.generatingPosetOne(linearOrders, false));
+			assertEquals(LinearExtensions.count(poset), LinearExtensions.count(generated));
+			assertEquals(generated.getCoverEdges().size(), generated.transitiveReduction().getCoverEdges().size());
+
+			//One order short
+			if (linearOrders.size() > 1) {
+
+				LinearOrderSet<Integer> fewer = new LinearOrderSet<Integer>(linearOrders.subList(1, linearOrders.size()));
+				assertFalse(PosetAlgorithms.prLinearExtensionsCheck(fewer, poset, true));
+				assertFalse(PosetAlgorithms.prLinearExtensionsCheck(fewer, poset, true, VerificationMode.COUNT));
+			}
+		}
+	}
+
+	@Test
+	public void testOneSwapApart() {
+
+		for (int n = 1; n <= 5; n++) {
+
+			List<ArrayList<Integer>> permutations = new ArrayList<ArrayList<Integer>>();
+			permute(new ArrayList<Integer>(), n, permutations);
+			LinearOrderSet<Integer> orders = new LinearOrderSet<Integer>(permutations);
+
+			//Exactly the pairs of different orders whose intersection has two extensions
+			for (int k = 0; k < orders.size(); k++) {
+
+				assertFalse(orders.oneSwapApart(k, k));
+				for (int l = 0; l < orders.size(); l++) {
+
+					if (k != l) {
+
+						GeneratingPosetBuilder<Integer> builder = new GeneratingPosetBuilder<Integer>();
+						builder.accept(permutations.get(k));
+						builder.accept(permutations.get(l));
+						assertEquals(builder.isGenerating(), orders.oneSwapApart(k, l));
+					}
+					assertEquals(orders.oneSwapApart(k, l), orders.oneSwapApart(l, k));
+				}
+			}
+		}
+
+		List<ArrayList<Integer>> linearOrders = new ArrayList<ArrayList<Integer>>();
+		linearOrders.add(new ArrayList<Integer>(Arrays.asList(0, 1, 2, 3)));
+		linearOrders.add(new ArrayList<Integer>(Arrays.asList(0, 2, 1, 3)));
+		linearOrders.add(new ArrayList<Integer>(Arrays.asList(1, 0, 3, 2)));
+		linearOrders.add(new ArrayList<Integer>(Arrays.asList(0, 1, 3, 2)));
+		linearOrders.add(new ArrayList<Integer>(Arrays.asList(0, 1, 2, 3)));
+		LinearOrderSet<Integer> orders = new LinearOrderSet<Integer>(linearOrders);
+		assertFalse(orders.oneSwapApart(0, 0));
+		assertFalse(orders.oneSwapApart(0, 4));
+		assertTrue(orders.oneSwapApart(4, 1));
+		assertTrue(orders.oneSwapApart(0, 1));
+		assertTrue(orders.oneSwapApart(0, 3));
+		assertFalse(orders.oneSwapApart(0, 2));
+		assertFalse(orders.oneSwapApart(1, 3));
+		assertTrue(orders.oneSwapApart(2, 3));
+	}
+
+	/**
+	 * Adds every ordering of 0 to n - 1 that starts with prefix to permutations, in lexicographic order.
+	 */
+	private static void permute(ArrayList<Integer> prefix, int n, List<ArrayList<Integer>> permutations) {
+
+		if (prefix.size() == n) {
+
+			permutations.add(new ArrayList<Integer>(prefix));
+			return;
+		}
+
+		for (int i = 0; i < n; i++) {
+
+			if (!prefix.contains(i)) {
+
+				prefix.add(i);
+				permute(prefix, n, permutations);
+				prefix.remove(prefix.size() - 1);
+			}
+		}
+	}
+}
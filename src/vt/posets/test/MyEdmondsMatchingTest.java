@@ -3,13 +3,28 @@ package vt.posets.test;
 import static org.junit.Assert.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.Test;
 
+import vt.posets.extensions.LinearExtensions;
+import vt.posets.extensions.LinearOrderSet;
 import vt.posets.graph.AdjacencyMatrix;
+import vt.posets.graph.Edge;
+import vt.posets.graph.Graph;
+import vt.posets.graph.GraphBackend;
+import vt.posets.matching.LinearOrderGraphBuilder;
 import vt.posets.matching.LinearOrderVertex;
 import vt.posets.matching.MyEdmondsMatching;
 import vt.posets.matching.PosetEdge;
+import vt.posets.poset.Poset;
 
 public class MyEdmondsMatchingTest {
 
@@ -72,4 +87,169 @@ public class MyEdmondsMatchingTest {
 		AdjacencyMatrix<LinearOrderVertex<Integer>, PosetEdge<LinearOrderVertex<Integer>, Integer>> gMatch2 = MyEdmondsMatching.maximumMatching(g2);
 		System.out.println(gMatch2.toString());
 	}
+
+	@Test
+	public void testLinearOrderGraphBuilder() {
+
+		//Every ordering of 0 to 3, shuffled, most pairs of them more than one swap apart
+		List<ArrayList<Integer>> linearOrders = new ArrayList<ArrayList<Integer>>();
+		for (int a = 0; a < 4; a++) {
+
+			for (int b = 0; b < 4; b++) {
+
+				for (int c = 0; c < 4; c++) {
+
+					int d = 6 - a - b - c;
+					if (a != b && a != c && b != c && d != a && d != b && d != c) {
+
+						linearOrders.add(new ArrayList<Integer>(Arrays.asList(a, b, c, d)));
+					}
+				}
+			}
+		}
+		Collections.shuffle(linearOrders, new Random(31));
+
+		//Copies of two of the orders, which no poset generates along with the original
+		linearOrders.add(new ArrayList<Integer>(linearOrders.get(3)));
+		linearOrders.add(new ArrayList<Integer>(linearOrders.get(17)));
+		linearOrders.add(new ArrayList<Integer>(linearOrders.get(3)));
+		LinearOrderSet<Integer> orders = new LinearOrderSet<Integer>(linearOrders);
+		int m = linearOrders.size();
+
+		//Worked out by hand: an edge joins orders that are the same but for one swapped adjacent pair
+		boolean[][] expected = new boolean[m][m];
+		int expectedEdges = 0;
+		for (int i = 0; i < m; i++) {
+
+			for (int j = 0; j < m; j++) {
+
+				expected[i][j] = oneAdjacentSwap(linearOrders.get(i), linearOrders.get(j));
+				if (expected[i][j]) {
+
+					expectedEdges++;
+				}
+			}
+		}
+		//24 orders with 3 swaps each, and each of the 3 copies joins its original's 3 neighbours both ways
+		assertEquals(24 * 3 + 18, expectedEdges);
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+
+			for (GraphBackend backend : GraphBackend.values()) {
+
+				List<Graph<LinearOrderVertex<Integer>, PosetEdge<LinearOrderVertex<Integer>, Integer>>> graphs 
+						= new ArrayList<Graph<LinearOrderVertex<Integer>, PosetEdge<LinearOrderVertex<Integer>, Integer>>>();
+				graphs.add(new LinearOrderGraphBuilder<Integer>(linearOrders, orders, backend).build(pool));
+				graphs.add(new LinearOrderGraphBuilder<Integer>(linearOrders, null, backend).build(pool));
+
+				for (Graph<LinearOrderVertex<Integer>, PosetEdge<LinearOrderVertex<Integer>, Integer>> graph : graphs) {
+
+					assertEquals(m, graph.size());
+					int edges = 0;
+					for (int i = 0; i < m; i++) {
+
+						assertEquals(linearOrders.get(i), graph.getVertex(i).getLinearOrder());
+						for (int j = 0; j < m; j++) {
+
+							Edge<LinearOrderVertex<Integer>> edge = graph.getEdge(i, j);
+							assertEquals(expected[i][j], edge instanceof PosetEdge<?, ?>);
+							if (expected[i][j]) {
+
+								//Both directions share one poset, whose extensions are the two orders and nothing else
+								@SuppressWarnings("unchecked")
+								Poset<Integer> poset = ((PosetEdge<LinearOrderVertex<Integer>, Integer>) edge).getGeneratingPoset();
+								@SuppressWarnings("unchecked")
+								Poset<Integer> reverse = ((PosetEdge<LinearOrderVertex<Integer>, Integer>) graph.getEdge(j, i)).getGeneratingPoset();
+								assertSame(poset, reverse);
+
+								Set<List<Integer>> extensions = new HashSet<List<Integer>>();
+								for (Iterator<int[]> it = new LinearExtensions(poset).iterator(); it.hasNext();) {
+
+									List<Integer> extension = new ArrayList<Integer>();
+									for (int index : it.next()) {
+
+										extension.add(poset.getVertex(index));
+									}
+									extensions.add(extension);
+								}
+								assertEquals(new HashSet<List<Integer>>(Arrays.asList(linearOrders.get(i), linearOrders.get(j))), extensions);
+								edges++;
+							}
+						}
+					}
+					assertEquals(expectedEdges, edges);
+				}
+			}
+		}
+		finally {
+
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testMatchingSharesPosets() {
+
+		//Every ordering of 0 to 3, which the adjacent swaps join into a graph with a perfect matching
+		List<ArrayList<Integer>> linearOrders = new ArrayList<ArrayList<Integer>>();
+		for (List<Integer> linearOrder : Arrays.asList(
+				Arrays.asList(0, 1, 2, 3), Arrays.asList(0, 1, 3, 2), Arrays.asList(0, 2, 1, 3), Arrays.asList(0, 2, 3, 1),
+				Arrays.asList(0, 3, 1, 2), Arrays.asList(0, 3, 2, 1), Arrays.asList(1, 0, 2, 3), Arrays.asList(1, 0, 3, 2),
+				Arrays.asList(1, 2, 0, 3), Arrays.asList(1, 2, 3, 0), Arrays.asList(1, 3, 0, 2), Arrays.asList(1, 3, 2, 0),
+				Arrays.asList(2, 0, 1, 3), Arrays.asList(2, 0, 3, 1), Arrays.asList(2, 1, 0, 3), Arrays.asList(2, 1, 3, 0),
+				Arrays.asList(2, 3, 0, 1), Arrays.asList(2, 3, 1, 0), Arrays.asList(3, 0, 1, 2), Arrays.asList(3, 0, 2, 1),
+				Arrays.asList(3, 1, 0, 2), Arrays.asList(3, 1, 2, 0), Arrays.asList(3, 2, 0, 1), Arrays.asList(3, 2, 1, 0))) {
+
+			linearOrders.add(new ArrayList<Integer>(linearOrder));
+		}
+		LinearOrderSet<Integer> orders = new LinearOrderSet<Integer>(linearOrders);
+		int m = linearOrders.size();
+
+		for (GraphBackend backend : GraphBackend.values()) {
+
+			Graph<LinearOrderVertex<Integer>, PosetEdge<LinearOrderVertex<Integer>, Integer>> graph
+					= new LinearOrderGraphBuilder<Integer>(linearOrders, orders, backend).build();
+			Graph<LinearOrderVertex<Integer>, PosetEdge<LinearOrderVertex<Integer>, Integer>> matching = MyEdmondsMatching.maximumMatching(graph);
+
+			//The cover takes its posets from the matching, which has to hand back the builder's posets rather than new ones
+			int matched = 0;
+			for (int i = 0; i < m; i++) {
+
+				for (int j = 0; j < m; j++) {
+
+					Edge<LinearOrderVertex<Integer>> edge = matching.getEdge(i, j);
+					if (edge instanceof PosetEdge<?, ?>) {
+
+						@SuppressWarnings("unchecked")
+						Poset<Integer> poset = ((PosetEdge<LinearOrderVertex<Integer>, Integer>) edge).getGeneratingPoset();
+						@SuppressWarnings("unchecked")
+						Poset<Integer> built = ((PosetEdge<LinearOrderVertex<Integer>, Integer>) graph.getEdge(i, j)).getGeneratingPoset();
+						assertNotNull(poset);
+						assertSame(built, poset);
+						matched++;
+					}
+				}
+			}
+			assertEquals(m, matched);
+		}
+	}
+
+	/**
+	 * Checks whether second is first with exactly one pair of adjacent elements swapped.
+	 */
+	private static boolean oneAdjacentSwap(List<Integer> first, List<Integer> second) {
+
+		for (int i = 0; i + 1 < first.size(); i++) {
+
+			List<Integer> swapped = new ArrayList<Integer>(first);
+			Collections.swap(swapped, i, i + 1);
+			if (swapped.equals(second)) {
+
+				return true;
+			}
+		}
+
+		return false;
+	}
 }
@@ -6,8 +6,11 @@ import java.util.ArrayList;
 
 import org.junit.Test;
 
+import vt.posets.graph.NeighborCursor;
 import vt.posets.main.PosetAlgorithms;
+import vt.posets.poset.IntPoset;
 import vt.posets.poset.Poset;
+import vt.posets.poset.PruesseRuskeyEncoding;
 
 public class PosetTest {
 
@@ -133,6 +136,113 @@ public class PosetTest {
 		System.out.println("STARTER VERTICES == :\n" + myPoset.getStarterVertices());
 	}
 
+	@Test
+	public void testCoverAndClosureNeighbors() {
+		
+		ArrayList<Integer> linearOrder = new ArrayList<Integer>();
+		linearOrder.add(1);
+		linearOrder.add(2);
+		linearOrder.add(3);
+		
+		Poset<Integer> closure = new Poset<Integer>(linearOrder).transitiveClosure();
+		
+		assertEquals(1, closure.nextCoverSuccessor(0, 0));
+		assertEquals(-1, closure.nextCoverSuccessor(0, 2));
+		assertEquals(0, closure.nextClosureSuccessor(0, 0));
+		assertEquals(2, closure.nextClosureSuccessor(0, 2));
+		assertEquals(1, closure.nextCoverPredecessor(2, 0));
+		assertEquals(-1, closure.nextCoverPredecessor(0, 0));
+		
+		NeighborCursor cursor = closure.closurePredecessorCursor().reset(2);
+		assertEquals(0, cursor.next());
+		assertEquals(1, cursor.next());
+		assertEquals(2, cursor.next());
+		assertEquals(-1, cursor.next());
+		
+		cursor = closure.coverSuccessorCursor().reset(1);
+		assertEquals(2, cursor.next());
+		assertEquals(-1, cursor.next());
+		
+		assertEquals(1, closure.getCoverEdgesTo((Integer) 1).size());
+		assertEquals(3, closure.getClosureEdgesTo((Integer) 1).size());
+		assertEquals(1, closure.getCoverEdgesFrom((Integer) 3).size());
+	}
+
+	@Test
+	public void testCoverAndClosurePlanes() {
+		
+		ArrayList<Integer> linearOrder = new ArrayList<Integer>();
+		linearOrder.add(1);
+		linearOrder.add(2);
+		linearOrder.add(3);
+		
+		Poset<Integer> poset = new Poset<Integer>(linearOrder).transitiveClosure();
+		
+		assertTrue(poset.hasEdge((Integer) 1, (Integer) 2));
+		assertFalse(poset.hasEdge((Integer) 1, (Integer) 3));
+		assertTrue(poset.hasClosureEdge((Integer) 1, (Integer) 3));
+		assertTrue(poset.hasClosureEdge((Integer) 1, (Integer) 2));
+		assertNull(poset.getEdge((Integer) 1, (Integer) 3));
+		assertNotNull(poset.getClosureEdge((Integer) 1, (Integer) 3));
+		assertEquals(2, poset.getCoverEdges().size());
+		assertEquals(6, poset.getClosureEdges().size());
+		
+		Poset<Integer> copy = poset.makeCopy();
+		
+		//Removing the cover edge 1 -> 2 makes 1 -> 3 a cover edge
+		assertTrue(copy.removeEdge((Integer) 1, (Integer) 2));
+		assertTrue(copy.hasEdge((Integer) 1, (Integer) 3));
+		assertFalse(copy.hasClosureEdge((Integer) 1, (Integer) 2));
+		assertTrue(poset.hasEdge((Integer) 1, (Integer) 2));
+		assertFalse(poset.hasEdge((Integer) 1, (Integer) 3));
+		
+		assertTrue(poset.swapEdgeToCover((Integer) 1, (Integer) 3));
+		assertTrue(poset.hasEdge((Integer) 1, (Integer) 3));
+		assertFalse(poset.swapEdgeToCover((Integer) 3, (Integer) 1));
+		
+		assertEquals(1, poset.popEdge((Integer) 2, (Integer) 3));
+		assertEquals(0, poset.popEdge((Integer) 2, (Integer) 3));
+		assertEquals(-1, poset.popEdge((Integer) 2, (Integer) 7));
+		
+		assertTrue(poset.removeVertex((Integer) 1));
+		assertEquals(0, poset.getCoverEdges().size());
+	}
+
+	@Test
+	public void testIntPoset() {
+		
+		IntPoset poset = new IntPoset(new int[] {1, 2, 3});
+		poset.addVertex(4);
+		assertTrue(poset.addEdge(poset.findVertex(1), poset.findVertex(4)));
+		
+		assertEquals(-1, poset.addVertex(2));
+		assertTrue(poset.hasEdge(0, 1));
+		assertFalse(poset.hasEdge(0, 2));
+		
+		IntPoset closure = poset.transitiveClosure();
+		
+		assertTrue(closure.hasEdge(1, 2));
+		assertTrue(closure.hasClosureEdge(0, 2));
+		assertFalse(closure.hasEdge(0, 2));
+		assertTrue(closure.hasClosureEdge(3, 3));
+		assertFalse(closure.hasClosureEdge(3, 0));
+		assertEquals(3, closure.nextCoverSuccessor(0, 2));
+		
+		Poset<Integer> converted = closure.toPoset();
+		
+		assertEquals(converted, new Poset<Integer>(poset.toPoset()).transitiveClosure());
+		assertTrue(converted.hasEdge((Integer) 2, (Integer) 3));
+		assertTrue(converted.hasClosureEdge((Integer) 1, (Integer) 3));
+		assertFalse(converted.hasEdge((Integer) 1, (Integer) 3));
+		assertTrue(new IntPoset(converted).hasClosureEdge(0, 2));
+		assertFalse(new IntPoset(converted).hasEdge(0, 2));
+		
+		assertTrue(poset.removeVertex((Integer) 2));
+		assertEquals(3, poset.nextSuccessor(0, 0));
+		assertEquals(1, poset.addVertex(5));
+		assertFalse(poset.hasClosureEdge(0, 1));
+	}
+
 	@Test
 	public void testRemoveEdgeTT() {
 		fail("Not yet implemented");
@@ -185,6 +295,16 @@ public class PosetTest {
 		
 		Poset<Integer> transitiveClosure = myPoset.transitiveClosure();
 		System.out.println(transitiveClosure.printEdges());
+		
+		assertTrue(transitiveClosure.hasClosureEdge((Integer) 1, (Integer) 1));
+		assertTrue(transitiveClosure.hasClosureEdge((Integer) 2, (Integer) 1));
+		assertTrue(transitiveClosure.hasClosureEdge((Integer) 3, (Integer) 1));
+		assertTrue(transitiveClosure.hasClosureEdge((Integer) 3, (Integer) 4));
+		assertTrue(transitiveClosure.hasClosureEdge((Integer) 4, (Integer) 2));
+		assertTrue(transitiveClosure.hasEdge((Integer) 4, (Integer) 1));
+		assertFalse(transitiveClosure.hasEdge((Integer) 1, (Integer) 2));
+		assertFalse(transitiveClosure.hasEdge((Integer) 1, (Integer) 4));
+		assertEquals(myPoset.getVertex(2), transitiveClosure.getVertex(2));
 	}
 	
 	@Test
@@ -472,4 +592,75 @@ public class PosetTest {
 		Poset<Integer> transitveReduction = myPoset.transitiveReduction();
 		System.out.println(transitveReduction.toString());
 	}
+
+	@Test
+	public void testTransitiveReductionFromClosure() {
+		
+		//A diamond 1 < 2, 3 < 4, with 5 above 4, given by its closure
+		Poset<Integer> myPoset = new Poset<Integer>(5);
+		for (int i = 1; i <= 5; i++) {
+			
+			myPoset.addVertex((Integer) i);
+		}
+		myPoset.addEdge((Integer) 1, (Integer) 2);
+		myPoset.addEdge((Integer) 1, (Integer) 3);
+		myPoset.addEdge((Integer) 2, (Integer) 4);
+		myPoset.addEdge((Integer) 3, (Integer) 4);
+		myPoset.addEdge((Integer) 4, (Integer) 5);
+		
+		Poset<Integer> closure = myPoset.transitiveClosure();
+		Poset<Integer> reduction = closure.transitiveReduction();
+		
+		assertEquals(5, reduction.getCoverEdges().size());
+		assertEquals(5, reduction.getClosureEdges().size());
+		assertTrue(reduction.hasEdge((Integer) 2, (Integer) 4));
+		assertFalse(reduction.hasClosureEdge((Integer) 1, (Integer) 4));
+		assertFalse(reduction.hasClosureEdge((Integer) 1, (Integer) 5));
+		assertFalse(reduction.hasClosureEdge((Integer) 3, (Integer) 3));
+		assertEquals(closure.getClosureEdges().size(), 
+				reduction.transitiveClosure().getClosureEdges().size());
+		
+		//The kept reduction is dropped once the poset changes
+		assertEquals(5, myPoset.transitiveReduction().getCoverEdges().size());
+		assertTrue(myPoset.removeEdge((Integer) 2, (Integer) 4));
+		Poset<Integer> changed = myPoset.transitiveReduction();
+		assertEquals(4, changed.getCoverEdges().size());
+		assertFalse(changed.hasEdge((Integer) 2, (Integer) 4));
+		assertTrue(changed.hasEdge((Integer) 3, (Integer) 4));
+	}
+	
+	@Test
+	public void testPruesseRuskeyEncoding() {
+		
+		//A chain 10 < 20 < 30 with 40 above 10, added out of order
+		Poset<Integer> myPoset = new Poset<Integer>(4);
+		myPoset.addVertex((Integer) 30);
+		myPoset.addVertex((Integer) 10);
+		myPoset.addVertex((Integer) 40);
+		myPoset.addVertex((Integer) 20);
+		myPoset.addEdge((Integer) 10, (Integer) 20);
+		myPoset.addEdge((Integer) 20, (Integer) 30);
+		myPoset.addEdge((Integer) 10, (Integer) 40);
+		
+		PruesseRuskeyEncoding encoding = myPoset.pruesseRuskeyEncoding();
+		assertEquals("4\n1 2\n1 3\n3 4\n0 0", encoding.getText());
+		assertEquals(encoding.getText(), myPoset.pruesseRuskeyString());
+		assertEquals(4, encoding.getNumbered());
+		assertEquals((Integer) 10, myPoset.getVertex(encoding.indexOf(1)));
+		assertEquals((Integer) 40, myPoset.getVertex(encoding.indexOf(2)));
+		assertEquals((Integer) 20, myPoset.getVertex(encoding.indexOf(3)));
+		assertEquals((Integer) 30, myPoset.getVertex(encoding.indexOf(4)));
+		assertEquals(-1, encoding.indexOf(0));
+		assertEquals(-1, encoding.indexOf(5));
+		assertEquals(encoding.toMap(), myPoset.getCurMapping());
+		
+		//Kept until the poset changes, and the old one is left as it was
+		assertSame(encoding, myPoset.pruesseRuskeyEncoding());
+		myPoset.addEdge((Integer) 40, (Integer) 30);
+		assertNull(myPoset.getCurMapping());
+		PruesseRuskeyEncoding changed = myPoset.pruesseRuskeyEncoding();
+		assertNotSame(encoding, changed);
+		assertEquals("4\n1 2\n1 3\n2 4\n3 4\n0 0", changed.getText());
+		assertEquals("4\n1 2\n1 3\n3 4\n0 0", encoding.getText());
+	}
 }
\ No newline at end of file
@@ -0,0 +1,175 @@
+package vt.posets.test;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import vt.posets.extensions.LinearExtensions;
+import vt.posets.main.PruesseRuskeyRunner;
+import vt.posets.poset.Poset;
+
+public class PruesseRuskeyRunnerTest {
+
+	//~Constants----------------------------------------------
+
+	//~Data Fields--------------------------------------------
+
+	//~Constructors--------------------------------------------
+
+	//~Methods-------------------------------------------------
+	@Test
+	public void testParse() throws IOException {
+
+		String output = "1 2 3 4\n2 1 3 4\n 12 1  3\r\n4 ";
+		ArrayList<ArrayList<String>> orders = PruesseRuskeyRunner.parse(
+				new ByteArrayInputStream(output.getBytes(StandardCharsets.US_ASCII)), 4);
+
+		assertEquals(3, orders.size());
+		assertEquals(Arrays.asList("1", "2", "3", "4"), orders.get(0));
+		assertEquals(Arrays.asList("2", "1", "3", "4"), orders.get(1));
+		assertEquals(Arrays.asList("12", "1", "3", "4"), orders.get(2));
+
+		//Orders run together on one line, and a partial order at the end is dropped
+		orders = PruesseRuskeyRunner.parse(
+				new ByteArrayInputStream("1 2 2 1 1".getBytes(StandardCharsets.US_ASCII)), 2);
+		assertEquals(2, orders.size());
+		assertEquals(Arrays.asList("2", "1"), orders.get(1));
+
+		orders = PruesseRuskeyRunner.parse(new ByteArrayInputStream(new byte[0]), 3);
+		assertTrue(orders.isEmpty());
+	}
+
+	@Test
+	public void testParseChannel() throws IOException {
+
+		//Longer than the read buffer, so numbers are split across reads
+		StringBuilder output = new StringBuilder();
+		for (int i = 0; i < 40000; i++) {
+
+			output.append("1 2 3\n3 1 2\n");
+		}
+		byte[] bytes = output.toString().getBytes(StandardCharsets.US_ASCII);
+		int[] mapping = {-1, 30, 10, 20};
+
+		final List<int[]> seen = new ArrayList<int[]>();
+		long orders = PruesseRuskeyRunner.parse(Channels.newChannel(new ByteArrayInputStream(bytes)), 3, mapping,
+				new LinearExtensions.Visitor() {
+
+			@Override
+			public boolean visit(int[] order) {
+
+				seen.add(order.clone());
+				return true;
+			}
+		});
+
+		assertEquals(80000, orders);
+		assertEquals(80000, seen.size());
+		for (int i = 0; i < seen.size(); i += 2) {
+
+			assertArrayEquals(new int[] {30, 10, 20}, seen.get(i));
+			assertArrayEquals(new int[] {20, 30, 10}, seen.get(i + 1));
+		}
+
+		//Returning false stops the reading
+		final int[] visits = new int[1];
+		orders = PruesseRuskeyRunner.parse(Channels.newChannel(new ByteArrayInputStream(bytes)), 3, null,
+				new LinearExtensions.Visitor() {
+
+			@Override
+			public boolean visit(int[] order) {
+
+				visits[0]++;
+				return visits[0] < 5;
+			}
+		});
+		assertEquals(5, orders);
+		assertEquals(5, visits[0]);
+	}
+
+	@Test
+	public void testParseBadNumbers() throws IOException {
+
+		int[] mapping = {-1, 30, 10, 20};
+		LinearExtensions.Visitor visitor = new LinearExtensions.Visitor() {
+
+			@Override
+			public boolean visit(int[] order) {
+
+				return true;
+			}
+		};
+
+		for (String output : new String[] {"1 2 4", "0 1 2", "1 2 99999999999999999999", "3 2 1\n1 7 2"}) {
+
+			try {
+
+				PruesseRuskeyRunner.parse(Channels.newChannel(
+						new ByteArrayInputStream(output.getBytes(StandardCharsets.US_ASCII))), 3, mapping, visitor);
+				fail("Expected IOException for " + output);
+			}
+			catch (IOException e) {
+
+			}
+		}
+	}
+
+	@Test
+	public void testBadOutput() throws IOException {
+
+		//A stand in for the program that prints a vertex the poset doesn't have
+		Path script = Files.createTempFile("prBadOutput", ".sh");
+		try {
+
+			Files.write(script, "#!/bin/sh\necho 1 2 9\n".getBytes(StandardCharsets.US_ASCII));
+			if (!script.toFile().setExecutable(true)) {
+
+				return;
+			}
+
+			Poset<Integer> poset = new Poset<Integer>(3);
+			poset.addVertex((Integer) 1);
+			poset.addVertex((Integer) 2);
+			poset.addVertex((Integer) 3);
+
+			PruesseRuskeyRunner runner = new PruesseRuskeyRunner(script.toString(), 1);
+			LinearExtensions.Visitor visitor = new LinearExtensions.Visitor() {
+
+				@Override
+				public boolean visit(int[] order) {
+
+					return true;
+				}
+			};
+			assertEquals(-1, runner.run(poset, 3, "prBad", true, visitor));
+			assertEquals(1, runner.run(poset, 3, "prBad", false, visitor));
+		}
+		finally {
+
+			Files.deleteIfExists(script);
+		}
+	}
+
+	@Test
+	public void testMissingExecutable() {
+
+		Poset<Integer> poset = new Poset<Integer>(3);
+		poset.addVertex((Integer) 1);
+		poset.addVertex((Integer) 2);
+		poset.addVertex((Integer) 3);
+		poset.addEdge((Integer) 1, (Integer) 2);
+
+		PruesseRuskeyRunner runner = new PruesseRuskeyRunner("no-such-pruesse-ruskey-executable", 2);
+		assertNull(runner.run(poset, 3, "prMissing"));
+	}
+}
@@ -0,0 +1,153 @@
+package vt.posets.test;
+
+import junit.framework.TestCase;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import vt.posets.graph.AdjacencyMatrix;
+import vt.posets.graph.Graph;
+import vt.posets.graph.GraphBackend;
+import vt.posets.graph.IntEdge;
+import vt.posets.graph.NeighborCursor;
+import vt.posets.graph.SparseGraph;
+import vt.posets.poset.Poset;
+
+public class SparseGraphTest extends TestCase {
+
+    //~Constants----------------------------------------------
+
+
+    //~Data Fields--------------------------------------------
+
+
+    //~Constructors--------------------------------------------
+    @Before
+    public void setUp() throws Exception {
+
+
+    }
+
+    //~Methods-------------------------------------------------
+    @Test
+    public void testAddEdge() {
+
+        System.out.println("TEST SPARSE ADD EDGE");
+        SparseGraph<String, IntEdge<String>> graph = new SparseGraph<String, IntEdge<String>>(false);
+
+        assertEquals(graph.addVertex("alphabetical"), 0);
+        assertEquals(graph.addVertex("maniacal"), 1);
+        assertEquals(graph.addVertex("cracked"), 2);
+
+        assertTrue(graph.addEdge("alphabetical", "cracked", 3));
+        assertFalse(graph.addEdge("alphabetical", "cracked", 3));
+        assertFalse(graph.addEdge("alphabetical", "draped", 3));
+        assertTrue(graph.addEdge(1, 2));
+
+        assertEquals(graph.getEdgeWeight(0, 2), 3);
+        assertEquals(graph.getEdgeWeight(2, 0), 3);
+        assertEquals(graph.getEdgeWeight(0, 1), 0);
+        assertEquals(graph.getEdgeWeight(0, 10), -1);
+        assertEquals(graph.getEdges().size(), 4);
+
+        assertEquals(graph.popEdge(2, 0), 3);
+        assertEquals(graph.getEdgeWeight(0, 2), 0);
+        assertTrue(graph.removeEdge("maniacal", "cracked"));
+        assertFalse(graph.removeEdge("maniacal", "cracked"));
+        assertTrue(graph.getEdges().isEmpty());
+
+        System.out.println(graph.printEdges());
+    }
+
+    @Test
+    public void testGrowth() {
+
+        System.out.println("TEST SPARSE GROWTH");
+        SparseGraph<Integer, IntEdge<Integer>> graph = new SparseGraph<Integer, IntEdge<Integer>>(false, 1);
+
+        for (int i = 0; i < 100; i++) {
+
+            assertEquals(graph.addVertex(i), i);
+            if (i > 0) {
+
+                assertTrue(graph.addEdge(i - 1, i, i));
+            }
+        }
+
+        assertEquals(graph.getCapacity(), 128);
+        assertEquals(graph.size(), 100);
+        assertEquals(graph.getEdges().size(), 198);
+        assertEquals(graph.getEdgeWeight(99, 98), 99);
+
+        assertTrue(graph.removeVertex((Integer) 40));
+        assertEquals(graph.getEdgeWeight(39, 40), 0);
+        assertEquals(graph.getEdgesTo((Integer) 41).size(), 1);
+        assertEquals(graph.addVertex(1001), 40);
+
+        SparseGraph<Integer, IntEdge<Integer>> copy = graph.makeCopy();
+
+        assertEquals(copy.size(), graph.size());
+        assertEquals(copy.findVertex(1001), 40);
+        assertEquals(copy.getEdges().size(), graph.getEdges().size());
+        assertTrue(copy.addEdge(40, 99, 5));
+        assertEquals(graph.getEdgeWeight(40, 99), 0);
+    }
+
+    @Test
+    public void testNeighborIteration() {
+
+        System.out.println("TEST SPARSE NEIGHBOR ITERATION");
+        SparseGraph<String, IntEdge<String>> graph = new SparseGraph<String, IntEdge<String>>(true, 4);
+
+        graph.addVertex("alphabetical");
+        graph.addVertex("maniacal");
+        graph.addVertex("cracked");
+        graph.addVertex("draped");
+        graph.addVertex("enigma");
+
+        assertTrue(graph.addEdge(0, 3, 1));
+        assertTrue(graph.addEdge(0, 1, 1));
+        assertTrue(graph.addEdge(4, 3, 1));
+        assertTrue(graph.addEdge(2, 0, 1));
+
+        assertEquals(graph.nextSuccessor(0, 0), 1);
+        assertEquals(graph.nextSuccessor(0, 2), 3);
+        assertEquals(graph.nextSuccessor(0, 4), -1);
+        assertEquals(graph.nextPredecessor(3, 1), 4);
+        assertEquals(graph.getEdgeWeight(3, 0), 0);
+
+        NeighborCursor cursor = graph.predecessorCursor().reset(3);
+        assertEquals(cursor.next(), 0);
+        assertEquals(cursor.next(), 4);
+        assertEquals(cursor.next(), -1);
+
+        assertTrue(graph.removeVertex("alphabetical"));
+        assertEquals(graph.nextPredecessor(3, 0), 4);
+        assertEquals(graph.nextSuccessor(2, 0), -1);
+    }
+
+    @Test
+    public void testBackends() {
+
+        System.out.println("TEST GRAPH BACKENDS");
+        assertEquals(GraphBackend.forDensity(1000, 5000), GraphBackend.SPARSE);
+        assertEquals(GraphBackend.forDensity(10, 50), GraphBackend.DENSE);
+        assertTrue(GraphBackend.SPARSE.newGraph(true, 4) instanceof SparseGraph);
+        assertTrue(GraphBackend.DENSE.newGraph(true, 4) instanceof AdjacencyMatrix);
+
+        Graph<Integer, IntEdge<Integer>> graph = GraphBackend.SPARSE.newGraph(true, 4);
+        graph.addVertex(1);
+        graph.addVertex(2);
+        graph.addVertex(3);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+
+        Poset<Integer> poset = new Poset<Integer>(graph);
+
+        assertEquals(poset.size(), 3);
+        assertEquals(poset.getEdgeWeight(0, 1), 1);
+        assertEquals(poset.getEdgeWeight(0, 2), 0);
+        assertTrue(poset.transitiveClosure().getEdgeWeight(0, 2) > 0);
+        assertTrue(graph.makeEmptyCopy() instanceof SparseGraph);
+    }
+}
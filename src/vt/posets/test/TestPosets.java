@@ -0,0 +1,69 @@
+package vt.posets.test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import vt.posets.extensions.LinearExtensions;
+import vt.posets.poset.Poset;
+
+/**
+ * Posets and linear orders that more than one test class builds its cases from.
+ *
+ * @author Ethan Gaebel (egaebel)
+ *
+ */
+final class TestPosets {
+
+	//~Constructors--------------------------------------------
+	private TestPosets() {
+
+	}
+
+	//~Methods-------------------------------------------------
+	/**
+	 * Makes a poset of 0 to n - 1 with each edge from a smaller index to a bigger one added one time in oneIn,
+	 * so there's never a cycle.
+	 */
+	static Poset<Integer> randomPoset(Random random, int n, int oneIn) {
+
+		Poset<Integer> poset = new Poset<Integer>(n);
+		for (int i = 0; i < n; i++) {
+
+			poset.addVertex(i);
+		}
+		for (int i = 0; i < n; i++) {
+
+			for (int j = i + 1; j < n; j++) {
+
+				if (random.nextInt(oneIn) == 0) {
+
+					poset.addEdge(i, j, 1);
+				}
+			}
+		}
+
+		return poset;
+	}
+
+	/**
+	 * Lists the linear extensions of poset as lists of its elements.
+	 */
+	static List<ArrayList<Integer>> extensionsOf(Poset<Integer> poset) {
+
+		List<ArrayList<Integer>> linearOrders = new ArrayList<ArrayList<Integer>>();
+		for (Iterator<int[]> it = new LinearExtensions(poset).iterator(); it.hasNext();) {
+
+			int[] extension = it.next();
+			ArrayList<Integer> linearOrder = new ArrayList<Integer>();
+			for (int index : extension) {
+
+				linearOrder.add(poset.getVertex(index));
+			}
+			linearOrders.add(linearOrder);
+		}
+
+		return linearOrders;
+	}
+}
@@ -9,7 +9,9 @@ import org.junit.Before;
 import org.junit.Test;
 
 import vt.posets.graph.AdjacencyMatrix;
+import vt.posets.graph.IntAdjacencyMatrix;
 import vt.posets.graph.IntEdge;
+import vt.posets.graph.NeighborCursor;
 
 public class TheAdjacencyMatrixTest extends TestCase {
 
@@ -504,4 +506,272 @@ public class TheAdjacencyMatrixTest extends TestCase {
             System.out.println(node);
         }
     }
-}
\ No newline at end of file
+    
+    @Test
+    public void testPackedEdges() {
+        
+        System.out.println("TEST PACKED EDGES");
+        AdjacencyMatrix<String, IntEdge<String>> matrix = new AdjacencyMatrix<String, IntEdge<String>>(true, 4, true);
+        
+        assertTrue(matrix.isPacked());
+        
+        matrix.addVertex("alphabetical");
+        matrix.addVertex("maniacal");
+        matrix.addVertex("cracked");
+        matrix.addVertex("draped");
+        matrix.addVertex("enigma");
+        matrix.addVertex("failure");
+        
+        assertEquals(matrix.getCapacity(), 8);
+        
+        assertTrue(matrix.addEdge("alphabetical", "maniacal"));
+        assertTrue(matrix.addEdge("maniacal", "cracked"));
+        assertTrue(matrix.addEdge("cracked", "failure", 27));
+        assertTrue(matrix.addEdge("enigma", "cracked"));
+        assertFalse(matrix.addEdge("alphabetical", "maniacal"));
+        
+        assertEquals(matrix.getEdgeWeight(0, 1), 1);
+        assertEquals(matrix.getEdgeWeight(1, 0), 0);
+        assertEquals(matrix.getEdgeWeight(2, 5), 1);
+        assertEquals(matrix.getEdge("alphabetical", "maniacal"), new IntEdge<String>(1, "alphabetical", "maniacal"));
+        assertEquals(matrix.getEdges().size(), 4);
+        
+        Set<String> set = new HashSet<String>();
+        set.add("maniacal");
+        set.add("enigma");
+        
+        assertEquals(matrix.getEdgesFrom("cracked").size(), 2);
+        for (String s : matrix.getEdgesFrom("cracked")) {
+            
+            assertTrue(set.contains(s));
+        }
+        assertEquals(matrix.getEdgesTo("cracked").size(), 1);
+        assertEquals(matrix.getEdgesTo("cracked").get(0), "failure");
+        
+        assertTrue(matrix.removeEdge("maniacal", "cracked"));
+        assertFalse(matrix.removeEdge("maniacal", "cracked"));
+        assertEquals(matrix.popEdge("enigma", "cracked"), 1);
+        assertTrue(matrix.getEdgesFrom("cracked").isEmpty());
+        
+        assertTrue(matrix.removeVertex("failure"));
+        assertTrue(matrix.getEdgesTo("cracked").isEmpty());
+        
+        System.out.println(matrix.printEdges());
+        
+        AdjacencyMatrix<String, IntEdge<String>> copy = matrix.makeCopy();
+        
+        assertEquals(matrix.printEdges(), copy.printEdges());
+        assertEquals(matrix.printVertices(), copy.printVertices());
+    }
+    
+    @Test
+    public void testParallelTransitiveClosure() {
+        
+        System.out.println("TEST PARALLEL TRANSITIVE CLOSURE");
+        AdjacencyMatrix<Integer, IntEdge<Integer>> matrix = new AdjacencyMatrix<Integer, IntEdge<Integer>>(true, 300, true);
+        
+        for (int i = 0; i < 300; i++) {
+            
+            matrix.addVertex(i);
+        }
+        for (int i = 0; i < 300; i++) {
+            
+            matrix.addEdge(i, (i * 7 + 3) % 300);
+            matrix.addEdge(i, (i * 13 + 11) % 300);
+            if (i % 5 == 0) {
+                
+                matrix.addEdge(i, (i + 1) % 300);
+            }
+        }
+        
+        AdjacencyMatrix<Integer, IntEdge<Integer>> sequential = matrix.transitiveClosure(Integer.MAX_VALUE);
+        AdjacencyMatrix<Integer, IntEdge<Integer>> parallel = matrix.transitiveClosure(1);
+        
+        assertEquals(sequential.getEdges().size(), parallel.getEdges().size());
+        for (int i = 0; i < 300; i++) {
+            
+            assertEquals(sequential.getEdgeWeight(i, i), 1);
+            for (int j = 0; j < 300; j++) {
+                
+                assertEquals(sequential.getEdgeWeight(i, j), parallel.getEdgeWeight(i, j));
+            }
+        }
+    }
+    
+    @Test
+    public void testFindVertex() {
+        
+        System.out.println("TEST FIND VERTEX");
+        AdjacencyMatrix<String, IntEdge<String>> matrix = new AdjacencyMatrix<String, IntEdge<String>>(2);
+        
+        assertEquals(matrix.findVertex("alphabetical"), -1);
+        assertEquals(matrix.findVertex(null), -1);
+        
+        matrix.addVertex("alphabetical");
+        matrix.addVertex("maniacal");
+        matrix.addVertex("alphabetical");
+        matrix.addVertex("cracked");
+        
+        assertEquals(matrix.findVertex("alphabetical"), 0);
+        assertEquals(matrix.findVertex("maniacal"), 1);
+        assertEquals(matrix.findVertex("cracked"), 3);
+        assertTrue(matrix.containsVertex("cracked"));
+        
+        assertTrue(matrix.removeVertex(0));
+        assertEquals(matrix.findVertex("alphabetical"), 2);
+        assertTrue(matrix.removeVertex("alphabetical"));
+        assertEquals(matrix.findVertex("alphabetical"), -1);
+        assertFalse(matrix.containsVertex("alphabetical"));
+        
+        assertEquals(matrix.popVertex("maniacal"), "maniacal");
+        assertEquals(matrix.findVertex("maniacal"), -1);
+        assertEquals(matrix.addVertex("draped"), 0);
+        assertEquals(matrix.findVertex("draped"), 0);
+        assertEquals(matrix.findVertex("cracked"), 3);
+    }
+    
+    @Test
+    public void testGrowth() {
+        
+        System.out.println("TEST GROWTH");
+        AdjacencyMatrix<Integer, IntEdge<Integer>> matrix = new AdjacencyMatrix<Integer, IntEdge<Integer>>(1);
+        
+        for (int i = 0; i < 100; i++) {
+            
+            assertEquals(matrix.addVertex(i), i);
+            if (i > 0) {
+                
+                assertTrue(matrix.addEdge(i - 1, i, i));
+            }
+        }
+        
+        assertEquals(matrix.getCapacity(), 128);
+        assertEquals(matrix.size(), 100);
+        assertEquals(matrix.addVertex(null), -1);
+        assertEquals(matrix.size(), 100);
+        assertEquals(matrix.getEdges().size(), 198);
+        assertEquals(matrix.getEdgeWeight(98, 99), 99);
+        assertEquals(matrix.getEdgeWeight(99, 98), 99);
+        assertEquals(matrix.getEdgeWeight(3, 50), 0);
+        
+        assertTrue(matrix.removeVertex((Integer) 40));
+        assertTrue(matrix.removeVertex((Integer) 7));
+        assertEquals(matrix.getEdgeWeight(39, 40), 0);
+        assertEquals(matrix.getEdgesTo((Integer) 41).size(), 1);
+        
+        assertEquals(matrix.addVertex(1000), 7);
+        assertEquals(matrix.addVertex(1001), 40);
+        assertEquals(matrix.addVertex(1002), 100);
+        
+        AdjacencyMatrix<Integer, IntEdge<Integer>> copy = matrix.makeCopy();
+        
+        assertEquals(copy.size(), matrix.size());
+        assertEquals(copy.findVertex(1001), 40);
+        assertEquals(copy.getEdges().size(), matrix.getEdges().size());
+        assertTrue(copy.addEdge(40, 100, 5));
+        assertEquals(matrix.getEdgeWeight(40, 100), 0);
+    }
+    
+    @Test
+    public void testNeighborIteration() {
+        
+        System.out.println("TEST NEIGHBOR ITERATION");
+        AdjacencyMatrix<String, IntEdge<String>> matrix = new AdjacencyMatrix<String, IntEdge<String>>(true, 4);
+        
+        matrix.addVertex("alphabetical");
+        matrix.addVertex("maniacal");
+        matrix.addVertex("cracked");
+        matrix.addVertex("draped");
+        matrix.addVertex("enigma");
+        
+        assertTrue(matrix.addEdge(0, 1, 1));
+        assertTrue(matrix.addEdge(0, 3, 1));
+        assertTrue(matrix.addEdge(4, 3, 1));
+        assertTrue(matrix.addEdge(2, 0, 1));
+        
+        assertEquals(matrix.nextSuccessor(0, 0), 1);
+        assertEquals(matrix.nextSuccessor(0, 2), 3);
+        assertEquals(matrix.nextSuccessor(0, 4), -1);
+        assertEquals(matrix.nextSuccessor(-1, 0), -1);
+        assertEquals(matrix.nextPredecessor(3, 0), 0);
+        assertEquals(matrix.nextPredecessor(3, 1), 4);
+        
+        final StringBuilder visited = new StringBuilder();
+        matrix.forEachPredecessor(3, new java.util.function.IntConsumer() {
+            
+            @Override
+            public void accept(int value) {
+                
+                visited.append(value);
+            }
+        });
+        assertEquals(visited.toString(), "04");
+        
+        NeighborCursor cursor = matrix.successorCursor();
+        
+        assertEquals(cursor.next(), -1);
+        assertEquals(cursor.reset(0).next(), 1);
+        assertEquals(cursor.next(), 3);
+        assertEquals(cursor.next(), -1);
+        assertEquals(cursor.next(), -1);
+        assertEquals(cursor.reset(2).next(), 0);
+        assertEquals(cursor.next(), -1);
+        
+        cursor = matrix.predecessorCursor().reset(0);
+        assertEquals(cursor.next(), 2);
+        assertEquals(cursor.next(), -1);
+        
+        assertEquals(matrix.getEdgesTo("alphabetical").size(), 2);
+        assertEquals(matrix.getEdgesFrom("draped").size(), 2);
+    }
+    
+    @Test
+    public void testIntAdjacencyMatrix() {
+        
+        System.out.println("TEST INT ADJACENCY MATRIX");
+        IntAdjacencyMatrix matrix = new IntAdjacencyMatrix(false, 1);
+        
+        for (int i = 0; i < 100; i++) {
+            
+            assertEquals(matrix.addVertex(i * 10), i);
+            if (i > 0) {
+                
+                assertTrue(matrix.addEdge(i - 1, i, i));
+            }
+        }
+        
+        assertEquals(matrix.addVertex(990), -1);
+        assertEquals(matrix.getCapacity(), 128);
+        assertEquals(matrix.findVertex(450), 45);
+        assertEquals(matrix.vertexAt(45), 450);
+        assertEquals(matrix.getEdgeWeight(99, 98), 99);
+        assertEquals(matrix.getEdges().size(), 198);
+        assertEquals(matrix.getEdge((Integer) 10, (Integer) 20).getWeight(), 2);
+        
+        assertTrue(matrix.removeVertex((Integer) 400));
+        assertFalse(matrix.containsVertex(400));
+        assertEquals(matrix.getEdgeWeight(39, 40), 0);
+        assertEquals(matrix.getEdgesTo((Integer) 410).size(), 1);
+        assertEquals(matrix.addVertex(-7), 40);
+        assertEquals(matrix.findVertex(-7), 40);
+        
+        IntAdjacencyMatrix copy = matrix.makeCopy();
+        
+        assertTrue(copy.addEdge(40, 99, 5));
+        assertEquals(matrix.getEdgeWeight(40, 99), 0);
+        assertEquals(copy.popEdge(99, 40), 5);
+        assertEquals(copy.getEdges().size(), matrix.getEdges().size());
+        
+        AdjacencyMatrix<Integer, IntEdge<Integer>> generic = new AdjacencyMatrix<Integer, IntEdge<Integer>>(true);
+        generic.addVertex(3);
+        generic.addVertex(1);
+        generic.addEdge(1, 0, 4);
+        
+        IntAdjacencyMatrix converted = new IntAdjacencyMatrix(generic);
+        
+        assertTrue(converted.isDirected());
+        assertEquals(converted.findVertex(1), 1);
+        assertEquals(converted.getEdgeWeight(1, 0), 4);
+        assertEquals(converted.getEdgeWeight(0, 1), 0);
+    }
+}